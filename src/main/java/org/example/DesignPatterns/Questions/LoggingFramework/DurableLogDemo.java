@@ -0,0 +1,91 @@
+package org.example.DesignPatterns.Questions.LoggingFramework;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.DurabilityMode;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.DurableFileAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.DurableLogRecovery;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes records through DurableFileAppender, damages the end of the file the way a crash
+ * mid-write would, reopens it and shows the torn record cut off and numbering resumed after the
+ * last complete one. Then checks that every record in the file is numbered without gaps.
+ * Usage: DurableLogDemo [records]
+ */
+public class DurableLogDemo {
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        Path file = Files.createTempFile("durable-log", ".log");
+        Files.delete(file);
+        try {
+            System.out.println("--- Writing " + records + " records ---");
+            DurableFileAppender appender = open(file);
+            append(appender, "Order processed", records);
+            appender.close();
+            System.out.println("Last durable sequence: " + appender.getLastDurableSequence()
+                    + ", file size " + Files.size(file) + " bytes");
+
+            System.out.println("\n--- Crash mid-record: the last 20 bytes never reached disk ---");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 20);
+            }
+            appender = reopen(file);
+            append(appender, "Resumed after truncation", 5);
+            appender.close();
+
+            System.out.println("\n--- Crash mid-header: a partial record was appended ---");
+            long next = appender.getLastDurableSequence() + 1;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(("#" + next + "|48|9f0c").getBytes(StandardCharsets.US_ASCII)));
+            }
+            appender = reopen(file);
+            append(appender, "Resumed after partial header", 5);
+            appender.close();
+
+            System.out.println("\n--- Verifying ---");
+            // The formatter ends each payload with its own newline, so records are followed by a blank line.
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> line.startsWith("#"))
+                    .toList();
+            long expected = 0;
+            boolean contiguous = true;
+            for (String line : lines) {
+                long sequence = Long.parseLong(line.substring(1, line.indexOf('|')));
+                contiguous &= sequence == expected++;
+            }
+            System.out.println(lines.size() + " records, sequences 0.." + (expected - 1)
+                    + (contiguous ? " without gaps" : " WITH GAPS"));
+            System.out.println("First resumed record: " + lines.get(records - 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static DurableFileAppender open(Path file) throws IOException {
+        return new DurableFileAppender(file.toString(), DurabilityMode.PER_BATCH, 50, 100);
+    }
+
+    private static DurableFileAppender reopen(Path file) throws IOException {
+        DurableFileAppender appender = open(file);
+        DurableLogRecovery.RecoveryResult recovery = appender.getRecoveryResult();
+        System.out.println("Recovered: last sequence " + recovery.getLastDurableSequence() + ", kept "
+                + recovery.getValidLength() + " bytes, cut " + recovery.getTruncatedBytes()
+                + " bytes; numbering resumes at " + (recovery.getLastDurableSequence() + 1));
+        return appender;
+    }
+
+    private static void append(DurableFileAppender appender, String content, int count) {
+        for (int i = 0; i < count; i++) {
+            appender.append(new LogMessage(content + " #" + i, LogLevel.INFO, "com.example.Orders"));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package org.example.DesignPatterns.Questions.LoggingFramework;
 
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsSnapshot;
 import org.example.DesignPatterns.Questions.LoggingFramework.processor.AsyncLogProcessor;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -11,10 +16,33 @@ public class LogManager {
     private Logger rootLogger;
     private Map<String, Logger> loggers = new ConcurrentHashMap<>();;
     private AsyncLogProcessor logProcessor;
+    private final LogMetricsCollector metricsCollector;
 
     private LogManager(){
         this.rootLogger = new Logger("root", null);
         this.loggers.put("root", rootLogger);
+        this.metricsCollector = new LogMetricsCollector(() -> logProcessor == null ? 0 : logProcessor.getQueueDepth());
+        registerMetricsMBean();
+    }
+
+    private void registerMetricsMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.example.logging:type=LogMetrics");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metricsCollector, name);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to register logging metrics MBean: " + e.getMessage());
+        }
+    }
+
+    public LogMetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
+    public LogMetricsSnapshot getMetrics() {
+        return metricsCollector.snapshot();
     }
 
     public void setLogProcessor(AsyncLogProcessor logProcessor) {
@@ -61,6 +89,9 @@ public class LogManager {
     }
 
     public void shutdown() {
+        // Let filters emit anything they are still holding back (e.g. repeat summaries).
+        loggers.values().forEach(Logger::flushFilters);
+
         // Stop the processor first to ensure all logs are written.
         logProcessor.stop();
 
@@ -3,13 +3,17 @@ package org.example.DesignPatterns.Questions.LoggingFramework;
 import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
 import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter.LogFilter;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Logger {
     private Logger parent;
     private List<LogAppender> appenders;
+    private List<LogFilter> filters;
     private String name;
     private LogLevel level;
     private boolean additivity;
@@ -18,6 +22,11 @@ public class Logger {
         this.name = name;
         this.parent = parent;
         this.appenders = new CopyOnWriteArrayList<>();
+        this.filters = new CopyOnWriteArrayList<>();
+    }
+
+    public String getName() {
+        return name;
     }
 
     public void addAppender(LogAppender appender) {
@@ -28,6 +37,28 @@ public class Logger {
         return appenders;
     }
 
+    public void addFilter(LogFilter filter) {
+        filters.add(filter);
+    }
+
+    public List<LogFilter> getFilters() {
+        return filters;
+    }
+
+    public Map<String, Long> getSuppressedCounts() {
+        Map<String, Long> suppressedCounts = new LinkedHashMap<>();
+        for (LogFilter filter : filters) {
+            suppressedCounts.merge(filter.getClass().getSimpleName(), filter.getSuppressedCount(), Long::sum);
+        }
+        return suppressedCounts;
+    }
+
+    public void flushFilters() {
+        for (LogFilter filter : filters) {
+            filter.flush(this);
+        }
+    }
+
     public void setLevel(LogLevel minLevel) {
         this.level = minLevel;
     }
@@ -59,6 +90,11 @@ public class Logger {
     public void log(LogLevel messageLevel, String message){
         if(messageLevel.isGreaterOrEqual(getEffectiveLevel())){
             LogMessage logMessage = new LogMessage(message, messageLevel, this.name);
+            for (LogFilter filter : filters) {
+                if (!filter.accept(logMessage, this)) {
+                    return;
+                }
+            }
             callAppenders(logMessage);
         }
     }
@@ -3,6 +3,9 @@ package org.example.DesignPatterns.Questions.LoggingFramework;
 import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
 import org.example.DesignPatterns.Questions.LoggingFramework.processor.ExectionServiceLogProcessor;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.ConsoleAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter.DuplicateSuppressionFilter;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter.RateLimitingFilter;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter.SamplingFilter;
 
 public class LoggingFrameworkDemo {
     public static void main(String[] args) {
@@ -39,8 +42,26 @@ public class LoggingFrameworkDemo {
         rootLogger.setLevel(LogLevel.DEBUG);
         mainLogger.debug("This debug message should now be visible.");
 
+        // --- 4. Filters: rate limiting, sampling and duplicate suppression ---
+        System.out.println("\n--- Filter Demo ---");
+        Logger hotLoopLogger = logManager.getLogger("com.example.worker.HotLoop");
+        hotLoopLogger.addAppender(new ConsoleAppender());
+        hotLoopLogger.addFilter(new DuplicateSuppressionFilter(1000));
+        hotLoopLogger.addFilter(new SamplingFilter(10));
+        hotLoopLogger.addFilter(new RateLimitingFilter(5, 5));
+        for (int i = 0; i < 50; i++) {
+            hotLoopLogger.warn("Retrying connection to replica");
+        }
+        for (int i = 0; i < 100; i++) {
+            hotLoopLogger.warn("Processed batch " + i);
+        }
+        hotLoopLogger.flushFilters();
+        System.out.println("Suppressed per filter: " + hotLoopLogger.getSuppressedCounts());
+
         try {
             Thread.sleep(500);
+            System.out.println("\n--- Logging Metrics ---");
+            System.out.println(logManager.getMetrics());
             logManager.shutdown();
         } catch (Exception e) {
             System.out.println("Caught exception");
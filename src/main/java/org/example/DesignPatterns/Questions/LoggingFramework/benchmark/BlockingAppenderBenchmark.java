@@ -0,0 +1,96 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.benchmark;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.AsyncLogProcessor;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.ThreadPoolExecutionService;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.VirtualThreadLogProcessor;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Compares ThreadPoolExecutionService with VirtualThreadLogProcessor when every appender blocks
+ * on I/O. Usage: BlockingAppenderBenchmark [appenders] [messages] [appenderLatencyMicros]
+ */
+public class BlockingAppenderBenchmark {
+
+    // Stand-in for a socket or remote sink: each append parks the calling thread.
+    static class BlockingAppender implements LogAppender {
+        private final long latencyNanos;
+        private final LongAdder written;
+        private LogFormatter formatter = new SimpleTextFormatter();
+
+        BlockingAppender(long latencyNanos, LongAdder written) {
+            this.latencyNanos = latencyNanos;
+            this.written = written;
+        }
+
+        @Override
+        public void setFormatter(LogFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        public LogFormatter getFormatter() {
+            return formatter;
+        }
+
+        @Override
+        public void append(LogMessage logMessage) {
+            LockSupport.parkNanos(latencyNanos);
+            written.increment();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int appenderCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int messageCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long latencyMicros = args.length > 2 ? Long.parseLong(args[2]) : 200;
+
+        System.out.printf("%d blocking appenders, %d messages, %dus per append (virtual threads available: %s)%n",
+                appenderCount, messageCount, latencyMicros, VirtualThreadLogProcessor.usesVirtualThreads());
+        run("ThreadPoolExecutionService", ThreadPoolExecutionService::new, appenderCount, messageCount, latencyMicros);
+        run("VirtualThreadLogProcessor", VirtualThreadLogProcessor::new, appenderCount, messageCount, latencyMicros);
+    }
+
+    private static void run(String label, Supplier<AsyncLogProcessor> processorFactory,
+                            int appenderCount, int messageCount, long latencyMicros) throws InterruptedException {
+        LongAdder written = new LongAdder();
+        List<LogAppender> appenders = new ArrayList<>();
+        for (int i = 0; i < appenderCount; i++) {
+            appenders.add(new BlockingAppender(TimeUnit.MICROSECONDS.toNanos(latencyMicros), written));
+        }
+        AsyncLogProcessor processor = processorFactory.get();
+
+        long expected = (long) appenderCount * messageCount;
+        long start = System.nanoTime();
+        long maxEnqueueNanos = 0;
+        for (int i = 0; i < messageCount; i++) {
+            long enqueueStart = System.nanoTime();
+            processor.process(new LogMessage("benchmark message " + i, LogLevel.INFO, "benchmark"), appenders);
+            maxEnqueueNanos = Math.max(maxEnqueueNanos, System.nanoTime() - enqueueStart);
+        }
+        long deadline = start + TimeUnit.SECONDS.toNanos(60);
+        while (written.sum() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        processor.stop();
+
+        double seconds = elapsedNanos / 1_000_000_000d;
+        System.out.printf("%-28s written=%d/%d in %.3fs -> %.0f appends/s, max enqueue %.1fus%n",
+                label, written.sum(), expected, seconds, written.sum() / seconds, maxEnqueueNanos / 1000.0);
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.benchmark;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.HistogramSnapshot;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LatencyHistogram;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.AsyncLogProcessor;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.ExectionServiceLogProcessor;
+import org.example.DesignPatterns.Questions.LoggingFramework.processor.ThreadPoolExecutionService;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sustained throughput from Logger.info through a processor to a formatting, in-memory appender,
+ * at 1..64 producer threads. Reports producer-side call latency, messages actually written
+ * (ThreadPoolExecutionService drops when its queue is full) and allocation per call.
+ * Usage: EndToEndThroughputBenchmark [messagesPerRun]
+ */
+public class EndToEndThroughputBenchmark {
+    private static final int[] PRODUCER_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    static class CountingAppender implements LogAppender {
+        private final LongAdder written = new LongAdder();
+        private LogFormatter formatter = new SimpleTextFormatter();
+
+        @Override
+        public void setFormatter(LogFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        public LogFormatter getFormatter() {
+            return formatter;
+        }
+
+        @Override
+        public void append(LogMessage logMessage) {
+            MicroBenchmark.sink = formatter.format(logMessage);
+            written.increment();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int messagesPerRun = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        System.out.printf("%-28s %8s %12s %10s %10s %10s %12s%n",
+                "processor", "threads", "written/s", "dropped", "p50", "p99.9", "alloc/call");
+        for (int threads : PRODUCER_THREADS) {
+            run("ExectionServiceLogProcessor", ExectionServiceLogProcessor::new, threads, messagesPerRun);
+            run("ThreadPoolExecutionService", ThreadPoolExecutionService::new, threads, messagesPerRun);
+        }
+    }
+
+    private static void run(String label, Supplier<AsyncLogProcessor> processorFactory,
+                            int threads, int messagesPerRun) throws InterruptedException {
+        LogManager logManager = LogManager.getInstance();
+        AsyncLogProcessor processor = processorFactory.get();
+        logManager.setLogProcessor(processor);
+
+        Logger logger = logManager.getLogger("benchmark.e2e." + label + "." + threads);
+        logger.setLevel(LogLevel.INFO);
+        CountingAppender appender = new CountingAppender();
+        logger.addAppender(appender);
+
+        // ThreadPoolExecutionService reports every rejected message on stderr; keep that out of the results.
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+        LatencyHistogram callLatency = new LatencyHistogram();
+        LongAdder allocated = new LongAdder();
+        int messagesPerThread = Math.max(1, messagesPerRun / threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long allocatedBefore = MicroBenchmark.allocatedBytes();
+                for (int i = 0; i < messagesPerThread; i++) {
+                    long start = System.nanoTime();
+                    logger.info("order processed");
+                    callLatency.record(System.nanoTime() - start);
+                }
+                if (allocatedBefore != Long.MIN_VALUE) {
+                    allocated.add(MicroBenchmark.allocatedBytes() - allocatedBefore);
+                }
+            }, "benchmark-producer-" + t);
+            producers.add(producer);
+            producer.start();
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        awaitDrained(processor, appender);
+        long elapsed = System.nanoTime() - start;
+        processor.stop();
+        System.setErr(originalErr);
+
+        long submitted = (long) messagesPerThread * threads;
+        long written = appender.written.sum();
+        HistogramSnapshot latency = callLatency.snapshot();
+        boolean measured = MicroBenchmark.allocatedBytes() != Long.MIN_VALUE;
+        System.out.printf("%-28s %8d %12.0f %10d %8dns %8dns %12s%n",
+                label, threads, written / (elapsed / 1_000_000_000d), submitted - written,
+                latency.getP50(), latency.getP999(),
+                measured ? String.format("%.1f B", (double) allocated.sum() / submitted) : "n/a");
+    }
+
+    // Drained once nothing is queued and the appender has stopped making progress.
+    private static void awaitDrained(AsyncLogProcessor processor, CountingAppender appender) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        long lastWritten = -1;
+        while (System.nanoTime() < deadline) {
+            long written = appender.written.sum();
+            if (processor.getQueueDepth() == 0 && written == lastWritten) {
+                return;
+            }
+            lastWritten = written;
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.benchmark;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.FileAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Per-layer cost of the logging stack, cheapest first.
+ * Usage: LoggingLayerBenchmark [measuredOps]
+ */
+public class LoggingLayerBenchmark {
+    public static void main(String[] args) throws IOException {
+        int measuredOps = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int warmupOps = measuredOps / 2;
+
+        Logger logger = LogManager.getInstance().getLogger("benchmark.layers");
+        logger.setLevel(LogLevel.INFO);
+        MicroBenchmark.run("disabled level (debug < INFO)", warmupOps, measuredOps, () -> {
+            logger.debug("disabled message");
+            return logger;
+        });
+
+        MicroBenchmark.run("LogMessage creation", warmupOps, measuredOps,
+                () -> new LogMessage("benchmark message", LogLevel.INFO, "benchmark.layers"));
+
+        SimpleTextFormatter formatter = new SimpleTextFormatter();
+        LogMessage message = new LogMessage("benchmark message", LogLevel.INFO, "benchmark.layers");
+        MicroBenchmark.run("SimpleTextFormatter.format", warmupOps / 10, measuredOps / 10,
+                () -> formatter.format(message));
+
+        Path logFile = Files.createTempFile("logging-benchmark", ".log");
+        FileAppender fileAppender = new FileAppender(logFile.toString());
+        try {
+            MicroBenchmark.run("FileAppender.append", warmupOps / 100, measuredOps / 100, () -> {
+                fileAppender.append(message);
+                return fileAppender;
+            });
+        } finally {
+            fileAppender.close();
+            Files.deleteIfExists(logFile);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.benchmark;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.HistogramSnapshot;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LatencyHistogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Minimal JMH-style harness: warm-up, then timed batches. Each batch records its average
+ * cost per operation, so percentiles are over batches and nanoTime() overhead is amortised.
+ * Allocation per call comes from the HotSpot per-thread allocation counter.
+ */
+public class MicroBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    // Results are written here so the JIT cannot drop the measured work.
+    static volatile Object sink;
+
+    public interface Operation {
+        Object run();
+    }
+
+    public static void run(String name, int warmupOps, int measuredOps, Operation operation) {
+        for (int i = 0; i < warmupOps; i++) {
+            sink = operation.run();
+        }
+
+        LatencyHistogram perOpNanos = new LatencyHistogram();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        int batches = Math.max(1, measuredOps / BATCH_SIZE);
+        for (int batch = 0; batch < batches; batch++) {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = operation.run();
+            }
+            perOpNanos.record((System.nanoTime() - batchStart) / BATCH_SIZE);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long ops = (long) batches * BATCH_SIZE;
+        HistogramSnapshot snapshot = perOpNanos.snapshot();
+        System.out.printf("%-32s %10.1f ns/op  p50=%dns p99=%dns p99.9=%dns  %s%n",
+                name, (double) elapsed / ops, snapshot.getP50(), snapshot.getP99(), snapshot.getP999(),
+                allocatedBefore == Long.MIN_VALUE ? "alloc=n/a" : String.format("alloc=%.1f B/op", (double) allocated / ops));
+    }
+
+    static long allocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotspotBean.isThreadAllocatedMemorySupported() && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+                return hotspotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+}
@@ -12,6 +12,7 @@ public class LogMessage {
     private LocalDateTime timestamp;
     private String threadName;
     private String loggerName;
+    private final long createdNanos;
 
     public LogMessage(String content, LogLevel logLevel, String loggerName) {
         this.content = content;
@@ -19,6 +20,7 @@ public class LogMessage {
         this.timestamp = LocalDateTime.now();
         this.threadName = Thread.currentThread().getName();
         this.loggerName = loggerName;
+        this.createdNanos = System.nanoTime();
     }
 
     public String getContent() {
@@ -41,6 +43,11 @@ public class LogMessage {
         return loggerName;
     }
 
+    // Monotonic creation time, used to measure enqueue-to-write latency.
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
     public void setContent(String content) {
         this.content = content;
     }
@@ -0,0 +1,7 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.enums;
+
+public enum DurabilityMode {
+    PER_BATCH,  // fsync after every buffered batch is written
+    INTERVAL,   // fsync on a fixed cadence
+    NEVER       // leave it to the OS
+}
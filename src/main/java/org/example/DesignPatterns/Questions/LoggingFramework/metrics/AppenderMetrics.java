@@ -0,0 +1,46 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.metrics;
+
+/**
+ * Throughput of a single appender since metrics collection started.
+ */
+public class AppenderMetrics {
+    private final String appenderName;
+    private final long events;
+    private final long bytes;
+    private final double eventsPerSecond;
+    private final double bytesPerSecond;
+
+    public AppenderMetrics(String appenderName, long events, long bytes, double eventsPerSecond, double bytesPerSecond) {
+        this.appenderName = appenderName;
+        this.events = events;
+        this.bytes = bytes;
+        this.eventsPerSecond = eventsPerSecond;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public String getAppenderName() {
+        return appenderName;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s events=%d (%.1f/s) bytes=%d (%.1f/s)",
+                appenderName, events, eventsPerSecond, bytes, bytesPerSecond);
+    }
+}
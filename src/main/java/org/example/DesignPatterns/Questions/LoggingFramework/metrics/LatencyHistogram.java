@@ -0,0 +1,84 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR-style log-linear histogram of nanosecond values. Every power of two is split into
+ * 64 linear sub-buckets, so any recorded value is reported within ~1.6% of its true value
+ * while the whole long range fits in a few thousand counters. Recording is lock-free.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(Long.MAX_VALUE) + 1);
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        totalSum.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // retry until we win or someone records a larger value
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < (1L << SUB_BUCKET_BITS)) {
+            return (int) value;
+        }
+        int exponent = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> exponent);
+        return exponent * SUB_BUCKET_HALF + subBucket;
+    }
+
+    // Largest value that maps to the given index.
+    static long highestValueAt(int index) {
+        if (index < (1 << SUB_BUCKET_BITS)) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) exponent * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long sum = totalSum.sum();
+        long maxValue = max.get();
+        double mean = count == 0 ? 0 : (double) sum / count;
+        // Bucket upper bounds can overshoot the largest value actually seen.
+        return new HistogramSnapshot(count, mean,
+                Math.min(maxValue, valueAtPercentile(copy, count, 50.0)),
+                Math.min(maxValue, valueAtPercentile(copy, count, 90.0)),
+                Math.min(maxValue, valueAtPercentile(copy, count, 99.0)),
+                Math.min(maxValue, valueAtPercentile(copy, count, 99.9)),
+                maxValue);
+    }
+
+    private static long valueAtPercentile(long[] counts, long totalCount, double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValueAt(i);
+            }
+        }
+        return highestValueAt(counts.length - 1);
+    }
+}
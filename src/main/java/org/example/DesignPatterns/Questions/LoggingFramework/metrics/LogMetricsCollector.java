@@ -0,0 +1,117 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.metrics;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Collects the logging framework's own metrics: enqueue-to-write latency, time spent formatting,
+ * and per-appender throughput. Processors report writes, appenders report formatting and bytes.
+ * Rates are averaged over the time since the collector was created.
+ */
+public class LogMetricsCollector implements LogMetricsCollectorMBean {
+    private final IntSupplier queueDepthSupplier;
+    private final long startNanos = System.nanoTime();
+    private final LatencyHistogram enqueueToWriteLatency = new LatencyHistogram();
+    private final LatencyHistogram formatLatency = new LatencyHistogram();
+    private final Map<LogAppender, AppenderCounters> appenderCounters = new ConcurrentHashMap<>();
+
+    private static class AppenderCounters {
+        private final String name;
+        private final LongAdder events = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        AppenderCounters(LogAppender appender) {
+            this.name = appender.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(appender));
+        }
+    }
+
+    public LogMetricsCollector(IntSupplier queueDepthSupplier) {
+        this.queueDepthSupplier = queueDepthSupplier;
+    }
+
+    // Called by processors once an appender has finished writing the message.
+    public void recordWrite(LogAppender appender, LogMessage logMessage) {
+        enqueueToWriteLatency.record(System.nanoTime() - logMessage.getCreatedNanos());
+        countersFor(appender).events.increment();
+    }
+
+    // Bytes are counted as formatted characters, i.e. exact for single-byte encodings.
+    public void recordBytes(LogAppender appender, int bytes) {
+        countersFor(appender).bytes.add(bytes);
+    }
+
+    public String format(LogFormatter formatter, LogMessage logMessage) {
+        long start = System.nanoTime();
+        String formatted = formatter.format(logMessage);
+        formatLatency.record(System.nanoTime() - start);
+        return formatted;
+    }
+
+    private AppenderCounters countersFor(LogAppender appender) {
+        return appenderCounters.computeIfAbsent(appender, AppenderCounters::new);
+    }
+
+    public LogMetricsSnapshot snapshot() {
+        double elapsedSeconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1_000_000_000d);
+        List<AppenderMetrics> appenders = new ArrayList<>();
+        for (AppenderCounters counters : appenderCounters.values()) {
+            long events = counters.events.sum();
+            long bytes = counters.bytes.sum();
+            appenders.add(new AppenderMetrics(counters.name, events, bytes, events / elapsedSeconds, bytes / elapsedSeconds));
+        }
+        return new LogMetricsSnapshot(queueDepthSupplier.getAsInt(), enqueueToWriteLatency.snapshot(),
+                formatLatency.snapshot(), appenders);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepthSupplier.getAsInt();
+    }
+
+    @Override
+    public long getWrittenEvents() {
+        long total = 0;
+        for (AppenderCounters counters : appenderCounters.values()) {
+            total += counters.events.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public double getEnqueueToWriteP50Micros() {
+        return enqueueToWriteLatency.snapshot().getP50() / 1000.0;
+    }
+
+    @Override
+    public double getEnqueueToWriteP99Micros() {
+        return enqueueToWriteLatency.snapshot().getP99() / 1000.0;
+    }
+
+    @Override
+    public double getEnqueueToWriteP999Micros() {
+        return enqueueToWriteLatency.snapshot().getP999() / 1000.0;
+    }
+
+    @Override
+    public double getEnqueueToWriteMaxMicros() {
+        return enqueueToWriteLatency.snapshot().getMax() / 1000.0;
+    }
+
+    @Override
+    public double getFormatP99Micros() {
+        return formatLatency.snapshot().getP99() / 1000.0;
+    }
+
+    @Override
+    public String[] getAppenderThroughput() {
+        return snapshot().getAppenderMetrics().stream().map(AppenderMetrics::toString).toArray(String[]::new);
+    }
+}
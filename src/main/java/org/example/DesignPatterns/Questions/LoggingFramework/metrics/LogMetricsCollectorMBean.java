@@ -0,0 +1,22 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.metrics;
+
+/**
+ * JMX view of {@link LogMetricsCollector}. Latencies are in microseconds.
+ */
+public interface LogMetricsCollectorMBean {
+    public int getQueueDepth();
+
+    public long getWrittenEvents();
+
+    public double getEnqueueToWriteP50Micros();
+
+    public double getEnqueueToWriteP99Micros();
+
+    public double getEnqueueToWriteP999Micros();
+
+    public double getEnqueueToWriteMaxMicros();
+
+    public double getFormatP99Micros();
+
+    public String[] getAppenderThroughput();
+}
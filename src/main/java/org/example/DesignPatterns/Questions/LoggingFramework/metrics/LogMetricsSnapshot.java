@@ -0,0 +1,46 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.metrics;
+
+import java.util.List;
+
+public class LogMetricsSnapshot {
+    private final int queueDepth;
+    private final HistogramSnapshot enqueueToWriteLatency;
+    private final HistogramSnapshot formatLatency;
+    private final List<AppenderMetrics> appenderMetrics;
+
+    public LogMetricsSnapshot(int queueDepth, HistogramSnapshot enqueueToWriteLatency,
+                              HistogramSnapshot formatLatency, List<AppenderMetrics> appenderMetrics) {
+        this.queueDepth = queueDepth;
+        this.enqueueToWriteLatency = enqueueToWriteLatency;
+        this.formatLatency = formatLatency;
+        this.appenderMetrics = appenderMetrics;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public HistogramSnapshot getEnqueueToWriteLatency() {
+        return enqueueToWriteLatency;
+    }
+
+    public HistogramSnapshot getFormatLatency() {
+        return formatLatency;
+    }
+
+    public List<AppenderMetrics> getAppenderMetrics() {
+        return appenderMetrics;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("queueDepth=").append(queueDepth).append('\n');
+        sb.append("enqueueToWrite: ").append(enqueueToWriteLatency).append('\n');
+        sb.append("format: ").append(formatLatency);
+        for (AppenderMetrics metrics : appenderMetrics) {
+            sb.append('\n').append(metrics);
+        }
+        return sb.toString();
+    }
+}
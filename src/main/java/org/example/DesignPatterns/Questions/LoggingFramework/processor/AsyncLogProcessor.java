@@ -9,4 +9,7 @@ public interface AsyncLogProcessor {
     public void process(LogMessage logMessage, List<LogAppender> appenders);
 
     public void stop();
+
+    // Number of tasks waiting to be written.
+    public int getQueueDepth();
 }
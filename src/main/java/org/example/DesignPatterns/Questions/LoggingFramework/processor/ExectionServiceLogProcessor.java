@@ -1,22 +1,27 @@
 package org.example.DesignPatterns.Questions.LoggingFramework.processor;
 
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
 import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class ExectionServiceLogProcessor implements AsyncLogProcessor{
-    private final ExecutorService executorService;
+    private final ThreadPoolExecutor executorService;
+    private final LogMetricsCollector metrics;
 
     public ExectionServiceLogProcessor(){
-        this.executorService = Executors.newSingleThreadExecutor(runnable ->{
+        // Same as Executors.newSingleThreadExecutor, but keeps the queue visible for metrics.
+        this.executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable ->{
             Thread thread = new Thread(runnable, "AsyncLogProcessor");
             thread.setDaemon(false); // Don't prevent JVM exit
             return thread;
         });
+        this.metrics = LogManager.getInstance().getMetricsCollector();
     }
 
     @Override
@@ -29,6 +34,7 @@ public class ExectionServiceLogProcessor implements AsyncLogProcessor{
         executorService.submit(()->{
             for(LogAppender logAppender: appenders){
                 logAppender.append(logMessage);
+                metrics.recordWrite(logAppender, logMessage);
             }
         });
 
@@ -53,4 +59,9 @@ public class ExectionServiceLogProcessor implements AsyncLogProcessor{
         }
     }
 
+    @Override
+    public int getQueueDepth() {
+        return executorService.getQueue().size();
+    }
+
 }
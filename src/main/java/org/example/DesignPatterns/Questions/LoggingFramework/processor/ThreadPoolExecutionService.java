@@ -1,6 +1,8 @@
 package org.example.DesignPatterns.Questions.LoggingFramework.processor;
 
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
 import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
 
 import java.util.List;
@@ -8,6 +10,7 @@ import java.util.concurrent.*;
 
 public class ThreadPoolExecutionService implements AsyncLogProcessor{
     private final ThreadPoolExecutor executor;
+    private final LogMetricsCollector metrics;
 
     public ThreadPoolExecutionService(){
         int corePoolSize = 2;
@@ -29,6 +32,7 @@ public class ThreadPoolExecutionService implements AsyncLogProcessor{
         };
 
         this.executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, TimeUnit.SECONDS, queue, threadFactory, rejectionHandler);
+        this.metrics = LogManager.getInstance().getMetricsCollector();
     }
 
 
@@ -44,6 +48,7 @@ public class ThreadPoolExecutionService implements AsyncLogProcessor{
             for (LogAppender appender : appenders) {
                 try {
                     appender.append(logMessage);
+                    metrics.recordWrite(appender, logMessage);
                 } catch (Exception e) {
                     System.err.println("Failed to write log: " + e.getMessage());
                 }
@@ -67,4 +72,9 @@ public class ThreadPoolExecutionService implements AsyncLogProcessor{
         }
 
     }
+
+    @Override
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
 }
@@ -0,0 +1,173 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.processor;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender.LogAppender;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives every appender its own bounded queue and drain thread, so a slow or blocking appender
+ * (socket, remote sink) only backs up its own queue instead of holding a shared pool thread.
+ * Drain threads are virtual threads when the runtime supports them (Java 21+) and fall back
+ * to platform threads otherwise.
+ */
+public class VirtualThreadLogProcessor implements AsyncLogProcessor {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final int queueCapacity;
+    private final Map<LogAppender, AppenderWorker> workers = new ConcurrentHashMap<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final LogMetricsCollector metrics;
+    private volatile boolean shutdown;
+
+    public VirtualThreadLogProcessor() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public VirtualThreadLogProcessor(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        this.metrics = LogManager.getInstance().getMetricsCollector();
+    }
+
+    private class AppenderWorker implements Runnable {
+        private final LogAppender appender;
+        private final BlockingQueue<LogMessage> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        AppenderWorker(LogAppender appender) {
+            this.appender = appender;
+            this.thread = ThreadFactorySupport.newDrainThread(this, "log-appender-" + appender.getClass().getSimpleName());
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shutdown || !queue.isEmpty()) {
+                    LogMessage logMessage = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (logMessage != null) {
+                        write(logMessage);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void write(LogMessage logMessage) {
+            try {
+                appender.append(logMessage);
+                metrics.recordWrite(appender, logMessage);
+            } catch (Exception e) {
+                System.err.println("Failed to write log: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void process(LogMessage logMessage, List<LogAppender> appenders) {
+        if (shutdown) {
+            System.err.println("Logger is shut down. Cannot process log message.");
+            return;
+        }
+
+        for (LogAppender appender : appenders) {
+            AppenderWorker worker = workers.computeIfAbsent(appender, AppenderWorker::new);
+            if (!worker.queue.offer(logMessage)) {
+                // Only this appender is behind; the others still get the message.
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        shutdown = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MILLIS);
+        try {
+            for (AppenderWorker worker : workers.values()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                worker.thread.join(Math.max(1, remainingMillis));
+                if (worker.thread.isAlive()) {
+                    System.err.println("Log appender thread did not terminate. Interrupting...");
+                    worker.thread.interrupt();
+                }
+            }
+        } catch (InterruptedException e) {
+            workers.values().forEach(worker -> worker.thread.interrupt());
+            Thread.currentThread().interrupt();
+        }
+
+        if (droppedCount.get() > 0) {
+            System.err.println("Dropped " + droppedCount.get() + " log messages because appender queues were full.");
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        int depth = 0;
+        for (AppenderWorker worker : workers.values()) {
+            depth += worker.queue.size();
+        }
+        return depth;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public static boolean usesVirtualThreads() {
+        return ThreadFactorySupport.OF_VIRTUAL != null;
+    }
+
+    /**
+     * Looks up Thread.ofVirtual() reflectively so this compiles and runs on Java 17.
+     */
+    static class ThreadFactorySupport {
+        private static final Method OF_VIRTUAL;
+        private static final Method BUILDER_NAME;
+        private static final Method BUILDER_UNSTARTED;
+
+        static {
+            Method ofVirtual = null;
+            Method name = null;
+            Method unstarted = null;
+            try {
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = builderType.getMethod("name", String.class);
+                unstarted = builderType.getMethod("unstarted", Runnable.class);
+            } catch (ReflectiveOperationException e) {
+                ofVirtual = null;
+            }
+            OF_VIRTUAL = ofVirtual;
+            BUILDER_NAME = name;
+            BUILDER_UNSTARTED = unstarted;
+        }
+
+        static Thread newDrainThread(Runnable task, String name) {
+            if (OF_VIRTUAL != null) {
+                try {
+                    // Builders are not thread-safe, so take a fresh one per thread.
+                    Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                    return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+                } catch (ReflectiveOperationException e) {
+                    System.err.println("Failed to create virtual thread, using platform thread: " + e.getMessage());
+                }
+            }
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
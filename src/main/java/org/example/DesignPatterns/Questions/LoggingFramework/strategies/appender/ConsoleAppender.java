@@ -1,6 +1,8 @@
 package org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender;
 
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
 import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
 
@@ -24,7 +26,10 @@ public class ConsoleAppender implements LogAppender{
     @Override
     public void append(LogMessage logMessage) {
         System.out.println("ConsoleAppender" + logMessage);
-        System.out.println(logFormatter.format(logMessage));
+        LogMetricsCollector metrics = LogManager.getInstance().getMetricsCollector();
+        String formatted = metrics.format(logFormatter, logMessage);
+        System.out.println(formatted);
+        metrics.recordBytes(this, formatted.length() + 1);
     }
 
     @Override
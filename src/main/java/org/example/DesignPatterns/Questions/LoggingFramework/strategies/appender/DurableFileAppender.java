@@ -0,0 +1,190 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.DurabilityMode;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
+import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File appender that knows what reached disk. Records carry a sequence number and checksum
+ * (see {@link DurableLogRecovery}) and are buffered in memory; a batch is written when the buffer
+ * fills, after {@code batchSize} records, or when the flush interval ticks. Durability mode decides
+ * when FileChannel.force runs: after every batch, on every interval tick, or never.
+ * On open the file tail is scanned, a torn final record is truncated and numbering resumes.
+ */
+public class DurableFileAppender implements LogAppender {
+    private static final int BUFFER_CAPACITY = 64 * 1024;
+
+    private LogFormatter logFormatter;
+    private final DurabilityMode durabilityMode;
+    private final int batchSize;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_CAPACITY);
+    private final ScheduledExecutorService flusher;
+    private final DurableLogRecovery.RecoveryResult recoveryResult;
+    private long nextSequence;
+    private long lastWrittenSequence;
+    private volatile long lastDurableSequence;
+    private int bufferedRecords;
+    private boolean dirty;
+    private boolean closed;
+
+    public DurableFileAppender(String filePath, DurabilityMode durabilityMode, long flushIntervalMillis, int batchSize) throws IOException {
+        if (flushIntervalMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.logFormatter = new SimpleTextFormatter();
+        this.durabilityMode = durabilityMode;
+        this.batchSize = batchSize;
+        this.channel = FileChannel.open(Paths.get(filePath),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        this.recoveryResult = DurableLogRecovery.recover(channel);
+        if (recoveryResult.getTruncatedBytes() > 0) {
+            System.out.println("Truncated torn log record of " + recoveryResult.getTruncatedBytes()
+                    + " bytes, last durable sequence " + recoveryResult.getLastDurableSequence());
+        }
+        channel.position(channel.size());
+        this.nextSequence = recoveryResult.getLastDurableSequence() + 1;
+        this.lastWrittenSequence = recoveryResult.getLastDurableSequence();
+        this.lastDurableSequence = recoveryResult.getLastDurableSequence();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "durable-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::onTick, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setFormatter(LogFormatter formatter) {
+        this.logFormatter = formatter;
+    }
+
+    @Override
+    public LogFormatter getFormatter() {
+        return logFormatter;
+    }
+
+    @Override
+    public void append(LogMessage logMessage) {
+        LogMetricsCollector metrics = LogManager.getInstance().getMetricsCollector();
+        String formatted = metrics.format(logFormatter, logMessage);
+        try {
+            int bytes = appendRecord(formatted);
+            metrics.recordBytes(this, bytes);
+        } catch (IOException e) {
+            System.out.println("Failed to write logs to file, exception: " + e.getMessage());
+        }
+    }
+
+    private synchronized int appendRecord(String formatted) throws IOException {
+        if (closed) {
+            throw new IOException("Appender is closed");
+        }
+        byte[] record = DurableLogRecovery.encode(nextSequence++, formatted);
+        if (record.length > buffer.remaining()) {
+            writeBatch();
+        }
+        if (record.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(record));
+            lastWrittenSequence = nextSequence - 1;
+            dirty = true;
+            if (durabilityMode == DurabilityMode.PER_BATCH) {
+                force();
+            }
+        } else {
+            buffer.put(record);
+            bufferedRecords++;
+            if (bufferedRecords >= batchSize) {
+                writeBatch();
+            }
+        }
+        return record.length;
+    }
+
+    // Caller holds the lock.
+    private void writeBatch() throws IOException {
+        if (bufferedRecords == 0) {
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+        bufferedRecords = 0;
+        lastWrittenSequence = nextSequence - 1;
+        dirty = true;
+        if (durabilityMode == DurabilityMode.PER_BATCH) {
+            force();
+        }
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void force() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+            lastDurableSequence = lastWrittenSequence;
+        }
+    }
+
+    private synchronized void onTick() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeBatch();
+            if (durabilityMode == DurabilityMode.INTERVAL) {
+                force();
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to flush logs to file, exception: " + e.getMessage());
+        }
+    }
+
+    public DurableLogRecovery.RecoveryResult getRecoveryResult() {
+        return recoveryResult;
+    }
+
+    // Highest sequence known to be on disk, -1 if none. In NEVER mode it stays at the recovered value.
+    public long getLastDurableSequence() {
+        return lastDurableSequence;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                writeBatch();
+                if (durabilityMode != DurabilityMode.NEVER) {
+                    force();
+                }
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("Failed to close logs file, exception: " + e.getMessage());
+            }
+            closed = true;
+        }
+    }
+}
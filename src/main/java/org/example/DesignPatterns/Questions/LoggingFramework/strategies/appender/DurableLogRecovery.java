@@ -0,0 +1,210 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Record framing used by {@link DurableFileAppender} and the crash recovery scan.
+ * Each record is {@code #<seq>|<payloadLength>|<crc32>|<payload>\n}, so the file stays readable
+ * and a torn final record is detected by a short payload, a missing newline or a bad checksum.
+ */
+public class DurableLogRecovery {
+    private static final int INITIAL_TAIL_WINDOW = 1 << 20;
+
+    public static class RecoveryResult {
+        private final long lastDurableSequence;
+        private final long validLength;
+        private final long truncatedBytes;
+
+        RecoveryResult(long lastDurableSequence, long validLength, long truncatedBytes) {
+            this.lastDurableSequence = lastDurableSequence;
+            this.validLength = validLength;
+            this.truncatedBytes = truncatedBytes;
+        }
+
+        // -1 when the file holds no complete record.
+        public long getLastDurableSequence() {
+            return lastDurableSequence;
+        }
+
+        public long getValidLength() {
+            return validLength;
+        }
+
+        public long getTruncatedBytes() {
+            return truncatedBytes;
+        }
+    }
+
+    static byte[] encode(long sequence, String payload) {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String header = "#" + sequence + "|" + payloadBytes.length + "|"
+                + String.format("%08x", checksum(sequence, payloadBytes, 0, payloadBytes.length)) + "|";
+        byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+        byte[] record = new byte[headerBytes.length + payloadBytes.length + 1];
+        System.arraycopy(headerBytes, 0, record, 0, headerBytes.length);
+        System.arraycopy(payloadBytes, 0, record, headerBytes.length, payloadBytes.length);
+        record[record.length - 1] = '\n';
+        return record;
+    }
+
+    private static long checksum(long sequence, byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(bytes, offset, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Scans the tail of the file for the last complete record and truncates anything after it.
+     * Only the tail is read; the window grows until it contains at least one valid record.
+     */
+    public static RecoveryResult recover(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long window = INITIAL_TAIL_WINDOW;
+        while (true) {
+            long start = Math.max(0, size - window);
+            RecoveryResult result = scan(channel, start, size);
+            if (result != null || start == 0) {
+                if (result == null) {
+                    // No complete record at all: either a torn first record or not one of our files.
+                    if (size > 0 && !startsWithRecordMarker(channel)) {
+                        throw new IOException("Not a durable log file, refusing to truncate it");
+                    }
+                    result = new RecoveryResult(-1, 0, size);
+                }
+                if (result.truncatedBytes > 0) {
+                    channel.truncate(result.validLength);
+                    channel.force(true);
+                }
+                return result;
+            }
+            window *= 2;
+        }
+    }
+
+    private static boolean startsWithRecordMarker(FileChannel channel) throws IOException {
+        ByteBuffer first = ByteBuffer.allocate(1);
+        return channel.read(first, 0) == 1 && first.get(0) == '#';
+    }
+
+    // Returns null when no valid record starts inside [start, size).
+    private static RecoveryResult scan(FileChannel channel, long start, long size) throws IOException {
+        int length = (int) Math.min(Integer.MAX_VALUE - 8, size - start);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+            // keep reading until the window is full
+        }
+        byte[] bytes = buffer.array();
+
+        // Mid-file windows must resynchronise on a record boundary: a '#' right after a newline.
+        int position = 0;
+        if (start > 0) {
+            position = nextRecordStart(bytes, 0);
+        }
+
+        long lastSequence = -1;
+        int validEnd = -1;
+        while (position >= 0 && position < length) {
+            int recordEnd = parseRecord(bytes, position, length);
+            if (recordEnd < 0) {
+                if (validEnd >= 0) {
+                    break; // first bad record after a good chain: torn tail
+                }
+                position = nextRecordStart(bytes, position + 1);
+                continue;
+            }
+            lastSequence = parseLong(bytes, position + 1, indexOf(bytes, position + 1, length, (byte) '|'));
+            validEnd = recordEnd;
+            position = recordEnd;
+        }
+
+        if (validEnd < 0) {
+            return null;
+        }
+        long validLength = start + validEnd;
+        return new RecoveryResult(lastSequence, validLength, size - validLength);
+    }
+
+    private static int nextRecordStart(byte[] bytes, int from) {
+        for (int i = Math.max(1, from); i < bytes.length; i++) {
+            if (bytes[i] == '#' && bytes[i - 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the offset just past the record, or -1 when the record is incomplete or corrupt.
+    private static int parseRecord(byte[] bytes, int position, int limit) {
+        if (bytes[position] != '#') {
+            return -1;
+        }
+        int seqEnd = indexOf(bytes, position + 1, limit, (byte) '|');
+        int lengthEnd = seqEnd < 0 ? -1 : indexOf(bytes, seqEnd + 1, limit, (byte) '|');
+        int crcEnd = lengthEnd < 0 ? -1 : indexOf(bytes, lengthEnd + 1, limit, (byte) '|');
+        if (crcEnd < 0) {
+            return -1;
+        }
+        long sequence = parseLong(bytes, position + 1, seqEnd);
+        long payloadLength = parseLong(bytes, seqEnd + 1, lengthEnd);
+        long expectedCrc = parseHex(bytes, lengthEnd + 1, crcEnd);
+        if (sequence < 0 || payloadLength < 0 || expectedCrc < 0) {
+            return -1;
+        }
+        long newline = crcEnd + 1 + payloadLength;
+        if (newline >= limit || bytes[(int) newline] != '\n') {
+            return -1;
+        }
+        if (checksum(sequence, bytes, crcEnd + 1, (int) payloadLength) != expectedCrc) {
+            return -1;
+        }
+        return (int) newline + 1;
+    }
+
+    private static int indexOf(byte[] bytes, int from, int limit, byte target) {
+        // Headers are short; give up quickly on garbage.
+        int end = Math.min(limit, from + 24);
+        for (int i = from; i < end; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long parseLong(byte[] bytes, int from, int to) {
+        if (to <= from) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long parseHex(byte[] bytes, int from, int to) {
+        if (to - from != 8) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(bytes[i], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.DesignPatterns.Questions.LoggingFramework.strategies.appender;
 
+import org.example.DesignPatterns.Questions.LoggingFramework.LogManager;
 import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.metrics.LogMetricsCollector;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.SimpleTextFormatter;
 import org.example.DesignPatterns.Questions.LoggingFramework.strategies.formatter.LogFormatter;
 
@@ -34,8 +36,11 @@ public class FileAppender implements LogAppender {
     @Override
     public void append(LogMessage logMessage) {
         try{
-            fileWriter.write(logFormatter.format(logMessage) +  "\n");
+            LogMetricsCollector metrics = LogManager.getInstance().getMetricsCollector();
+            String formatted = metrics.format(logFormatter, logMessage) + "\n";
+            fileWriter.write(formatted);
             fileWriter.flush();
+            metrics.recordBytes(this, formatted.length());
         } catch (IOException e) {
             System.out.println("Failed to write logs to file, exception: " + e.getMessage());
         }
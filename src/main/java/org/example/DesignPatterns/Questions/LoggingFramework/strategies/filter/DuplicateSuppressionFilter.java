@@ -0,0 +1,67 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+import org.example.DesignPatterns.Questions.LoggingFramework.enums.LogLevel;
+
+import java.util.Objects;
+
+/**
+ * Collapses a burst of identical consecutive messages into the first one plus a single
+ * "repeated N times" record. The burst ends when a different message arrives, when the
+ * burst window elapses, or on flush.
+ */
+public class DuplicateSuppressionFilter implements LogFilter {
+    private final long burstWindowNanos;
+    private String lastContent;
+    private LogLevel lastLevel;
+    private long burstStartNanos;
+    private long repeatCount;
+    private long suppressedCount;
+
+    public DuplicateSuppressionFilter(long burstWindowMillis) {
+        if (burstWindowMillis <= 0) {
+            throw new IllegalArgumentException("Burst window must be positive");
+        }
+        this.burstWindowNanos = burstWindowMillis * 1_000_000L;
+    }
+
+    @Override
+    public synchronized boolean accept(LogMessage logMessage, Logger logger) {
+        long now = System.nanoTime();
+        boolean sameMessage = logMessage.getLogLevel() == lastLevel
+                && Objects.equals(logMessage.getContent(), lastContent);
+        if (sameMessage && now - burstStartNanos < burstWindowNanos) {
+            repeatCount++;
+            suppressedCount++;
+            return false;
+        }
+
+        emitRepeatSummary(logger);
+        lastContent = logMessage.getContent();
+        lastLevel = logMessage.getLogLevel();
+        burstStartNanos = now;
+        return true;
+    }
+
+    @Override
+    public synchronized void flush(Logger logger) {
+        emitRepeatSummary(logger);
+        lastContent = null;
+        lastLevel = null;
+    }
+
+    private void emitRepeatSummary(Logger logger) {
+        if (repeatCount == 0) {
+            return;
+        }
+        logger.callAppenders(new LogMessage("Previous message repeated " + repeatCount + " times: " + lastContent,
+                lastLevel, logger.getName()));
+        repeatCount = 0;
+    }
+
+    @Override
+    public synchronized long getSuppressedCount() {
+        return suppressedCount;
+    }
+}
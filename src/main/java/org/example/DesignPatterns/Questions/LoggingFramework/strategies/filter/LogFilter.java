@@ -0,0 +1,17 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+
+/**
+ * Runs after the level check and before the appenders. Returning false drops the message.
+ */
+public interface LogFilter {
+    public boolean accept(LogMessage logMessage, Logger logger);
+
+    public long getSuppressedCount();
+
+    // Called on shutdown so filters holding back messages can emit them.
+    public default void flush(Logger logger) {
+    }
+}
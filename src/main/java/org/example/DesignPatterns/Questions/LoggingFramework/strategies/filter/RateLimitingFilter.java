@@ -0,0 +1,53 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket: refills {@code messagesPerSecond} tokens per second up to {@code burstCapacity}.
+ * Add one instance per logger to get a per-logger limit.
+ */
+public class RateLimitingFilter implements LogFilter {
+    private final double tokensPerNano;
+    private final double burstCapacity;
+    private double tokens;
+    private long lastRefillNanos;
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    public RateLimitingFilter(double messagesPerSecond, int burstCapacity) {
+        if (messagesPerSecond <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("Rate and burst capacity must be positive");
+        }
+        this.tokensPerNano = messagesPerSecond / 1_000_000_000d;
+        this.burstCapacity = burstCapacity;
+        this.tokens = burstCapacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    @Override
+    public boolean accept(LogMessage logMessage, Logger logger) {
+        if (tryAcquire()) {
+            return true;
+        }
+        suppressedCount.incrementAndGet();
+        return false;
+    }
+
+    private synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(burstCapacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.DesignPatterns.Questions.LoggingFramework.strategies.filter;
+
+import org.example.DesignPatterns.Questions.LoggingFramework.Logger;
+import org.example.DesignPatterns.Questions.LoggingFramework.entities.LogMessage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through the 1st, (N+1)th, (2N+1)th... message of each template.
+ * The template is the message content with every run of digits collapsed to '#',
+ * so "processed order 17" and "processed order 42" are sampled together.
+ */
+public class SamplingFilter implements LogFilter {
+    private static final int DEFAULT_MAX_TEMPLATES = 10_000;
+
+    private final int sampleRate;
+    private final int maxTemplates;
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    public SamplingFilter(int sampleRate) {
+        this(sampleRate, DEFAULT_MAX_TEMPLATES);
+    }
+
+    public SamplingFilter(int sampleRate, int maxTemplates) {
+        if (sampleRate <= 0 || maxTemplates <= 0) {
+            throw new IllegalArgumentException("Sample rate and max templates must be positive");
+        }
+        this.sampleRate = sampleRate;
+        this.maxTemplates = maxTemplates;
+    }
+
+    @Override
+    public boolean accept(LogMessage logMessage, Logger logger) {
+        if (sampleRate == 1) {
+            return true;
+        }
+        // Keep the map bounded when messages carry unbounded non-numeric variety.
+        if (counters.size() >= maxTemplates) {
+            counters.clear();
+        }
+        AtomicLong counter = counters.computeIfAbsent(toTemplate(logMessage.getContent()), key -> new AtomicLong());
+        if (counter.getAndIncrement() % sampleRate == 0) {
+            return true;
+        }
+        suppressedCount.incrementAndGet();
+        return false;
+    }
+
+    static String toTemplate(String content) {
+        if (content == null) {
+            return "";
+        }
+        int firstDigit = -1;
+        for (int i = 0; i < content.length(); i++) {
+            if (Character.isDigit(content.charAt(i))) {
+                firstDigit = i;
+                break;
+            }
+        }
+        if (firstDigit == -1) {
+            return content;
+        }
+
+        StringBuilder template = new StringBuilder(content.length());
+        template.append(content, 0, firstDigit);
+        boolean inDigits = false;
+        for (int i = firstDigit; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (Character.isDigit(c)) {
+                if (!inDigits) {
+                    template.append('#');
+                }
+                inDigits = true;
+            } else {
+                template.append(c);
+                inDigits = false;
+            }
+        }
+        return template.toString();
+    }
+
+    @Override
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.persistence.JournalState;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.persistence.ParkingJournal;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * First run (empty directory): drives ~1M park/unpark events through a journaled lot, then
+ * "crashes" without closing and recovers the journal in-process to check it matches the lot.
+ * Second run on the same directory: recovers from disk and restores the lot from it.
+ * Usage: ParkingJournalDemo [directory] [events]
+ */
+public class ParkingJournalDemo {
+    private static final int FLOORS = 10;
+    private static final int SPOTS_PER_FLOOR = 300;
+    private static final int VEHICLES = 4_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : Paths.get(System.getProperty("java.io.tmpdir"), "parking-journal-demo");
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        ParkingLotSystem parkingLot = createLot();
+        boolean existing = Files.exists(directory.resolve("parking.journal"));
+
+        ParkingJournal journal = ParkingJournal.open(directory, 10, 100_000);
+        System.out.printf("Opened journal in %s: recovery %d ms, %d events replayed on top of snapshot%n",
+                directory, journal.getRecoveryMillis(), journal.getReplayedEvents());
+
+        if (existing) {
+            int restored = journal.restoreInto(parkingLot);
+            System.out.printf("Restored %d active tickets, earning %.2f%n", restored, parkingLot.getEarning());
+            journal.close();
+            return;
+        }
+
+        parkingLot.addObserver(journal);
+        long start = System.nanoTime();
+        long produced = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (produced < events) {
+            int v = random.nextInt(VEHICLES);
+            String number = "V-" + v;
+            boolean parked = parkingLot.unparkVehicle(number).isPresent()
+                    || parkingLot.parkVehicle(VehicleFactory.create(VehicleSize.values()[v % 3], number)).isPresent();
+            if (parked) {
+                produced++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Journaled %d events in %d ms (%.0f events/s)%n",
+                produced, elapsed / 1_000_000, produced * 1e9 / elapsed);
+
+        // Simulated crash: wait for the last group commit, then reopen without closing.
+        long lastSequence = journal.getEventCount();
+        journal.awaitDurable(lastSequence);
+        ParkingJournal recovered = ParkingJournal.open(directory, 10, 100_000);
+        JournalState state = recovered.getRecoveredState();
+        System.out.printf("Recovered in %d ms (%d events replayed)%n", recovered.getRecoveryMillis(), recovered.getReplayedEvents());
+        System.out.printf("Lot:     %d active tickets, earning %.2f%n", parkingLot.getActiveTicketCount(), parkingLot.getEarning());
+        System.out.printf("Journal: %d active tickets, earning %.2f, %d events%n",
+                state.getActiveTickets().size(), state.getEarning(), state.getEventCount());
+        recovered.close();
+        System.out.println("Run again with the same directory to restore the lot from disk.");
+    }
+
+    private static ParkingLotSystem createLot() {
+        ParkingLotSystem parkingLot = ParkingLotSystem.getInstance();
+        parkingLot.setParkingStrategy(new NearestParkingStrategy());
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+        parkingLot.setFeeStrategy(new VehicleTypeFeeStrategy(costPerVehicleType));
+        parkingLot.setVerbose(false);
+        for (int f = 1; f <= FLOORS; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (int s = 0; s < SPOTS_PER_FLOOR; s++) {
+                floor.addSpot(new ParkingSpot("F" + f + "-" + s, VehicleSize.values()[s % VehicleSize.values().length]));
+            }
+            parkingLot.addFloor(floor);
+        }
+        return parkingLot;
+    }
+}
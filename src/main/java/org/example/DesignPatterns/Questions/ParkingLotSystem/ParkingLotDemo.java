@@ -1,5 +1,7 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem;
 
+import org.example.DesignPatterns.Questions.ParkingLotSystem.analytics.ParkingAnalytics;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.analytics.TimeWindow;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
@@ -15,6 +17,8 @@ public class ParkingLotDemo {
     public static void main(String[] args) {
         ParkingLotSystem parkingLot = ParkingLotSystem.getInstance();
         parkingLot.setParkingStrategy(new NearestParkingStrategy());
+        ParkingAnalytics analytics = new ParkingAnalytics();
+        parkingLot.addObserver(analytics);
         // 1. Initialize the parking lot with floors and spots
         ParkingFloor floor1 = new ParkingFloor(1);
         floor1.addSpot(new ParkingSpot("F1-S1", VehicleSize.SMALL));
@@ -75,5 +79,11 @@ public class ParkingLotDemo {
         floor2.displayAvailability();
 
         System.out.println("Earning is: " +  parkingLot.getEarning());
+
+        System.out.println("\n--- Analytics ---");
+        for (TimeWindow window : TimeWindow.values()) {
+            analytics.getRecentWindows(window, 3).forEach(System.out::println);
+        }
+        System.out.println("Cars on floor 2: " + analytics.getOccupancy(2, VehicleSize.MEDIUM));
     }
 }
@@ -0,0 +1,85 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.registry.LotSummary;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.registry.ParkingLotRegistry;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleFactory;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs two dozen independent lots in one registry, sends traffic to all of them and answers
+ * "nearest lot with a free LARGE spot" from the per-lot summaries.
+ */
+public class ParkingLotRegistryDemo {
+    private static final int LOTS = 24;
+    private static final int VEHICLES_PER_LOT = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+
+        Random random = new Random(7);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int l = 0; l < LOTS; l++) {
+            String lotId = "LOT-" + l;
+            // Sites scattered around central London.
+            double latitude = 51.50 + random.nextDouble() * 0.1;
+            double longitude = -0.20 + random.nextDouble() * 0.2;
+            registry.registerLot(lotId, latitude, longitude, new NearestParkingStrategy(), new VehicleTypeFeeStrategy(costPerVehicleType));
+            pending.add(registry.setVerbose(lotId, false));
+            for (int f = 1; f <= 3; f++) {
+                // Only a few lots have truck bays.
+                pending.add(registry.addFloor(lotId, f, Map.of(VehicleSize.SMALL, 20, VehicleSize.MEDIUM, 40,
+                        VehicleSize.LARGE, l % 6 == 0 ? 2 : 0)));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        pending.clear();
+
+        long start = System.nanoTime();
+        for (int l = 0; l < LOTS; l++) {
+            for (int v = 0; v < VEHICLES_PER_LOT; v++) {
+                VehicleSize size = VehicleSize.values()[v % VehicleSize.values().length];
+                pending.add(registry.parkVehicle("LOT-" + l, VehicleFactory.create(size, "L" + l + "-V" + v)));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        System.out.printf("%d park requests across %d lots in %.1f ms%n",
+                pending.size(), LOTS, (System.nanoTime() - start) / 1e6);
+
+        for (String lotId : List.of("LOT-0", "LOT-1", "LOT-6")) {
+            LotSummary summary = registry.getSummary(lotId).get();
+            System.out.printf("%s: active=%d free S/M/L=%d/%d/%d%n", lotId, summary.getActiveTickets(),
+                    summary.getFreeSpots(VehicleSize.SMALL), summary.getFreeSpots(VehicleSize.MEDIUM),
+                    summary.getFreeSpots(VehicleSize.LARGE));
+        }
+
+        double latitude = 51.55;
+        double longitude = -0.10;
+        report(registry, VehicleSize.LARGE, latitude, longitude);
+        registry.unparkVehicle("LOT-12", "L12-V2").join();
+        System.out.println("A truck left LOT-12");
+        report(registry, VehicleSize.LARGE, latitude, longitude);
+        System.out.println("Free MEDIUM spots across all lots: " + registry.getTotalFreeSpots(VehicleSize.MEDIUM));
+
+        registry.shutdown();
+    }
+
+    private static void report(ParkingLotRegistry registry, VehicleSize size, double latitude, double longitude) {
+        Optional<LotSummary> nearest = registry.findNearestLotWithFreeSpot(size, latitude, longitude);
+        System.out.println("Nearest lot with a free " + size + " spot: "
+                + nearest.map(LotSummary::getLotId).orElse("none"));
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hammers ParkingLotSystem from 1..64 gate threads. Every successful park is registered in a
+ * spot -> vehicle map; finding the spot already registered means it was handed out twice.
+ * Usage: ParkingLotStressDemo [floors] [spotsPerFloor] [opsPerGate]
+ */
+public class ParkingLotStressDemo {
+    private static final int[] GATE_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int VEHICLES_PER_GATE = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int opsPerGate = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+
+        ParkingLotSystem parkingLot = ParkingLotSystem.getInstance();
+        parkingLot.setParkingStrategy(new NearestParkingStrategy());
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+        parkingLot.setFeeStrategy(new VehicleTypeFeeStrategy(costPerVehicleType));
+        parkingLot.setVerbose(false);
+        List<ParkingSpot> allSpots = new ArrayList<>();
+        for (int f = 1; f <= floors; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                ParkingSpot spot = new ParkingSpot("F" + f + "-" + s, VehicleSize.values()[s % VehicleSize.values().length]);
+                floor.addSpot(spot);
+                allSpots.add(spot);
+            }
+            parkingLot.addFloor(floor);
+        }
+
+        System.out.printf("%d floors x %d spots, %d ops per gate%n", floors, spotsPerFloor, opsPerGate);
+        for (int gates : GATE_COUNTS) {
+            run(parkingLot, allSpots, gates, opsPerGate);
+        }
+    }
+
+    private static void run(ParkingLotSystem parkingLot, List<ParkingSpot> allSpots, int gates, int opsPerGate) throws InterruptedException {
+        Map<ParkingSpot, Vehicle> claimedSpots = new ConcurrentHashMap<>();
+        AtomicLong doubleAllocations = new AtomicLong();
+        AtomicLong parks = new AtomicLong();
+        AtomicLong failedParks = new AtomicLong();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            Thread thread = new Thread(() -> {
+                Vehicle[] vehicles = new Vehicle[VEHICLES_PER_GATE];
+                Ticket[] tickets = new Ticket[VEHICLES_PER_GATE];
+                for (int v = 0; v < VEHICLES_PER_GATE; v++) {
+                    String number = "G" + gate + "-" + v;
+                    vehicles[v] = v % 3 == 0 ? new Bike(number) : v % 3 == 1 ? new Car(number) : new Truck(number);
+                }
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = 0; op < opsPerGate; op++) {
+                    int v = random.nextInt(VEHICLES_PER_GATE);
+                    if (tickets[v] == null) {
+                        Optional<Ticket> ticket = parkingLot.parkVehicle(vehicles[v]);
+                        if (ticket.isPresent()) {
+                            tickets[v] = ticket.get();
+                            parks.incrementAndGet();
+                            if (claimedSpots.putIfAbsent(ticket.get().getSpot(), vehicles[v]) != null) {
+                                doubleAllocations.incrementAndGet();
+                            }
+                        } else {
+                            failedParks.incrementAndGet();
+                        }
+                    } else {
+                        // Deregister before the spot is released so another gate may legitimately claim it.
+                        claimedSpots.remove(tickets[v].getSpot(), vehicles[v]);
+                        parkingLot.unparkVehicle(vehicles[v].getVehicleNumber());
+                        tickets[v] = null;
+                    }
+                }
+                for (int v = 0; v < VEHICLES_PER_GATE; v++) {
+                    if (tickets[v] != null) {
+                        claimedSpots.remove(tickets[v].getSpot(), vehicles[v]);
+                        parkingLot.unparkVehicle(vehicles[v].getVehicleNumber());
+                    }
+                }
+            }, "gate-" + g);
+            threads.add(thread);
+            thread.start();
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        long occupied = allSpots.stream().filter(spot -> !spot.isAvailable()).count();
+        long indexedFree = 0;
+        for (VehicleSize size : VehicleSize.values()) {
+            indexedFree += parkingLot.getAvailabilityTree().getTotalFree(size);
+        }
+        boolean consistent = doubleAllocations.get() == 0 && occupied == 0
+                && parkingLot.getActiveTicketCount() == 0 && indexedFree == allSpots.size();
+        System.out.printf("gates=%2d  %,12.0f ops/s  parks=%,d  full=%,d  doubleAllocations=%d  %s%n",
+                gates, (double) gates * opsPerGate / seconds, parks.get(), failedParks.get(),
+                doubleAllocations.get(), consistent ? "consistent" : "INCONSISTENT");
+    }
+}
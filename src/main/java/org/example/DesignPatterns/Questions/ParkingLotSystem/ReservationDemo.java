@@ -0,0 +1,56 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Reservation;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Car;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class ReservationDemo {
+    public static void main(String[] args) {
+        ParkingLotSystem parkingLot = new ParkingLotSystem();
+        parkingLot.setParkingStrategy(new NearestParkingStrategy());
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+        parkingLot.setFeeStrategy(new VehicleTypeFeeStrategy(costPerVehicleType));
+
+        ParkingFloor floor = new ParkingFloor(1);
+        floor.addSpots(VehicleSize.MEDIUM, 2);
+        parkingLot.addFloor(floor);
+
+        long now = System.currentTimeMillis();
+        long hour = TimeUnit.HOURS.toMillis(1);
+
+        System.out.println("--- Reservations ---");
+        print("C-RES now..+1h", parkingLot.reserveSpot("C-RES", VehicleSize.MEDIUM, now, now + hour));
+        print("C-EVE +2h..+3h", parkingLot.reserveSpot("C-EVE", VehicleSize.MEDIUM, now + 2 * hour, now + 3 * hour));
+        print("C-ALT +2h..+3h", parkingLot.reserveSpot("C-ALT", VehicleSize.MEDIUM, now + 2 * hour, now + 3 * hour));
+        print("C-LATE +2h..+3h", parkingLot.reserveSpot("C-LATE", VehicleSize.MEDIUM, now + 2 * hour, now + 3 * hour));
+
+        System.out.println("\n--- Arrivals ---");
+        // The reserved spot is skipped for walk-ins, so the first one gets the other spot.
+        Optional<Ticket> walkIn = parkingLot.parkVehicle(new Car("C-WALK"));
+        parkingLot.parkVehicle(new Car("C-WALK2"));
+        Optional<Ticket> reserved = parkingLot.parkVehicle(new Car("C-RES"));
+        walkIn.ifPresent(ticket -> System.out.println("C-WALK got " + ticket.getSpot().getId()));
+        reserved.ifPresent(ticket -> System.out.println("C-RES got its reserved " + ticket.getSpot().getId()));
+
+        System.out.println("\n--- Early departure ---");
+        parkingLot.unparkVehicle("C-RES");
+        System.out.println("C-RES reservations left: " + parkingLot.getReservations("C-RES").size());
+        parkingLot.parkVehicle(new Car("C-WALK2"));
+    }
+
+    private static void print(String label, Optional<Reservation> reservation) {
+        System.out.println(label + ": " + reservation.map(r -> "spot " + r.getSpot().getId()).orElse("rejected"));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.FeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.FixedRateStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.TariffTableFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleFactory;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Recomputes fees for a shift's worth of closed tickets one at a time and through the batch
+ * path, checks both agree and prints the timings.
+ * Usage: ShiftCloseFeeDemo [tickets]
+ */
+public class ShiftCloseFeeDemo {
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int ticketCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        List<Ticket> tickets = createTickets(ticketCount);
+
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+        TariffTableFeeStrategy tariff = new TariffTableFeeStrategy.Builder(ZoneOffset.UTC, 4.0)
+                .withBand(8, 18, 10.0)
+                .withBand(22, 6, 1.0)
+                .withSizeMultiplier(VehicleSize.SMALL, 0.5)
+                .withSizeMultiplier(VehicleSize.LARGE, 2.0)
+                .withTier(3, 0.75)
+                .withTier(24, 0.5)
+                .build();
+
+        System.out.printf("%d tickets, %d processors%n", ticketCount, Runtime.getRuntime().availableProcessors());
+        compare("VehicleTypeFeeStrategy", new VehicleTypeFeeStrategy(costPerVehicleType), tickets);
+        compare("TariffTableFeeStrategy", tariff, tickets);
+
+        // The single-ticket path prints two lines per ticket, so only the batch path is timed here.
+        FeeStrategy fixedRate = new FixedRateStrategy(6.0);
+        long start = System.nanoTime();
+        double total = sum(fixedRate.calculateFees(tickets));
+        System.out.printf("%-24s batch %6.2f ms, total %.2f%n", "FixedRateStrategy", (System.nanoTime() - start) / 1e6, total);
+    }
+
+    private static void compare(String name, FeeStrategy feeStrategy, List<Ticket> tickets) {
+        double[] oneByOne = new double[tickets.size()];
+        double[] batch = null;
+        long loopNanos = Long.MAX_VALUE;
+        long batchNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < tickets.size(); i++) {
+                oneByOne[i] = feeStrategy.calculateFee(tickets.get(i));
+            }
+            loopNanos = Math.min(loopNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            batch = feeStrategy.calculateFees(tickets);
+            batchNanos = Math.min(batchNanos, System.nanoTime() - start);
+        }
+
+        int mismatches = 0;
+        for (int i = 0; i < oneByOne.length; i++) {
+            if (Math.abs(oneByOne[i] - batch[i]) > 1e-9) {
+                mismatches++;
+            }
+        }
+        System.out.printf("%-24s one-by-one %6.2f ms, batch %6.2f ms, total %.2f, mismatches %d%n",
+                name, loopNanos / 1e6, batchNanos / 1e6, sum(batch), mismatches);
+    }
+
+    private static List<Ticket> createTickets(int count) {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        VehicleSize[] sizes = VehicleSize.values();
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VehicleSize size = sizes[i % sizes.length];
+            ParkingSpot spot = new ParkingSpot("S-" + i, size);
+            long startTime = now - (long) (random.nextDouble() * 3 * 24 * 3_600_000L);
+            Ticket ticket = new Ticket(UUID.randomUUID(), VehicleFactory.create(size, "V-" + i), spot, startTime);
+            ticket.setEndTime();
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rough retained-heap comparison for 100k spots: computed ids through addSpots versus spots
+ * registered one by one with custom string ids.
+ * Usage: SpotFootprintDemo [floors] [spotsPerFloor]
+ */
+public class SpotFootprintDemo {
+    public static void main(String[] args) {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        long spots = (long) floors * spotsPerFloor;
+
+        long before = usedHeap();
+        List<ParkingFloor> compact = new ArrayList<>();
+        for (int f = 0; f < floors; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (VehicleSize size : VehicleSize.values()) {
+                floor.addSpots(size, spotsPerFloor / VehicleSize.values().length);
+            }
+            compact.add(floor);
+        }
+        long compactBytes = usedHeap() - before;
+
+        before = usedHeap();
+        List<ParkingFloor> named = new ArrayList<>();
+        for (int f = 0; f < floors; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new ParkingSpot("Level" + f + "/Bay" + s, VehicleSize.values()[s % VehicleSize.values().length]));
+            }
+            named.add(floor);
+        }
+        long namedBytes = usedHeap() - before;
+
+        System.out.printf("%d spots%n", spots);
+        System.out.printf("computed ids: %,d bytes (%.1f per spot)%n", compactBytes, (double) compactBytes / spots);
+        System.out.printf("custom ids:   %,d bytes (%.1f per spot)%n", namedBytes, (double) namedBytes / spots);
+        System.out.println("kept alive: " + compact.size() + " + " + named.size() + " floors");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
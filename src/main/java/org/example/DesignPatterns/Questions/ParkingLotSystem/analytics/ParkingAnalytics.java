@@ -0,0 +1,199 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.analytics;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingEvent;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.observer.ParkingEventObserver;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Folds park/unpark events into per-minute, per-hour and per-day tumbling windows as they arrive.
+ *
+ * Each granularity is a fixed ring of buckets indexed by window number, so memory is bounded by
+ * the ring sizes and the number of floors, and a bucket is reset in place when the ring wraps onto
+ * a newer window. Events older than what their ring still holds are counted as late and dropped.
+ * Live occupancy is a floor x size counter adjusted by each event; buckets copy the cell an event
+ * changed, so no query ever walks tickets.
+ */
+public class ParkingAnalytics implements ParkingEventObserver {
+    private static final int SIZES = VehicleSize.values().length;
+
+    private final Map<TimeWindow, WindowRing> rings = new EnumMap<>(TimeWindow.class);
+    private int[][] occupancy = new int[0][SIZES];
+    private double totalRevenue;
+    private long lateEvents;
+
+    public ParkingAnalytics() {
+        this(120, 48, 31);
+    }
+
+    public ParkingAnalytics(int minutesKept, int hoursKept, int daysKept) {
+        rings.put(TimeWindow.MINUTE, new WindowRing(TimeWindow.MINUTE, minutesKept));
+        rings.put(TimeWindow.HOUR, new WindowRing(TimeWindow.HOUR, hoursKept));
+        rings.put(TimeWindow.DAY, new WindowRing(TimeWindow.DAY, daysKept));
+    }
+
+    @Override
+    public synchronized void update(ParkingEvent event) {
+        int floor = event.getFloor();
+        int size = event.getVehicleSize().ordinal();
+        if (floor >= 0) {
+            if (floor >= occupancy.length) {
+                occupancy = grow(occupancy, floor + 1);
+            }
+            occupancy[floor][size] += event.getType() == ParkingEvent.Type.PARKED ? 1 : -1;
+        }
+        if (event.getType() == ParkingEvent.Type.UNPARKED) {
+            totalRevenue += event.getFee();
+        }
+        for (WindowRing ring : rings.values()) {
+            ring.record(event, floor, size);
+        }
+    }
+
+    public synchronized Optional<WindowStats> getWindow(TimeWindow window, long timestamp) {
+        return rings.get(window).stats(window.windowStart(timestamp));
+    }
+
+    // The newest window that has received an event.
+    public synchronized Optional<WindowStats> getLatestWindow(TimeWindow window) {
+        WindowRing ring = rings.get(window);
+        return ring.latestStart == Long.MIN_VALUE ? Optional.empty() : ring.stats(ring.latestStart);
+    }
+
+    // Up to 'count' windows ending at the latest one, newest first; windows without events are skipped.
+    public synchronized List<WindowStats> getRecentWindows(TimeWindow window, int count) {
+        WindowRing ring = rings.get(window);
+        List<WindowStats> result = new ArrayList<>();
+        if (ring.latestStart == Long.MIN_VALUE) {
+            return result;
+        }
+        int limit = Math.min(count, ring.buckets.length);
+        for (int i = 0; i < limit; i++) {
+            ring.stats(ring.latestStart - i * window.getMillis()).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    public synchronized int getOccupancy(int floor, VehicleSize size) {
+        return floor >= 0 && floor < occupancy.length ? occupancy[floor][size.ordinal()] : 0;
+    }
+
+    public synchronized double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public synchronized long getLateEvents() {
+        return lateEvents;
+    }
+
+    private static int[][] grow(int[][] cells, int floors) {
+        int[][] grown = new int[floors][];
+        for (int f = 0; f < floors; f++) {
+            grown[f] = f < cells.length ? cells[f] : new int[SIZES];
+        }
+        return grown;
+    }
+
+    private static int[][] copy(int[][] cells) {
+        int[][] copy = new int[cells.length][];
+        for (int f = 0; f < cells.length; f++) {
+            copy[f] = cells[f].clone();
+        }
+        return copy;
+    }
+
+    private class WindowRing {
+        private final TimeWindow window;
+        private final Bucket[] buckets;
+        private long latestStart = Long.MIN_VALUE;
+
+        WindowRing(TimeWindow window, int capacity) {
+            this.window = window;
+            this.buckets = new Bucket[capacity];
+            for (int i = 0; i < capacity; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private Bucket slot(long windowStart) {
+            return buckets[(int) Math.floorMod(windowStart / window.getMillis(), (long) buckets.length)];
+        }
+
+        void record(ParkingEvent event, int floor, int size) {
+            long start = window.windowStart(event.getTimestamp());
+            Bucket bucket = slot(start);
+            if (bucket.windowStart > start) {
+                lateEvents++;
+                return;
+            }
+            if (bucket.windowStart < start) {
+                bucket.reset(start, occupancy);
+            }
+            latestStart = Math.max(latestStart, start);
+
+            if (event.getType() == ParkingEvent.Type.PARKED) {
+                bucket.arrivals++;
+                bucket.arrivalsBySize[size]++;
+            } else {
+                bucket.departures++;
+                bucket.departuresBySize[size]++;
+                bucket.revenue += event.getFee();
+                bucket.revenueBySize[size] += event.getFee();
+                bucket.dwellMillisTotal += event.getTimestamp() - event.getStartTime();
+            }
+            if (floor >= 0) {
+                if (floor >= bucket.closingOccupancy.length) {
+                    bucket.closingOccupancy = grow(bucket.closingOccupancy, occupancy.length);
+                    bucket.peakOccupancy = grow(bucket.peakOccupancy, occupancy.length);
+                }
+                int current = occupancy[floor][size];
+                bucket.closingOccupancy[floor][size] = current;
+                bucket.peakOccupancy[floor][size] = Math.max(bucket.peakOccupancy[floor][size], current);
+            }
+        }
+
+        Optional<WindowStats> stats(long windowStart) {
+            Bucket bucket = slot(windowStart);
+            if (bucket.windowStart != windowStart) {
+                return Optional.empty();
+            }
+            return Optional.of(new WindowStats(window, windowStart, bucket.arrivals, bucket.departures, bucket.revenue,
+                    bucket.dwellMillisTotal, bucket.arrivalsBySize.clone(), bucket.departuresBySize.clone(),
+                    bucket.revenueBySize.clone(), copy(bucket.closingOccupancy), copy(bucket.peakOccupancy)));
+        }
+    }
+
+    private static class Bucket {
+        long windowStart = Long.MIN_VALUE;
+        long arrivals;
+        long departures;
+        double revenue;
+        long dwellMillisTotal;
+        final long[] arrivalsBySize = new long[SIZES];
+        final long[] departuresBySize = new long[SIZES];
+        final double[] revenueBySize = new double[SIZES];
+        int[][] closingOccupancy = new int[0][SIZES];
+        int[][] peakOccupancy = new int[0][SIZES];
+
+        // Starts a new window from the lot's occupancy at that moment.
+        void reset(long start, int[][] occupancy) {
+            windowStart = start;
+            arrivals = 0;
+            departures = 0;
+            revenue = 0;
+            dwellMillisTotal = 0;
+            for (int s = 0; s < SIZES; s++) {
+                arrivalsBySize[s] = 0;
+                departuresBySize[s] = 0;
+                revenueBySize[s] = 0;
+            }
+            closingOccupancy = copy(occupancy);
+            peakOccupancy = copy(occupancy);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.analytics;
+
+import java.util.concurrent.TimeUnit;
+
+public enum TimeWindow {
+    MINUTE(TimeUnit.MINUTES.toMillis(1)),
+    HOUR(TimeUnit.HOURS.toMillis(1)),
+    DAY(TimeUnit.DAYS.toMillis(1));
+
+    private final long millis;
+
+    TimeWindow(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public long windowStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.analytics;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+/**
+ * Immutable copy of one tumbling window's aggregates. Occupancy is indexed by floor number and
+ * vehicle size; floors the window never saw report zero.
+ */
+public class WindowStats {
+    private final TimeWindow window;
+    private final long windowStart;
+    private final long arrivals;
+    private final long departures;
+    private final double revenue;
+    private final long dwellMillisTotal;
+    private final long[] arrivalsBySize;
+    private final long[] departuresBySize;
+    private final double[] revenueBySize;
+    private final int[][] closingOccupancy;
+    private final int[][] peakOccupancy;
+
+    WindowStats(TimeWindow window, long windowStart, long arrivals, long departures, double revenue, long dwellMillisTotal,
+                long[] arrivalsBySize, long[] departuresBySize, double[] revenueBySize,
+                int[][] closingOccupancy, int[][] peakOccupancy) {
+        this.window = window;
+        this.windowStart = windowStart;
+        this.arrivals = arrivals;
+        this.departures = departures;
+        this.revenue = revenue;
+        this.dwellMillisTotal = dwellMillisTotal;
+        this.arrivalsBySize = arrivalsBySize;
+        this.departuresBySize = departuresBySize;
+        this.revenueBySize = revenueBySize;
+        this.closingOccupancy = closingOccupancy;
+        this.peakOccupancy = peakOccupancy;
+    }
+
+    public TimeWindow getWindow() {
+        return window;
+    }
+
+    public long getWindowStart() {
+        return windowStart;
+    }
+
+    public long getWindowEnd() {
+        return windowStart + window.getMillis();
+    }
+
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    public long getArrivals(VehicleSize size) {
+        return arrivalsBySize[size.ordinal()];
+    }
+
+    public long getDepartures() {
+        return departures;
+    }
+
+    public long getDepartures(VehicleSize size) {
+        return departuresBySize[size.ordinal()];
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public double getRevenue(VehicleSize size) {
+        return revenueBySize[size.ordinal()];
+    }
+
+    public double getAverageDwellMillis() {
+        return departures == 0 ? 0 : (double) dwellMillisTotal / departures;
+    }
+
+    // Occupancy after the last event applied to this window.
+    public int getOccupancy(int floor, VehicleSize size) {
+        return floor >= 0 && floor < closingOccupancy.length ? closingOccupancy[floor][size.ordinal()] : 0;
+    }
+
+    // Highest occupancy seen while this window was being filled.
+    public int getPeakOccupancy(int floor, VehicleSize size) {
+        return floor >= 0 && floor < peakOccupancy.length ? peakOccupancy[floor][size.ordinal()] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%d arrivals=%d departures=%d revenue=%.2f avgDwell=%.0fms",
+                window, windowStart, arrivals, departures, revenue, getAverageDwellMillis());
+    }
+}
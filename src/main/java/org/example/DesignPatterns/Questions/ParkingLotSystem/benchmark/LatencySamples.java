@@ -0,0 +1,75 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Fixed-size reservoir of nanosecond latencies owned by one thread. Once full, new samples
+ * replace random old ones, so memory stays bounded on long runs and percentiles stay unbiased.
+ */
+public class LatencySamples {
+    private final long[] samples;
+    private long seen;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    public LatencySamples(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public void record(long nanos) {
+        if (seen < samples.length) {
+            samples[(int) seen] = nanos;
+        } else {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            long slot = Math.floorMod(seed, seen + 1);
+            if (slot < samples.length) {
+                samples[(int) slot] = nanos;
+            }
+        }
+        seen++;
+    }
+
+    public long getCount() {
+        return seen;
+    }
+
+    // Merges several threads' reservoirs and returns the sorted samples.
+    public static long[] sortedUnion(Iterable<LatencySamples> all) {
+        int total = 0;
+        for (LatencySamples s : all) {
+            total += (int) Math.min(s.seen, s.samples.length);
+        }
+        long[] merged = new long[total];
+        int at = 0;
+        for (LatencySamples s : all) {
+            int n = (int) Math.min(s.seen, s.samples.length);
+            System.arraycopy(s.samples, 0, merged, at, n);
+            at += n;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // Bytes allocated so far by the calling thread, or Long.MIN_VALUE if the JVM cannot tell.
+    public static long allocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotspotBean.isThreadAllocatedMemorySupported() && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+                return hotspotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+}
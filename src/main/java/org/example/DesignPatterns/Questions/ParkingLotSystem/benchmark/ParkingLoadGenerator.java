@@ -0,0 +1,189 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.benchmark;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.VehicleTypeFeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.FarthestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.ParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Bike;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Car;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Truck;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulation driver for ParkingLotSystem. Every gate thread runs its own Poisson process on a
+ * simulated clock: exponential inter-arrival times at rate 1 per gate and exponential stays
+ * whose mean is chosen (Little's law) to hold the lot near the target occupancy. Events are
+ * replayed as fast as the lot accepts them, so the run measures capacity, not wall-clock pacing.
+ *
+ * Reports park latency percentiles, time spent in the parking strategy, rejected arrivals and
+ * bytes allocated per operation on the gate threads.
+ *
+ * Usage: ParkingLoadGenerator [floors] [spotsPerFloor] [gates] [opsPerGate] [targetOccupancy]
+ *                             [bike:car:truck] [nearest|farthest]
+ */
+public class ParkingLoadGenerator {
+    private static final int SAMPLES_PER_GATE = 50_000;
+
+    private static class Departure {
+        final double time;
+        final String vehicleNumber;
+
+        Departure(double time, String vehicleNumber) {
+            this.time = time;
+            this.vehicleNumber = vehicleNumber;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int gates = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int opsPerGate = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+        double targetOccupancy = args.length > 4 ? Double.parseDouble(args[4]) : 0.9;
+        String[] mixParts = (args.length > 5 ? args[5] : "1:6:1").split(":");
+        String strategyName = args.length > 6 ? args[6] : "nearest";
+
+        double[] mix = new double[3];
+        double mixTotal = 0;
+        for (int i = 0; i < 3; i++) {
+            mixTotal += mix[i] = Double.parseDouble(mixParts[i]);
+        }
+        for (int i = 0; i < 3; i++) {
+            mix[i] /= mixTotal;
+        }
+
+        ThreadLocal<LatencySamples> strategySamples = ThreadLocal.withInitial(() -> new LatencySamples(SAMPLES_PER_GATE));
+        ParkingStrategy strategy = "farthest".equals(strategyName) ? new FarthestParkingStrategy() : new NearestParkingStrategy();
+        ParkingLotSystem parkingLot = createLot(floors, spotsPerFloor, mix, new TimedParkingStrategy(strategy, strategySamples));
+
+        long capacity = (long) floors * spotsPerFloor;
+        double meanStay = targetOccupancy * capacity / gates;
+        System.out.printf("%d floors x %d spots, %d gates, %d ops/gate, mix bike/car/truck %.2f/%.2f/%.2f, %s, mean stay %.1f%n",
+                floors, spotsPerFloor, gates, opsPerGate, mix[0], mix[1], mix[2], strategyName, meanStay);
+
+        List<LatencySamples> parkSamples = new ArrayList<>();
+        ConcurrentLinkedQueue<LatencySamples> allStrategySamples = new ConcurrentLinkedQueue<>();
+        AtomicLong parks = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong unparks = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        // The allocation counter is either supported by this JVM or not, on every thread alike.
+        boolean allocationMeasured = LatencySamples.allocatedBytes() != Long.MIN_VALUE;
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            LatencySamples samples = new LatencySamples(SAMPLES_PER_GATE);
+            parkSamples.add(samples);
+            Thread thread = new Thread(() -> {
+                allStrategySamples.add(strategySamples.get());
+                Random random = new Random(gate);
+                PriorityQueue<Departure> departures = new PriorityQueue<>((a, b) -> Double.compare(a.time, b.time));
+                double nextArrival = exponential(random, 1.0);
+                long sequence = 0;
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long allocatedBefore = LatencySamples.allocatedBytes();
+                for (int op = 0; op < opsPerGate; op++) {
+                    if (!departures.isEmpty() && departures.peek().time <= nextArrival) {
+                        if (parkingLot.unparkVehicle(departures.poll().vehicleNumber).isPresent()) {
+                            unparks.incrementAndGet();
+                        }
+                        continue;
+                    }
+                    double now = nextArrival;
+                    nextArrival += exponential(random, 1.0);
+                    Vehicle vehicle = pickVehicle(random, mix, "G" + gate + "-" + sequence++);
+                    long start = System.nanoTime();
+                    boolean parked = parkingLot.parkVehicle(vehicle).isPresent();
+                    samples.record(System.nanoTime() - start);
+                    if (parked) {
+                        parks.incrementAndGet();
+                        departures.add(new Departure(now + exponential(random, meanStay), vehicle.getVehicleNumber()));
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                long allocatedAfter = LatencySamples.allocatedBytes();
+                if (allocatedBefore != Long.MIN_VALUE) {
+                    allocated.addAndGet(allocatedAfter - allocatedBefore);
+                }
+            }, "gate-" + g);
+            threads.add(thread);
+            thread.start();
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long totalOps = (long) gates * opsPerGate;
+        long[] park = LatencySamples.sortedUnion(parkSamples);
+        long[] find = LatencySamples.sortedUnion(allStrategySamples);
+        System.out.printf("throughput   %,.0f ops/s (%,d parks, %,d rejected, %,d unparks)%n",
+                totalOps * 1e9 / elapsed, parks.get(), rejected.get(), unparks.get());
+        System.out.printf("park         p50=%,dns p90=%,dns p99=%,dns p99.9=%,dns max=%,dns%n",
+                LatencySamples.percentile(park, 50), LatencySamples.percentile(park, 90), LatencySamples.percentile(park, 99),
+                LatencySamples.percentile(park, 99.9), LatencySamples.percentile(park, 100));
+        System.out.printf("strategy     p50=%,dns p90=%,dns p99=%,dns p99.9=%,dns%n",
+                LatencySamples.percentile(find, 50), LatencySamples.percentile(find, 90), LatencySamples.percentile(find, 99),
+                LatencySamples.percentile(find, 99.9));
+        System.out.println("allocation   " + (allocationMeasured
+                ? String.format("%.1f B/op", (double) allocated.get() / totalOps) : "n/a"));
+        System.out.printf("occupancy    %,d of %,d spots%n", parkingLot.getActiveTicketCount(), capacity);
+    }
+
+    private static ParkingLotSystem createLot(int floors, int spotsPerFloor, double[] mix, ParkingStrategy strategy) {
+        ParkingLotSystem parkingLot = new ParkingLotSystem();
+        parkingLot.setParkingStrategy(strategy);
+        HashMap<VehicleSize, Double> costPerVehicleType = new HashMap<>();
+        costPerVehicleType.put(VehicleSize.SMALL, 5.0);
+        costPerVehicleType.put(VehicleSize.MEDIUM, 8.0);
+        costPerVehicleType.put(VehicleSize.LARGE, 15.0);
+        parkingLot.setFeeStrategy(new VehicleTypeFeeStrategy(costPerVehicleType));
+        parkingLot.setVerbose(false);
+        // Spots of each size in proportion to the vehicle mix.
+        int small = (int) Math.round(spotsPerFloor * mix[0]);
+        int large = (int) Math.round(spotsPerFloor * mix[2]);
+        for (int f = 1; f <= floors; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            floor.addSpots(VehicleSize.SMALL, small);
+            floor.addSpots(VehicleSize.MEDIUM, spotsPerFloor - small - large);
+            floor.addSpots(VehicleSize.LARGE, large);
+            parkingLot.addFloor(floor);
+        }
+        return parkingLot;
+    }
+
+    private static Vehicle pickVehicle(Random random, double[] mix, String number) {
+        double r = random.nextDouble();
+        if (r < mix[0]) {
+            return new Bike(number);
+        }
+        return r < mix[0] + mix[1] ? new Car(number) : new Truck(number);
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+}
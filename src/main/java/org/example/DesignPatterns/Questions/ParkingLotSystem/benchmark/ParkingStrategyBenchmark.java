@@ -0,0 +1,105 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.benchmark;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.FarthestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.NearestParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.ParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Car;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Microbenchmark of NearestParkingStrategy against FarthestParkingStrategy on lots of 10 to 100k
+ * spots, 90% occupied, through both the floor-list path and the availability-tree path. Two
+ * layouts: occupied at random, and packed from the lowest floor up, where only the top floors
+ * have room and a nearest-first scan has to walk past every full floor.
+ *
+ * Same shape as a JMH average-time benchmark: warm-up, then timed batches of calls, with
+ * percentiles over per-batch averages and allocation from the thread's allocation counter.
+ * Usage: ParkingStrategyBenchmark [occupancy]
+ */
+public class ParkingStrategyBenchmark {
+    private static final int[] LOT_SIZES = {10, 100, 1_000, 10_000, 100_000};
+    private static final int SPOTS_PER_FLOOR = 1_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int WARMUP_BATCHES = 2_000;
+    private static final int MEASURED_BATCHES = 5_000;
+
+    // Results are written here so the JIT cannot drop the measured work.
+    static volatile Object sink;
+
+    public static void main(String[] args) {
+        double occupancy = args.length > 0 ? Double.parseDouble(args[0]) : 0.9;
+        for (boolean packed : new boolean[]{false, true}) {
+            for (int spots : LOT_SIZES) {
+                ParkingLotSystem parkingLot = createLot(spots, occupancy, packed);
+                List<ParkingFloor> floors = parkingLot.getParkingFloors();
+                Vehicle car = new Car("BENCH");
+                System.out.printf("%,d spots on %d floors, %.0f%% occupied %s%n", spots, floors.size(), occupancy * 100,
+                        packed ? "from the bottom up" : "at random");
+                for (ParkingStrategy strategy : List.of(new NearestParkingStrategy(), new FarthestParkingStrategy())) {
+                    String name = strategy.getClass().getSimpleName();
+                    measure("  " + name + " list", () -> strategy.findSpot(floors, car));
+                    measure("  " + name + " tree", () -> strategy.findSpot(floors, parkingLot.getAvailabilityTree(), car));
+                }
+            }
+        }
+    }
+
+    private interface Call {
+        Optional<ParkingSpot> run();
+    }
+
+    private static void measure(String name, Call call) {
+        for (int i = 0; i < WARMUP_BATCHES * BATCH_SIZE; i++) {
+            sink = call.run();
+        }
+        long[] perOp = new long[MEASURED_BATCHES];
+        long allocatedBefore = LatencySamples.allocatedBytes();
+        long start = System.nanoTime();
+        for (int batch = 0; batch < MEASURED_BATCHES; batch++) {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = call.run();
+            }
+            perOp[batch] = (System.nanoTime() - batchStart) / BATCH_SIZE;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = LatencySamples.allocatedBytes() - allocatedBefore;
+        Arrays.sort(perOp);
+
+        long ops = (long) MEASURED_BATCHES * BATCH_SIZE;
+        System.out.printf("%-40s %10.1f ns/op  p50=%dns p99=%dns  %s%n", name, (double) elapsed / ops,
+                LatencySamples.percentile(perOp, 50), LatencySamples.percentile(perOp, 99),
+                allocatedBefore == Long.MIN_VALUE ? "alloc=n/a" : String.format("alloc=%.1f B/op", (double) allocated / ops));
+    }
+
+    // All spots are MEDIUM so every spot is a candidate for the benchmark car.
+    private static ParkingLotSystem createLot(int spots, double occupancy, boolean packed) {
+        ParkingLotSystem parkingLot = new ParkingLotSystem();
+        parkingLot.setVerbose(false);
+        for (int f = 1, remaining = spots; remaining > 0; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            floor.addSpots(VehicleSize.MEDIUM, Math.min(SPOTS_PER_FLOOR, remaining));
+            remaining -= SPOTS_PER_FLOOR;
+            parkingLot.addFloor(floor);
+        }
+        Random random = new Random(1);
+        long toFill = Math.round(spots * occupancy);
+        for (ParkingFloor floor : parkingLot.getParkingFloors()) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                if (packed ? toFill-- > 0 : random.nextDouble() < occupancy) {
+                    spot.parkVehicle(new Car("FILL"));
+                }
+            }
+        }
+        return parkingLot;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.benchmark;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.FloorAvailabilityTree;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.ParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorator that times every findSpot call of the wrapped strategy into the calling gate's
+ * samples, so strategy time can be reported apart from the rest of a park.
+ */
+public class TimedParkingStrategy implements ParkingStrategy {
+    private final ParkingStrategy delegate;
+    private final ThreadLocal<LatencySamples> samples;
+
+    public TimedParkingStrategy(ParkingStrategy delegate, ThreadLocal<LatencySamples> samples) {
+        this.delegate = delegate;
+        this.samples = samples;
+    }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle) {
+        long start = System.nanoTime();
+        Optional<ParkingSpot> spot = delegate.findSpot(parkingFloors, vehicle);
+        samples.get().record(System.nanoTime() - start);
+        return spot;
+    }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, FloorAvailabilityTree availabilityTree, Vehicle vehicle) {
+        long start = System.nanoTime();
+        Optional<ParkingSpot> spot = delegate.findSpot(parkingFloors, availabilityTree, vehicle);
+        samples.get().record(System.nanoTime() - start);
+        return spot;
+    }
+}
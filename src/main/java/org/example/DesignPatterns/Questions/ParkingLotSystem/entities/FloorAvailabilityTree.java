@@ -0,0 +1,126 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+/**
+ * Lot-wide summary of free spots: for each VehicleSize, a max segment tree over floor positions
+ * whose leaves hold that floor's free count. Nearest, farthest and "first floor with at least k
+ * free" are all a single root-to-leaf descent, O(log floors), optionally bounded to start from a
+ * given floor so a caller can move on past a floor that turned out to be unusable. Floors report count changes.
+ * All methods are synchronized; each call only touches O(log floors) nodes.
+ */
+public class FloorAvailabilityTree {
+    private static final int SIZES = VehicleSize.values().length;
+
+    private int capacity;
+    private int floorCount;
+    private int[][] maxTrees;       // [size][node], leaves start at index capacity
+    private final long[] totalFree = new long[SIZES];
+
+    public FloorAvailabilityTree() {
+        this.capacity = 1;
+        this.maxTrees = new int[SIZES][2];
+    }
+
+    public synchronized int getFloorCount() {
+        return floorCount;
+    }
+
+    // Returns the position assigned to the new floor.
+    synchronized int addFloor() {
+        if (floorCount == capacity) {
+            grow();
+        }
+        return floorCount++;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        int[][] newTrees = new int[SIZES][2 * newCapacity];
+        for (int size = 0; size < SIZES; size++) {
+            System.arraycopy(maxTrees[size], capacity, newTrees[size], newCapacity, capacity);
+            for (int node = newCapacity - 1; node > 0; node--) {
+                newTrees[size][node] = Math.max(newTrees[size][2 * node], newTrees[size][2 * node + 1]);
+            }
+        }
+        this.capacity = newCapacity;
+        this.maxTrees = newTrees;
+    }
+
+    synchronized void update(int floorPosition, VehicleSize size, int freeCount) {
+        int[] tree = maxTrees[size.ordinal()];
+        int node = capacity + floorPosition;
+        totalFree[size.ordinal()] += freeCount - tree[node];
+        tree[node] = freeCount;
+        for (node >>= 1; node > 0; node >>= 1) {
+            int max = Math.max(tree[2 * node], tree[2 * node + 1]);
+            if (tree[node] == max) {
+                break; // ancestors are unchanged as well
+            }
+            tree[node] = max;
+        }
+    }
+
+    public synchronized int getFreeCount(int floorPosition, VehicleSize size) {
+        return maxTrees[size.ordinal()][capacity + floorPosition];
+    }
+
+    public synchronized long getTotalFree(VehicleSize size) {
+        return totalFree[size.ordinal()];
+    }
+
+    // Lowest floor position with at least minFree free spots of this size, or -1.
+    public synchronized int findFirstFloorWithAtLeast(VehicleSize size, int minFree) {
+        return findNextFloorWithAtLeast(size, minFree, 0);
+    }
+
+    // Highest floor position with at least minFree free spots of this size, or -1.
+    public synchronized int findLastFloorWithAtLeast(VehicleSize size, int minFree) {
+        return findPreviousFloorWithAtLeast(size, minFree, floorCount - 1);
+    }
+
+    // Lowest floor position at or after 'from' with at least minFree free spots of this size, or -1.
+    public synchronized int findNextFloorWithAtLeast(VehicleSize size, int minFree, int from) {
+        if (from < 0 || from >= floorCount) {
+            return -1;
+        }
+        if (minFree <= 0) {
+            return from;
+        }
+        return descend(maxTrees[size.ordinal()], 1, 0, capacity - 1, from, floorCount - 1, minFree, true);
+    }
+
+    // Highest floor position at or before 'to' with at least minFree free spots of this size, or -1.
+    public synchronized int findPreviousFloorWithAtLeast(VehicleSize size, int minFree, int to) {
+        if (to < 0 || floorCount == 0) {
+            return -1;
+        }
+        to = Math.min(to, floorCount - 1);
+        if (minFree <= 0) {
+            return to;
+        }
+        return descend(maxTrees[size.ordinal()], 1, 0, capacity - 1, 0, to, minFree, false);
+    }
+
+    // First (or last) leaf in [from, to] under node, which covers [lo, hi], holding at least minFree.
+    // Only subtrees straddling the range edges are split, so this stays O(log floors).
+    private int descend(int[] tree, int node, int lo, int hi, int from, int to, int minFree, boolean lowestFirst) {
+        if (hi < from || lo > to || tree[node] < minFree) {
+            return -1;
+        }
+        if (lo == hi) {
+            return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        int first = lowestFirst ? 2 * node : 2 * node + 1;
+        int found = lowestFirst
+                ? descend(tree, first, lo, mid, from, to, minFree, true)
+                : descend(tree, first, mid + 1, hi, from, to, minFree, false);
+        if (found >= 0) {
+            return found;
+        }
+        return lowestFirst
+                ? descend(tree, 2 * node + 1, mid + 1, hi, from, to, minFree, true)
+                : descend(tree, 2 * node, lo, mid, from, to, minFree, false);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.UUID;
+
+/**
+ * Immutable record of a park or unpark, published by ParkingLotSystem to its observers.
+ */
+public class ParkingEvent {
+    public enum Type {
+        PARKED,
+        UNPARKED
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private final UUID ticketId;
+    private final String vehicleNumber;
+    private final VehicleSize vehicleSize;
+    private final String spotId;
+    private final int floor;
+    private final long startTime;
+    private final double fee;
+
+    public ParkingEvent(Type type, long timestamp, UUID ticketId, String vehicleNumber, VehicleSize vehicleSize,
+                        String spotId, int floor, long startTime, double fee) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.ticketId = ticketId;
+        this.vehicleNumber = vehicleNumber;
+        this.vehicleSize = vehicleSize;
+        this.spotId = spotId;
+        this.floor = floor;
+        this.startTime = startTime;
+        this.fee = fee;
+    }
+
+    public static ParkingEvent parked(Ticket ticket) {
+        return new ParkingEvent(Type.PARKED, ticket.getStartTime(), ticket.getId(),
+                ticket.getVehicle().getVehicleNumber(), ticket.getVehicle().getSize(),
+                ticket.getSpot().getId(), floorOf(ticket.getSpot()), ticket.getStartTime(), 0);
+    }
+
+    // Stamped with the clock when published; the ticket's end time is only what the fee is charged to.
+    public static ParkingEvent unparked(Ticket ticket, double fee) {
+        return new ParkingEvent(Type.UNPARKED, System.currentTimeMillis(), ticket.getId(),
+                ticket.getVehicle().getVehicleNumber(), ticket.getVehicle().getSize(),
+                ticket.getSpot().getId(), floorOf(ticket.getSpot()), ticket.getStartTime(), fee);
+    }
+
+    private static int floorOf(ParkingSpot spot) {
+        return spot.getFloor() == null ? -1 : spot.getFloor().getFloor();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // Event time in epoch millis: ticket start for PARKED, when the vehicle left for UNPARKED.
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public UUID getTicketId() {
+        return ticketId;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public VehicleSize getVehicleSize() {
+        return vehicleSize;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public double getFee() {
+        return fee;
+    }
+}
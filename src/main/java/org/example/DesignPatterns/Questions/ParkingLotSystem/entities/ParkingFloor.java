@@ -1,37 +1,269 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
 
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class ParkingFloor {
     private int floor;
-    private List<ParkingSpot> spots;
+    private final SpotStore store;
+
+    // Bit i of a size's BitSet is set while store spot i has that size and is free; spotsBySize
+    // marks every spot of the size whatever its state, and unreservedFreeSpotsBySize the free ones
+    // that have no reservations at all.
+    private Map<VehicleSize, BitSet> freeSpotsBySize;
+    private Map<VehicleSize, BitSet> spotsBySize;
+    private Map<VehicleSize, BitSet> unreservedFreeSpotsBySize;
+    private int[] freeCountBySize;
+
+    // Calendars only exist for spots that have ever been reserved; reservedSpots marks them.
+    private SpotCalendar[] calendars;
+    private BitSet reservedSpots;
+
+    // Tickets of parked vehicles, reached through the store's per-spot ticket slot.
+    private Ticket[] tickets;
+    private int[] freeTicketSlots;
+    private int freeTicketSlotCount;
+    private int usedTicketSlots;
+
+    // Set once the floor is added to a lot, so free counts and custom spot ids can be pushed to the
+    // lot-wide indexes.
+    private FloorAvailabilityTree availabilityTree;
+    private SpotIdTable lotSpotIds;
+    private int position;
 
     public ParkingFloor(int floor) {
         this.floor = floor;
-        this.spots = new ArrayList<>();
+        this.store = new SpotStore(this);
+        this.freeSpotsBySize = new EnumMap<>(VehicleSize.class);
+        this.spotsBySize = new EnumMap<>(VehicleSize.class);
+        this.unreservedFreeSpotsBySize = new EnumMap<>(VehicleSize.class);
+        this.freeCountBySize = new int[VehicleSize.values().length];
+        for (VehicleSize size : VehicleSize.values()) {
+            freeSpotsBySize.put(size, new BitSet());
+            spotsBySize.put(size, new BitSet());
+            unreservedFreeSpotsBySize.put(size, new BitSet());
+        }
+        this.calendars = new SpotCalendar[0];
+        this.reservedSpots = new BitSet();
+        this.tickets = new Ticket[16];
+        this.freeTicketSlots = new int[16];
     }
 
     public int getFloor() {
         return floor;
     }
 
+    // Views are created on demand; the floor itself holds no ParkingSpot objects.
     public List<ParkingSpot> getSpots() {
-        return spots;
+        return new AbstractList<ParkingSpot>() {
+            @Override
+            public ParkingSpot get(int index) {
+                return new ParkingSpot(store, index);
+            }
+
+            @Override
+            public int size() {
+                return store.size();
+            }
+        };
+    }
+
+    public Optional<ParkingSpot> getSpotById(String spotId) {
+        int index = store.indexOf(spotId);
+        return index < 0 ? Optional.empty() : Optional.of(new ParkingSpot(store, index));
+    }
+
+    public synchronized int getFreeSpotCount(VehicleSize size) {
+        return freeCountBySize[size.ordinal()];
+    }
+
+    boolean hasSpot(String spotId) {
+        return store.indexOf(spotId) >= 0;
+    }
+
+    synchronized void attachToLot(FloorAvailabilityTree availabilityTree, SpotIdTable lotSpotIds, int position) {
+        this.availabilityTree = availabilityTree;
+        this.lotSpotIds = lotSpotIds;
+        this.position = position;
+        for (VehicleSize size : VehicleSize.values()) {
+            availabilityTree.update(position, size, freeCountBySize[size.ordinal()]);
+        }
+        store.forEachCustomId(id -> lotSpotIds.putIfAbsent(id, position));
+    }
+
+    // The spot may be claimed by another gate before the caller parks; callers retry on a failed claim.
+    // Spots reserved for the current time are skipped. Unreserved spots are found with one bit scan;
+    // only when none is free are the reserved spots checked against their calendars, and those whose
+    // reservations have all ended are released back to the unreserved set as the scan passes them.
+    public synchronized Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle){
+        int unreserved = unreservedFreeSpotsBySize.get(vehicle.getSize()).nextSetBit(0);
+        if (unreserved >= 0) {
+            return Optional.of(new ParkingSpot(store, unreserved));
+        }
+        BitSet freeSpots = freeSpotsBySize.get(vehicle.getSize());
+        long now = System.currentTimeMillis();
+        for (int index = reservedSpots.nextSetBit(0); index >= 0; index = reservedSpots.nextSetBit(index + 1)) {
+            boolean released = purgeExpired(index, now);
+            if (freeSpots.get(index) && (released || calendars[index].isFree(now, now + 1))) {
+                return Optional.of(new ParkingSpot(store, index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // First spot of this size free of reservations over [from, to). A window that has already
+    // started also needs the spot to be unoccupied now. O(log reservations) per candidate spot.
+    synchronized Optional<Reservation> reserve(String vehicleNumber, VehicleSize size, long from, long to) {
+        long now = System.currentTimeMillis();
+        BitSet candidates = spotsBySize.get(size);
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            if (from <= now && store.isOccupied(index)) {
+                continue;
+            }
+            if (reservedSpots.get(index) && !purgeExpired(index, now) && !calendars[index].isFree(from, to)) {
+                continue;
+            }
+            Reservation reservation = new Reservation(vehicleNumber, new ParkingSpot(store, index), from, to);
+            calendarFor(index).add(reservation);
+            return Optional.of(reservation);
+        }
+        return Optional.empty();
+    }
+
+    synchronized boolean cancel(Reservation reservation) {
+        int index = reservation.getSpot().getIndex();
+        if (!reservedSpots.get(index) || !calendars[index].remove(reservation)) {
+            return false;
+        }
+        releaseIfEmpty(index);
+        return true;
     }
 
-    public Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle){
-        return this.spots.stream().filter((it) -> it.getSize() == vehicle.getSize() && it.isAvailable()).toList().stream().findAny();
+    // Drops the reserved spot's reservations that ended by 'now'. True if none are left and the
+    // spot was released.
+    private boolean purgeExpired(int index, long now) {
+        calendars[index].purgeBefore(now);
+        return releaseIfEmpty(index);
     }
 
-    public void addSpot(ParkingSpot spot){
-        this.spots.add(spot);
+    // A spot whose calendar has emptied goes back to the unreserved set, and to its fast path.
+    private boolean releaseIfEmpty(int index) {
+        if (!calendars[index].isEmpty()) {
+            return false;
+        }
+        calendars[index] = null;
+        reservedSpots.clear(index);
+        VehicleSize size = store.getSize(index);
+        unreservedFreeSpotsBySize.get(size).set(index, freeSpotsBySize.get(size).get(index));
+        return true;
     }
+
+    public synchronized boolean isReservedAt(ParkingSpot spot, long time) {
+        int index = spot.getIndex();
+        return reservedSpots.get(index) && calendars[index].reservationAt(time) != null;
+    }
+
+    private SpotCalendar calendarFor(int index) {
+        if (index >= calendars.length) {
+            calendars = Arrays.copyOf(calendars, Math.max(index + 1, calendars.length * 2));
+        }
+        if (calendars[index] == null) {
+            calendars[index] = new SpotCalendar();
+            reservedSpots.set(index);
+            unreservedFreeSpotsBySize.get(store.getSize(index)).clear(index);
+        }
+        return calendars[index];
+    }
+
+    // Copies the spot into this floor's store and re-points the given view at it. Rejects an id
+    // already used on this floor or shaped like a computed id.
+    public synchronized void addSpot(ParkingSpot spot){
+        boolean free = spot.isAvailable();
+        int index = store.add(spot.getSize(), spot.getId());
+        spotsBySize.get(spot.getSize()).set(index);
+        if (lotSpotIds != null && store.hasCustomId(index)) {
+            lotSpotIds.putIfAbsent(store.getId(index), position);
+        }
+        if (!free) {
+            store.tryOccupy(index);
+        }
+        spot.attachTo(store, index);
+        setFree(index, spot.getSize(), free);
+    }
+
+    // Adds spots with computed ids ("F{floor}-{index}"), which keeps no per-spot objects at all.
+    public synchronized void addSpots(VehicleSize size, int count) {
+        for (int i = 0; i < count; i++) {
+            int index = store.add(size, null);
+            spotsBySize.get(size).set(index);
+            setFree(index, size, true);
+        }
+    }
+
+    // Called by ParkingSpot after its occupancy changes. Reads the live state under the floor lock,
+    // so racing park/unpark notifications always leave the index matching the spot.
+    synchronized void onSpotStateChanged(int index) {
+        boolean free = !store.isOccupied(index);
+        if (free) {
+            releaseTicketSlot(index);
+        }
+        setFree(index, store.getSize(index), free);
+    }
+
+    synchronized void assignTicket(int index, Ticket ticket) {
+        int slot = store.getTicketSlot(index);
+        if (slot < 0) {
+            if (freeTicketSlotCount > 0) {
+                slot = freeTicketSlots[--freeTicketSlotCount];
+            } else {
+                if (usedTicketSlots == tickets.length) {
+                    tickets = Arrays.copyOf(tickets, tickets.length * 2);
+                    freeTicketSlots = Arrays.copyOf(freeTicketSlots, tickets.length);
+                }
+                slot = usedTicketSlots++;
+            }
+            store.setTicketSlot(index, slot);
+        }
+        tickets[slot] = ticket;
+    }
+
+    synchronized Optional<Ticket> getTicket(int index) {
+        int slot = store.getTicketSlot(index);
+        return slot < 0 ? Optional.empty() : Optional.ofNullable(tickets[slot]);
+    }
+
+    private void releaseTicketSlot(int index) {
+        int slot = store.getTicketSlot(index);
+        if (slot >= 0) {
+            tickets[slot] = null;
+            freeTicketSlots[freeTicketSlotCount++] = slot;
+            store.setTicketSlot(index, -1);
+        }
+    }
+
+    private void setFree(int index, VehicleSize size, boolean free) {
+        BitSet freeSpots = freeSpotsBySize.get(size);
+        if (freeSpots.get(index) == free) {
+            return;
+        }
+        freeSpots.set(index, free);
+        unreservedFreeSpotsBySize.get(size).set(index, free && !reservedSpots.get(index));
+        int freeCount = freeCountBySize[size.ordinal()] += free ? 1 : -1;
+        if (availabilityTree != null) {
+            availabilityTree.update(position, size, freeCount);
+        }
+    }
+
     public void displayAvailability(){
-        this.spots.stream().filter(ParkingSpot::isAvailable).forEach((c) -> {
+        this.getSpots().stream().filter(ParkingSpot::isAvailable).forEach((c) -> {
             System.out.println("Spot with id" + c.getId() + " Empty.");
         });
     }
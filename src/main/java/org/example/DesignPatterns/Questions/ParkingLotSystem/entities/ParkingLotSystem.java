@@ -1,32 +1,68 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
 
+import org.example.DesignPatterns.Questions.ParkingLotSystem.observer.ParkingEventObserver;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.FeeStrategy;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.ParkingStrategy;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
 
+/**
+ * Safe to call from many entry/exit gates at once: a spot is claimed with a CAS on its state
+ * (a stale pick from the strategy just retries), tickets live in a ConcurrentHashMap keyed by
+ * vehicle number and earnings accumulate in a DoubleAdder. Fees and observers run outside the
+ * map, under the ticket's own monitor; if one throws, a park is rolled back and an unpark leaves
+ * the vehicle parked.
+ */
 public class ParkingLotSystem {
-    private static ParkingLotSystem instance;
-    private ParkingStrategy parkingStrategy;
+    private static volatile ParkingLotSystem instance;
+    private volatile ParkingStrategy parkingStrategy;
     private List<ParkingFloor> parkingFloors;
+    private FloorAvailabilityTree availabilityTree;
+    private Map<Integer, ParkingFloor> floorsByNumber;
+    // Custom spot id to floor position; the first floor to register an id keeps it.
+    private SpotIdTable customSpotIds;
 
-    private HashMap<String, Ticket> activeTickets;
+    private Map<String, Ticket> activeTickets;
+    private Map<String, List<Reservation>> reservationsByVehicle;
+    private List<ParkingEventObserver> observers;
 
-    private FeeStrategy feeStrategy;
-    private double earning;
+    private volatile FeeStrategy feeStrategy;
+    private DoubleAdder earning;
+    private volatile boolean verbose;
 
-    private ParkingLotSystem(){
-        this.parkingFloors = new ArrayList<>();
-        this.activeTickets = new HashMap<>();
-        this.earning = 0;
+    // getInstance() is the process-wide default lot; a ParkingLotRegistry creates one per site.
+    public ParkingLotSystem(){
+        this.parkingFloors = new CopyOnWriteArrayList<>();
+        this.availabilityTree = new FloorAvailabilityTree();
+        this.floorsByNumber = new ConcurrentHashMap<>();
+        this.customSpotIds = new SpotIdTable((spotId, position) -> parkingFloors.get(position).hasSpot(spotId));
+        this.activeTickets = new ConcurrentHashMap<>();
+        this.reservationsByVehicle = new ConcurrentHashMap<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.earning = new DoubleAdder();
+        this.verbose = true;
     }
 
     public double getEarning() {
-        return earning;
+        return earning.sum();
+    }
+
+    // Per-vehicle console output serialises gates on System.out; turn it off under load.
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    public int getActiveTicketCount() {
+        return activeTickets.size();
     }
 
     public void setFeeStrategy(FeeStrategy feeStrategy) {
@@ -48,41 +84,218 @@ public class ParkingLotSystem {
 
         return instance;
     }
-    public void addFloor(ParkingFloor floor){
+    public synchronized void addFloor(ParkingFloor floor){
         this.parkingFloors.add(floor);
+        floorsByNumber.putIfAbsent(floor.getFloor(), floor);
+        floor.attachToLot(availabilityTree, customSpotIds, availabilityTree.addFloor());
+    }
+
+    public void addObserver(ParkingEventObserver observer) {
+        observers.add(observer);
+    }
+
+    private void notifyObservers(ParkingEvent event) {
+        for (ParkingEventObserver observer : observers) {
+            observer.update(event);
+        }
+    }
+
+    public List<ParkingFloor> getParkingFloors() {
+        return Collections.unmodifiableList(parkingFloors);
+    }
+
+    public FloorAvailabilityTree getAvailabilityTree() {
+        return availabilityTree;
+    }
+
+    public Optional<ParkingFloor> findFirstFloorWithFreeSpots(VehicleSize size, int minFree) {
+        int position = availabilityTree.findFirstFloorWithAtLeast(size, minFree);
+        return position < 0 ? Optional.empty() : Optional.of(parkingFloors.get(position));
     }
 
     public Optional<Ticket> parkVehicle(Vehicle vehicle){
-        Optional<ParkingSpot> availableSpot = parkingStrategy.findSpot(parkingFloors,vehicle);
+        if (activeTickets.containsKey(vehicle.getVehicleNumber())) {
+            if (verbose) {
+                System.out.println(vehicle.getVehicleNumber() + " is already parked");
+            }
+            return Optional.empty();
+        }
 
-        if(availableSpot.isPresent()){
-            ParkingSpot spot = availableSpot.get();
-            spot.parkVehicle(vehicle);
-            Ticket ticket = new Ticket(vehicle, spot);
-            activeTickets.put(vehicle.getVehicleNumber(), ticket);
+        ParkingSpot reservedSpot = claimReservedSpot(vehicle);
+        ParkingSpot spot = reservedSpot != null ? reservedSpot : claimSpot(vehicle);
+        if (spot == null) {
+            if (verbose) {
+                System.out.println("No available spot for " + vehicle.getVehicleNumber());
+            }
+            return Optional.empty();
+        }
+
+        Ticket ticket = new Ticket(vehicle, spot);
+        spot.assignTicket(ticket);
+        // The ticket's monitor is held until PARKED is out, so an unpark of the same vehicle waits for it.
+        synchronized (ticket) {
+            if (activeTickets.putIfAbsent(vehicle.getVehicleNumber(), ticket) != null) {
+                // The same vehicle was parked concurrently through another gate.
+                spot.unParkVehicle();
+                return Optional.empty();
+            }
+            boolean published = false;
+            try {
+                notifyObservers(ParkingEvent.parked(ticket));
+                published = true;
+            } finally {
+                if (!published) {
+                    activeTickets.remove(vehicle.getVehicleNumber(), ticket);
+                    spot.unParkVehicle();
+                }
+            }
+        }
+        if (verbose) {
             System.out.printf("%s parked at %s. Ticket: %s\n", vehicle.getVehicleNumber(), spot.getId(), ticket.getId());
-            return Optional.of(ticket);
         }
+        return Optional.of(ticket);
+    }
+
+    // A vehicle arriving inside one of its reservations gets that spot, unless it is still occupied.
+    private ParkingSpot claimReservedSpot(Vehicle vehicle) {
+        Optional<Reservation> reservation = findCurrentReservation(vehicle.getVehicleNumber(), System.currentTimeMillis());
+        if (reservation.isPresent() && reservation.get().getSpot().parkVehicle(vehicle)) {
+            return reservation.get().getSpot();
+        }
+        return null;
+    }
 
-        System.out.println("No available spot for " + vehicle.getVehicleNumber());
-        return Optional.empty();
+    // The strategy's pick may be taken by another gate before the CAS; ask again until it wins or runs out.
+    private ParkingSpot claimSpot(Vehicle vehicle) {
+        while (true) {
+            Optional<ParkingSpot> availableSpot = parkingStrategy.findSpot(parkingFloors, availabilityTree, vehicle);
+            if (availableSpot.isEmpty()) {
+                return null;
+            }
+            if (availableSpot.get().parkVehicle(vehicle)) {
+                return availableSpot.get();
+            }
+        }
     }
 
     public Optional<Double> unparkVehicle(String licenceNumber){
-        Ticket ticket = activeTickets.remove(licenceNumber);
-
+        Ticket ticket = activeTickets.get(licenceNumber);
         if(ticket == null){
-            System.out.println("Ticket not found");
-            return Optional.empty();
+            return ticketNotFound();
+        }
+        double parkingFee;
+        synchronized (ticket) {
+            // Gone if another gate unparked it first, or its park was rolled back.
+            if(activeTickets.get(licenceNumber) != ticket){
+                return ticketNotFound();
+            }
+            // Published while the ticket is still mapped, so a new park of this vehicle cannot get
+            // its PARKED out first. If the fee or an observer throws, the vehicle simply stays parked.
+            ticket.setEndTime();
+            parkingFee = feeStrategy.calculateFee(ticket);
+            notifyObservers(ParkingEvent.unparked(ticket, parkingFee));
+            activeTickets.remove(licenceNumber, ticket);
         }
 
-        ticket.setEndTime();
+        // Leaving early hands the rest of the reserved window back.
+        findCurrentReservation(licenceNumber, System.currentTimeMillis())
+                .filter(reservation -> reservation.getSpot().equals(ticket.getSpot()))
+                .ifPresent(this::cancelReservation);
         ticket.getSpot().unParkVehicle();
 
-        Double parkingFee = feeStrategy.calculateFee(ticket);
-
-        earning+=parkingFee;
+        earning.add(parkingFee);
 
         return Optional.of(parkingFee);
     }
+
+    private Optional<Double> ticketNotFound() {
+        if (verbose) {
+            System.out.println("Ticket not found");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reserves a spot of the given size for [startTime, endTime), trying floors in order.
+     * Strategies skip the spot while the window is current; the vehicle itself is sent to it.
+     */
+    public Optional<Reservation> reserveSpot(String vehicleNumber, VehicleSize size, long startTime, long endTime) {
+        if (startTime >= endTime) {
+            throw new IllegalArgumentException("Reservation must end after it starts");
+        }
+        for (ParkingFloor floor : parkingFloors) {
+            Optional<Reservation> reservation = floor.reserve(vehicleNumber, size, startTime, endTime);
+            if (reservation.isPresent()) {
+                reservationsByVehicle.computeIfAbsent(vehicleNumber, number -> new CopyOnWriteArrayList<>())
+                        .add(reservation.get());
+                return reservation;
+            }
+        }
+        if (verbose) {
+            System.out.println("No " + size + " spot free to reserve for " + vehicleNumber);
+        }
+        return Optional.empty();
+    }
+
+    public boolean cancelReservation(Reservation reservation) {
+        reservationsByVehicle.computeIfPresent(reservation.getVehicleNumber(), (number, reservations) -> {
+            reservations.remove(reservation);
+            return reservations.isEmpty() ? null : reservations;
+        });
+        return reservation.getSpot().getFloor().cancel(reservation);
+    }
+
+    public List<Reservation> getReservations(String vehicleNumber) {
+        return reservationsByVehicle.getOrDefault(vehicleNumber, List.of());
+    }
+
+    private Optional<Reservation> findCurrentReservation(String vehicleNumber, long time) {
+        List<Reservation> reservations = reservationsByVehicle.get(vehicleNumber);
+        if (reservations == null) {
+            return Optional.empty();
+        }
+        Optional<Reservation> current = Optional.empty();
+        for (Reservation reservation : reservations) {
+            if (reservation.getEndTime() <= time) {
+                reservations.remove(reservation);
+            } else if (reservation.covers(time)) {
+                current = Optional.of(reservation);
+            }
+        }
+        return current;
+    }
+
+    // A computed id names its floor; a custom one is found through the lot-wide id table.
+    public Optional<ParkingSpot> getSpotById(String spotId) {
+        Integer floorNumber = SpotStore.floorOfComputedId(spotId);
+        ParkingFloor floor;
+        if (floorNumber != null) {
+            floor = floorsByNumber.get(floorNumber);
+        } else {
+            int position = customSpotIds.get(spotId);
+            floor = position < 0 ? null : parkingFloors.get(position);
+        }
+        return floor == null ? Optional.empty() : floor.getSpotById(spotId);
+    }
+
+    /**
+     * Re-occupies a spot for a ticket issued before a restart. Does not notify observers.
+     */
+    public boolean restoreTicket(UUID ticketId, Vehicle vehicle, String spotId, long startTime) {
+        ParkingSpot spot = getSpotById(spotId).orElse(null);
+        if (spot == null || !spot.parkVehicle(vehicle)) {
+            return false;
+        }
+        Ticket ticket = new Ticket(ticketId, vehicle, spot, startTime);
+        if (activeTickets.putIfAbsent(vehicle.getVehicleNumber(), ticket) != null) {
+            spot.unParkVehicle();
+            return false;
+        }
+        spot.assignTicket(ticket);
+        return true;
+    }
+
+    public void restoreEarning(double restoredEarning) {
+        earning.add(restoredEarning);
+    }
 }
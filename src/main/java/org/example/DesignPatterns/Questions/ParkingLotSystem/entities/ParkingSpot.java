@@ -3,42 +3,103 @@ package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
 
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Lightweight view of one spot in a floor's SpotStore. Views are created on demand and compare
+ * equal when they point at the same spot. A spot constructed directly lives in the shared
+ * standalone store until it is added to a floor.
+ */
 public class ParkingSpot {
-    private String id;
-    private VehicleSize size;
-    private boolean isOccupied;
-    private Vehicle parkedVehicle;
+    private SpotStore store;
+    private int index;
 
     public ParkingSpot(String id, VehicleSize size) {
-        this.id = id;
-        this.size = size;
-        this.isOccupied = false;
-        this.parkedVehicle = null;
+        this.store = SpotStore.standalone();
+        this.index = store.add(size, id);
+    }
+
+    ParkingSpot(SpotStore store, int index) {
+        this.store = store;
+        this.index = index;
     }
 
     public String getId() {
-        return id;
+        return store.getId(index);
+    }
+
+    // Moves the view onto the floor's store when the spot is added to a floor.
+    void attachTo(SpotStore store, int index) {
+        if (this.store.getFloor() == null) {
+            this.store.recycle(this.index);
+        }
+        this.store = store;
+        this.index = index;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    public ParkingFloor getFloor() {
+        return store.getFloor();
     }
 
     public boolean canFitVehicle(Vehicle vehicle){
-        return vehicle.getSize() == size;
+        return vehicle.getSize() == getSize();
     }
 
-    public void parkVehicle(Vehicle vehicle){
-        this.parkedVehicle = vehicle;
-        this.isOccupied = true;
+    // Returns false if another vehicle claimed the spot first.
+    public boolean parkVehicle(Vehicle vehicle){
+        if (!store.tryOccupy(index)) {
+            return false;
+        }
+        if (store.getFloor() != null) {
+            store.getFloor().onSpotStateChanged(index);
+        }
+        return true;
     }
 
     public void unParkVehicle(){
-        this.parkedVehicle = null;
-        this.isOccupied = false;
-
+        if (store.release(index) && store.getFloor() != null) {
+            store.getFloor().onSpotStateChanged(index);
+        }
     }
+
     public boolean isAvailable(){
-        return !isOccupied;
+        return !store.isOccupied(index);
+    }
+
+    void assignTicket(Ticket ticket) {
+        if (store.getFloor() != null) {
+            store.getFloor().assignTicket(index, ticket);
+        }
+    }
+
+    // The ticket of the vehicle currently parked here, if the spot belongs to a floor.
+    public Optional<Ticket> getTicket() {
+        return store.getFloor() == null ? Optional.empty() : store.getFloor().getTicket(index);
     }
 
     public VehicleSize getSize() {
-        return size;
+        return store.getSize(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParkingSpot)) {
+            return false;
+        }
+        ParkingSpot other = (ParkingSpot) o;
+        return store == other.store && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(store), index);
     }
 }
@@ -0,0 +1,46 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+import java.util.UUID;
+
+/**
+ * A spot held for one vehicle over [startTime, endTime), epoch millis.
+ */
+public class Reservation {
+    private final UUID id;
+    private final String vehicleNumber;
+    private final ParkingSpot spot;
+    private final long startTime;
+    private final long endTime;
+
+    Reservation(String vehicleNumber, ParkingSpot spot, long startTime, long endTime) {
+        this.id = UUID.randomUUID();
+        this.vehicleNumber = vehicleNumber;
+        this.spot = spot;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public boolean covers(long time) {
+        return startTime <= time && time < endTime;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+import java.util.Arrays;
+
+/**
+ * One spot's reservations as parallel arrays sorted by start time. Reservations never overlap, so
+ * end times are sorted too and a [from, to) check is one binary search: only the last
+ * reservation starting before 'to' can overlap. Guarded by the owning floor's lock.
+ */
+class SpotCalendar {
+    private long[] starts = new long[4];
+    private long[] ends = new long[4];
+    private Reservation[] reservations = new Reservation[4];
+    private int size;
+
+    // Index of the last reservation starting before 'time', or -1.
+    private int lastStartingBefore(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    boolean isFree(long from, long to) {
+        int i = lastStartingBefore(to);
+        return i < 0 || ends[i] <= from;
+    }
+
+    Reservation reservationAt(long time) {
+        int i = lastStartingBefore(time + 1);
+        return i >= 0 && ends[i] > time ? reservations[i] : null;
+    }
+
+    // Caller has checked isFree for the reservation's window.
+    void add(Reservation reservation) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            reservations = Arrays.copyOf(reservations, size * 2);
+        }
+        int at = lastStartingBefore(reservation.getStartTime()) + 1;
+        System.arraycopy(starts, at, starts, at + 1, size - at);
+        System.arraycopy(ends, at, ends, at + 1, size - at);
+        System.arraycopy(reservations, at, reservations, at + 1, size - at);
+        starts[at] = reservation.getStartTime();
+        ends[at] = reservation.getEndTime();
+        reservations[at] = reservation;
+        size++;
+    }
+
+    boolean remove(Reservation reservation) {
+        int at = lastStartingBefore(reservation.getStartTime() + 1);
+        if (at < 0 || reservations[at] != reservation) {
+            return false;
+        }
+        removeAt(at);
+        return true;
+    }
+
+    // Drops reservations that ended at or before 'time'; they are a prefix of the arrays.
+    void purgeBefore(long time) {
+        int expired = 0;
+        while (expired < size && ends[expired] <= time) {
+            expired++;
+        }
+        if (expired == 0) {
+            return;
+        }
+        System.arraycopy(starts, expired, starts, 0, size - expired);
+        System.arraycopy(ends, expired, ends, 0, size - expired);
+        System.arraycopy(reservations, expired, reservations, 0, size - expired);
+        Arrays.fill(reservations, size - expired, size, null);
+        size -= expired;
+    }
+
+    private void removeAt(int at) {
+        System.arraycopy(starts, at + 1, starts, at, size - at - 1);
+        System.arraycopy(ends, at + 1, ends, at, size - at - 1);
+        System.arraycopy(reservations, at + 1, reservations, at, size - at - 1);
+        reservations[--size] = null;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
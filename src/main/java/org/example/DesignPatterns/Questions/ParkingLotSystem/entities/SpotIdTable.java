@@ -0,0 +1,65 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+/**
+ * Open-addressing map from custom spot ids to ints that keeps no strings or boxed values of its
+ * own. A slot packs the id's hash with value + 1 (0 marks an empty slot); on a hash match the
+ * owner is asked whether the value really stands for the id. About 16 bytes per entry.
+ */
+class SpotIdTable {
+    interface Matcher {
+        boolean matches(String id, int value);
+    }
+
+    private final Matcher matcher;
+    private long[] slots = new long[16];
+    private int size;
+
+    SpotIdTable(Matcher matcher) {
+        this.matcher = matcher;
+    }
+
+    // -1 if the id is not in the table.
+    synchronized int get(String id) {
+        int hash = id.hashCode();
+        int mask = slots.length - 1;
+        for (int i = spread(hash) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            int value = (int) slots[i] - 1;
+            if ((int) (slots[i] >>> 32) == hash && matcher.matches(id, value)) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    // Returns false, leaving the table unchanged, if the id is already in it.
+    synchronized boolean putIfAbsent(String id, int value) {
+        if (get(id) >= 0) {
+            return false;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            for (long slot : old) {
+                if (slot != 0) {
+                    insert(slot);
+                }
+            }
+        }
+        insert(((long) id.hashCode() << 32) | (value + 1L));
+        size++;
+        return true;
+    }
+
+    private void insert(long slot) {
+        int mask = slots.length - 1;
+        int i = spread((int) (slot >>> 32)) & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = slot;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
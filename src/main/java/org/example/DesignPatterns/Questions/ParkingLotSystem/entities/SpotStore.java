@@ -0,0 +1,240 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.entities;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Struct-of-arrays storage for a floor's spots: a byte per spot for its size, one bit per spot
+ * for occupancy and an int per spot pointing at the floor's ticket slot. ParkingSpot is only a
+ * (store, index) view over it.
+ *
+ * Columns are allocated in 4096-spot pages that never move once created, so adding spots never
+ * races with a CAS on an existing page. Ids default to "F{floor}-{index}" and are computed on
+ * demand; only spots registered with a different id keep a string, in a side array that is not
+ * allocated until the first one. A custom id may not look like a computed one, so computed ids
+ * always name their own floor and spot.
+ *
+ * Spots created on their own share one store with no floor; their slots are recycled once the
+ * spot is added to a floor.
+ */
+public class SpotStore {
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+    private static final VarHandle OCCUPANCY = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VehicleSize[] SIZES = VehicleSize.values();
+    private static final SpotStore STANDALONE = new SpotStore(null);
+
+    private final ParkingFloor floor;
+    private volatile byte[][] sizePages = new byte[0][];
+    private volatile long[][] occupancyPages = new long[0][];
+    private volatile int[][] ticketSlotPages = new int[0][];
+    private volatile int count;
+
+    // Both null until the first custom id; the table maps a custom id back to its index.
+    private volatile String[] customIds;
+    private volatile SpotIdTable customIdTable;
+
+    // Standalone slots handed back by spots that moved to a floor.
+    private int[] freeIndices = new int[0];
+    private int freeIndexCount;
+
+    // floor is null only for the shared store of spots not yet added to a floor.
+    SpotStore(ParkingFloor floor) {
+        this.floor = floor;
+    }
+
+    static SpotStore standalone() {
+        return STANDALONE;
+    }
+
+    ParkingFloor getFloor() {
+        return floor;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Returns the new spot's index. id may be null to use the computed one.
+    synchronized int add(VehicleSize size, String id) {
+        boolean custom = id != null && (floor == null || !id.equals(computedId(count)));
+        if (custom && floor != null) {
+            if (floorOfComputedId(id) != null) {
+                throw new IllegalArgumentException("Spot id " + id + " clashes with the computed spot ids");
+            }
+            if (indexOf(id) >= 0) {
+                throw new IllegalArgumentException("Spot id already in use on floor " + floor.getFloor() + ": " + id);
+            }
+        }
+        int index = freeIndexCount > 0 ? freeIndices[--freeIndexCount] : count;
+        if (index == count && (index >>> PAGE_BITS) == sizePages.length) {
+            int pageSize = 1 << PAGE_BITS;
+            sizePages = appendPage(sizePages, new byte[pageSize]);
+            occupancyPages = appendPage(occupancyPages, new long[pageSize / Long.SIZE]);
+            int[] ticketSlots = new int[pageSize];
+            Arrays.fill(ticketSlots, -1);
+            ticketSlotPages = appendPage(ticketSlotPages, ticketSlots);
+        }
+        sizePages[index >>> PAGE_BITS][index & PAGE_MASK] = (byte) size.ordinal();
+        if (custom) {
+            setCustomId(index, id);
+        }
+        if (index == count) {
+            count = index + 1;
+        }
+        return index;
+    }
+
+    private void setCustomId(int index, String id) {
+        String[] ids = customIds;
+        if (ids == null) {
+            ids = new String[Math.max(16, index + 1)];
+        } else if (index >= ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(index + 1, ids.length * 2));
+        }
+        ids[index] = id;
+        customIds = ids;
+        if (floor != null) {
+            if (customIdTable == null) {
+                customIdTable = new SpotIdTable((candidate, candidateIndex) -> candidate.equals(customIds[candidateIndex]));
+            }
+            customIdTable.putIfAbsent(id, index);
+        }
+    }
+
+    // Hands a standalone spot's slot back once the spot has been copied onto a floor.
+    synchronized void recycle(int index) {
+        release(index);
+        if (customIds != null && index < customIds.length) {
+            customIds[index] = null;
+        }
+        if (freeIndexCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, Math.max(16, freeIndexCount * 2));
+        }
+        freeIndices[freeIndexCount++] = index;
+    }
+
+    private static <T> T[] appendPage(T[] pages, T page) {
+        T[] grown = Arrays.copyOf(pages, pages.length + 1);
+        grown[pages.length] = page;
+        return grown;
+    }
+
+    public String getId(int index) {
+        String custom = customId(index);
+        return custom != null ? custom : computedId(index);
+    }
+
+    boolean hasCustomId(int index) {
+        return customId(index) != null;
+    }
+
+    private String customId(int index) {
+        String[] ids = customIds;
+        return ids == null || index >= ids.length ? null : ids[index];
+    }
+
+    // Custom ids of this store's spots, in index order.
+    synchronized void forEachCustomId(Consumer<String> action) {
+        String[] ids = customIds;
+        if (ids != null) {
+            for (int index = 0; index < count && index < ids.length; index++) {
+                if (ids[index] != null) {
+                    action.accept(ids[index]);
+                }
+            }
+        }
+    }
+
+    private String computedId(int index) {
+        return "F" + (floor == null ? "?" : String.valueOf(floor.getFloor())) + "-" + index;
+    }
+
+    // The floor number in an id of the computed "F{floor}-{index}" form, or null for any other id.
+    static Integer floorOfComputedId(String id) {
+        int dash = id.lastIndexOf('-');
+        if (!id.startsWith("F") || dash <= 1 || dash == id.length() - 1) {
+            return null;
+        }
+        for (int i = dash + 1; i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                return null;
+            }
+        }
+        try {
+            Integer.parseInt(id.substring(dash + 1));
+            return Integer.parseInt(id.substring(1, dash));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // -1 if the id is not one of this store's spots.
+    public int indexOf(String id) {
+        if (floor == null) {
+            return -1;
+        }
+        SpotIdTable table = customIdTable;
+        int custom = table == null ? -1 : table.get(id);
+        if (custom >= 0) {
+            return custom;
+        }
+        String prefix = "F" + floor.getFloor() + "-";
+        if (!id.startsWith(prefix) || floorOfComputedId(id) == null) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseInt(id.substring(prefix.length()));
+            return index < count && !hasCustomId(index) ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public VehicleSize getSize(int index) {
+        return SIZES[sizePages[index >>> PAGE_BITS][index & PAGE_MASK]];
+    }
+
+    public boolean isOccupied(int index) {
+        long word = (long) OCCUPANCY.getVolatile(occupancyPages[index >>> PAGE_BITS], (index & PAGE_MASK) >>> 6);
+        return (word & (1L << index)) != 0;
+    }
+
+    // CAS the occupancy bit from 0 to 1; false if another gate got there first.
+    boolean tryOccupy(int index) {
+        long[] words = occupancyPages[index >>> PAGE_BITS];
+        int word = (index & PAGE_MASK) >>> 6;
+        long bit = 1L << index;
+        while (true) {
+            long current = (long) OCCUPANCY.getVolatile(words, word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (OCCUPANCY.compareAndSet(words, word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    // Clears the occupancy bit; false if it was already clear.
+    boolean release(int index) {
+        long[] words = occupancyPages[index >>> PAGE_BITS];
+        int word = (index & PAGE_MASK) >>> 6;
+        long bit = 1L << index;
+        long previous = (long) OCCUPANCY.getAndBitwiseAnd(words, word, ~bit);
+        return (previous & bit) != 0;
+    }
+
+    // Guarded by the owning floor's lock.
+    int getTicketSlot(int index) {
+        return ticketSlotPages[index >>> PAGE_BITS][index & PAGE_MASK];
+    }
+
+    void setTicketSlot(int index, int slot) {
+        ticketSlotPages[index >>> PAGE_BITS][index & PAGE_MASK] = slot;
+    }
+}
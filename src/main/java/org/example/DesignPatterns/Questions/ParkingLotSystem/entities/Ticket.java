@@ -20,6 +20,14 @@ public class Ticket {
         this.startTime = System.currentTimeMillis();
     }
 
+    // Rebuilds a ticket issued before a restart.
+    public Ticket(UUID id, Vehicle vehicle, ParkingSpot spot, long startTime) {
+        this.vehicle = vehicle;
+        this.spot = spot;
+        this.id = id;
+        this.startTime = startTime;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,12 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.observer;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingEvent;
+
+/**
+ * Notified of every park and unpark. Events for one vehicle are delivered in order because they
+ * are published under the ticket's monitor while the ticket is still the vehicle's active one, so
+ * implementations must be quick and must not call back into ParkingLotSystem.
+ */
+public interface ParkingEventObserver {
+    public void update(ParkingEvent event);
+}
@@ -0,0 +1,58 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.persistence;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lot state as of a position in the journal: active tickets by vehicle number, total earning and
+ * number of events applied. Not thread-safe; the journal guards it.
+ */
+public class JournalState {
+    private final Map<String, TicketRecord> activeTickets;
+    private double earning;
+    private long eventCount;
+
+    public JournalState() {
+        this(new HashMap<>(), 0, 0);
+    }
+
+    JournalState(Map<String, TicketRecord> activeTickets, double earning, long eventCount) {
+        this.activeTickets = activeTickets;
+        this.earning = earning;
+        this.eventCount = eventCount;
+    }
+
+    void apply(ParkingEvent.Type type, TicketRecord record, double fee) {
+        if (type == ParkingEvent.Type.PARKED) {
+            activeTickets.put(record.getVehicleNumber(), record);
+        } else {
+            // Only the ticket this event closes; the vehicle may already be on a newer one.
+            TicketRecord active = activeTickets.get(record.getVehicleNumber());
+            if (active != null && active.getTicketId().equals(record.getTicketId())) {
+                activeTickets.remove(record.getVehicleNumber());
+            }
+            earning += fee;
+        }
+        eventCount++;
+    }
+
+    JournalState copy() {
+        return new JournalState(new HashMap<>(activeTickets), earning, eventCount);
+    }
+
+    public Collection<TicketRecord> getActiveTickets() {
+        return Collections.unmodifiableCollection(activeTickets.values());
+    }
+
+    public double getEarning() {
+        return earning;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+}
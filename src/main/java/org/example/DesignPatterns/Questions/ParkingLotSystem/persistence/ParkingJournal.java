@@ -0,0 +1,356 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.persistence;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingEvent;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.observer.ParkingEventObserver;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleFactory;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of park/unpark events, used as the lot's source of truth across restarts.
+ *
+ * The journal file is memory-mapped in fixed 64MB chunks and each record is
+ * {@code [int bodyLength][int crc32][body]}. A record never straddles two chunks; a zero length
+ * marks the end of the data in a chunk. Appends only copy into the mapping, so a park never waits
+ * on the disk: a committer thread forces the mapping every {@code commitIntervalMillis} (group
+ * commit), and callers that need a hard guarantee can {@link #awaitDurable(long)} the sequence
+ * number {@link #append} returned.
+ *
+ * Alongside the file the journal keeps the state the events add up to, updated under the same
+ * lock as the append, so a snapshot taken every {@code snapshotEveryEvents} events is exact for
+ * its journal offset. Recovery loads the latest snapshot, replays the journal from its offset and
+ * stops at the first torn or corrupt record, wiping whatever follows it.
+ */
+public class ParkingJournal implements ParkingEventObserver {
+    static final int CHUNK_SIZE = 64 << 20;
+    private static final int HEADER_SIZE = 8;
+    private static final String JOURNAL_FILE = "parking.journal";
+    private static final String SNAPSHOT_FILE = "parking.snapshot";
+
+    private final Path snapshotPath;
+    private final FileChannel channel;
+    private final JournalState state;
+    private final JournalState recoveredState;
+    private final long recoveryMillis;
+    private final long replayedEvents;
+    private final long snapshotEveryEvents;
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer chunk;
+    private long chunkStart;
+    private long writtenSequence;
+    private long eventsSinceSnapshot;
+    private boolean snapshotDue;
+
+    private final Object durableLock = new Object();
+    private volatile long durableSequence;
+    private final ScheduledExecutorService committer;
+    private volatile boolean closed;
+
+    private ParkingJournal(Path directory, long commitIntervalMillis, long snapshotEveryEvents) throws IOException {
+        long recoveryStart = System.nanoTime();
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.snapshotEveryEvents = snapshotEveryEvents;
+
+        Optional<SnapshotStore.Snapshot> snapshot = SnapshotStore.read(snapshotPath);
+        this.state = snapshot.map(SnapshotStore.Snapshot::getState).orElseGet(JournalState::new);
+        long replayFrom = snapshot.map(SnapshotStore.Snapshot::getJournalOffset).orElse(0L);
+        long eventsBeforeReplay = state.getEventCount();
+
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long endOffset = replay(replayFrom);
+        openChunkAt(endOffset);
+
+        this.replayedEvents = state.getEventCount() - eventsBeforeReplay;
+        this.recoveredState = state.copy();
+        this.recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoveryStart);
+
+        this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-journal-committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static ParkingJournal open(Path directory, long commitIntervalMillis, long snapshotEveryEvents) throws IOException {
+        return new ParkingJournal(directory, commitIntervalMillis, snapshotEveryEvents);
+    }
+
+    @Override
+    public void update(ParkingEvent event) {
+        append(event);
+    }
+
+    /**
+     * Copies the event into the journal and returns its sequence number. Durable once
+     * {@link #awaitDurable(long)} for that number returns.
+     */
+    public synchronized long append(ParkingEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        ByteBuffer body = encode(event);
+        int bodyLength = body.remaining();
+        if (chunk.remaining() < HEADER_SIZE + bodyLength) {
+            rollChunk();
+        }
+        crc.reset();
+        crc.update(body.array(), 0, bodyLength);
+        int position = chunk.position();
+        // Body and checksum go in before the length, so a reader never sees a length without them.
+        chunk.position(position + HEADER_SIZE);
+        chunk.put(body.array(), 0, bodyLength);
+        chunk.putInt(position + 4, (int) crc.getValue());
+        chunk.putInt(position, bodyLength);
+
+        state.apply(event.getType(), toRecord(event), event.getFee());
+        if (++eventsSinceSnapshot >= snapshotEveryEvents) {
+            snapshotDue = true;
+        }
+        return ++writtenSequence;
+    }
+
+    public void awaitDurable(long sequence) throws InterruptedException {
+        synchronized (durableLock) {
+            while (durableSequence < sequence) {
+                durableLock.wait();
+            }
+        }
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    // Group commit: one force covers every append since the previous tick.
+    private void commit() {
+        long sequence;
+        MappedByteBuffer toForce;
+        JournalState snapshotState = null;
+        long snapshotOffset = 0;
+        synchronized (this) {
+            sequence = writtenSequence;
+            toForce = chunk;
+            if (snapshotDue) {
+                snapshotState = state.copy();
+                snapshotOffset = chunkStart + chunk.position();
+                snapshotDue = false;
+                eventsSinceSnapshot = 0;
+            }
+        }
+        try {
+            if (sequence > durableSequence) {
+                toForce.force();
+                synchronized (durableLock) {
+                    durableSequence = sequence;
+                    durableLock.notifyAll();
+                }
+            }
+            // Only written once the journal up to its offset is on disk.
+            if (snapshotState != null) {
+                SnapshotStore.write(snapshotPath, snapshotState, snapshotOffset);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Parking journal commit failed: " + e.getMessage());
+        }
+    }
+
+    private void rollChunk() {
+        chunk.force();
+        try {
+            mapChunk(chunkStart + CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not extend parking journal", e);
+        }
+    }
+
+    private void mapChunk(long start) throws IOException {
+        chunkStart = start;
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_SIZE);
+    }
+
+    // Positions the writer at endOffset and wipes anything after it (a torn tail or later chunks).
+    private void openChunkAt(long endOffset) throws IOException {
+        mapChunk(endOffset - endOffset % CHUNK_SIZE);
+        int position = (int) (endOffset - chunkStart);
+        byte[] zeros = new byte[64 * 1024];
+        chunk.position(position);
+        while (chunk.hasRemaining()) {
+            int length = Math.min(zeros.length, chunk.remaining());
+            chunk.put(zeros, 0, length);
+        }
+        chunk.position(position);
+        if (channel.size() > chunkStart + CHUNK_SIZE) {
+            channel.truncate(chunkStart + CHUNK_SIZE);
+        }
+        chunk.force();
+    }
+
+    // Applies every intact record from 'from' onwards and returns the offset just past the last one.
+    private long replay(long from) throws IOException {
+        long fileSize = channel.size();
+        long end = from;
+        long start = from - from % CHUNK_SIZE;
+        int position = (int) (from - start);
+        byte[] body = new byte[1024];
+        while (start < fileSize) {
+            MappedByteBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, fileSize - start));
+            while (true) {
+                if (position + HEADER_SIZE > view.limit()) {
+                    break;
+                }
+                int bodyLength = view.getInt(position);
+                if (bodyLength == 0) {
+                    break;
+                }
+                if (bodyLength < 0 || position + HEADER_SIZE + bodyLength > view.limit()) {
+                    return end;
+                }
+                if (body.length < bodyLength) {
+                    body = new byte[bodyLength];
+                }
+                view.get(position + HEADER_SIZE, body, 0, bodyLength);
+                crc.reset();
+                crc.update(body, 0, bodyLength);
+                if ((int) crc.getValue() != view.getInt(position + 4)) {
+                    return end;
+                }
+                applyRecord(ByteBuffer.wrap(body, 0, bodyLength));
+                position += HEADER_SIZE + bodyLength;
+                end = start + position;
+            }
+            if (position == 0) {
+                // Nothing in this chunk, so the writer never rolled past it.
+                return end;
+            }
+            start += CHUNK_SIZE;
+            position = 0;
+        }
+        return end;
+    }
+
+    private ByteBuffer encode(ParkingEvent event) {
+        byte[] spotId = event.getSpotId() == null ? new byte[0] : event.getSpotId().getBytes(StandardCharsets.UTF_8);
+        byte[] vehicleNumber = event.getVehicleNumber().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = scratch;
+        int needed = 1 + 8 * 6 + 1 + 4 + 2 + spotId.length + 2 + vehicleNumber.length;
+        if (needed > buffer.capacity()) {
+            buffer = ByteBuffer.allocate(needed);
+        }
+        buffer.clear();
+        buffer.put((byte) event.getType().ordinal());
+        buffer.putLong(event.getTimestamp());
+        buffer.putLong(event.getTicketId().getMostSignificantBits());
+        buffer.putLong(event.getTicketId().getLeastSignificantBits());
+        buffer.putLong(event.getStartTime());
+        buffer.putDouble(event.getFee());
+        buffer.put((byte) event.getVehicleSize().ordinal());
+        buffer.putInt(event.getFloor());
+        buffer.putShort((short) spotId.length);
+        buffer.put(spotId);
+        buffer.putShort((short) vehicleNumber.length);
+        buffer.put(vehicleNumber);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void applyRecord(ByteBuffer body) {
+        ParkingEvent.Type type = ParkingEvent.Type.values()[body.get()];
+        body.getLong(); // timestamp, not part of occupancy state
+        UUID ticketId = new UUID(body.getLong(), body.getLong());
+        long startTime = body.getLong();
+        double fee = body.getDouble();
+        VehicleSize size = VehicleSize.values()[body.get()];
+        int floor = body.getInt();
+        String spotId = readString(body);
+        String vehicleNumber = readString(body);
+        state.apply(type, new TicketRecord(ticketId, vehicleNumber, size, spotId, floor, startTime), fee);
+    }
+
+    private static String readString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getShort()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static TicketRecord toRecord(ParkingEvent event) {
+        return new TicketRecord(event.getTicketId(), event.getVehicleNumber(), event.getVehicleSize(),
+                event.getSpotId(), event.getFloor(), event.getStartTime());
+    }
+
+    /**
+     * Re-occupies every spot that was taken when the journal was opened and restores the
+     * lot's earning. Call before the journal is registered as an observer.
+     */
+    public int restoreInto(ParkingLotSystem parkingLot) {
+        int restored = 0;
+        for (TicketRecord record : recoveredState.getActiveTickets()) {
+            boolean ok = parkingLot.restoreTicket(record.getTicketId(),
+                    VehicleFactory.create(record.getVehicleSize(), record.getVehicleNumber()),
+                    record.getSpotId(), record.getStartTime());
+            if (ok) {
+                restored++;
+            } else {
+                System.err.println("Could not restore ticket for " + record.getVehicleNumber() + " at " + record.getSpotId());
+            }
+        }
+        parkingLot.restoreEarning(recoveredState.getEarning());
+        return restored;
+    }
+
+    public JournalState getRecoveredState() {
+        return recoveredState;
+    }
+
+    public long getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    public long getReplayedEvents() {
+        return replayedEvents;
+    }
+
+    public synchronized long getEventCount() {
+        return state.getEventCount();
+    }
+
+    /**
+     * Forces outstanding appends, writes a final snapshot so the next start has nothing to
+     * replay, and releases the file.
+     */
+    public void close() throws IOException {
+        committer.shutdown();
+        try {
+            committer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            snapshotDue = true;
+        }
+        commit();
+        synchronized (this) {
+            closed = true;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.persistence;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Writes and reads occupancy snapshots. A snapshot is written to a temp file, fsynced and then
+ * atomically renamed, so readers only ever see a complete one.
+ */
+public class SnapshotStore {
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+
+    public static class Snapshot {
+        private final JournalState state;
+        private final long journalOffset;
+
+        Snapshot(JournalState state, long journalOffset) {
+            this.state = state;
+            this.journalOffset = journalOffset;
+        }
+
+        public JournalState getState() {
+            return state;
+        }
+
+        // Journal position the state corresponds to; replay starts here.
+        public long getJournalOffset() {
+            return journalOffset;
+        }
+    }
+
+    public static void write(Path snapshotPath, JournalState state, long journalOffset) throws IOException {
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(journalOffset);
+            out.writeLong(state.getEventCount());
+            out.writeDouble(state.getEarning());
+            out.writeInt(state.getActiveTickets().size());
+            for (TicketRecord record : state.getActiveTickets()) {
+                out.writeLong(record.getTicketId().getMostSignificantBits());
+                out.writeLong(record.getTicketId().getLeastSignificantBits());
+                out.writeUTF(record.getVehicleNumber());
+                out.writeByte(record.getVehicleSize().ordinal());
+                out.writeUTF(record.getSpotId());
+                out.writeInt(record.getFloor());
+                out.writeLong(record.getStartTime());
+            }
+            out.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Optional<Snapshot> read(Path snapshotPath) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognised snapshot file " + snapshotPath);
+            }
+            long journalOffset = in.readLong();
+            long eventCount = in.readLong();
+            double earning = in.readDouble();
+            int ticketCount = in.readInt();
+            Map<String, TicketRecord> activeTickets = new HashMap<>(ticketCount * 2);
+            for (int i = 0; i < ticketCount; i++) {
+                UUID ticketId = new UUID(in.readLong(), in.readLong());
+                String vehicleNumber = in.readUTF();
+                VehicleSize size = VehicleSize.values()[in.readByte()];
+                String spotId = in.readUTF();
+                int floor = in.readInt();
+                long startTime = in.readLong();
+                activeTickets.put(vehicleNumber, new TicketRecord(ticketId, vehicleNumber, size, spotId, floor, startTime));
+            }
+            return Optional.of(new Snapshot(new JournalState(activeTickets, earning, eventCount), journalOffset));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.persistence;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.UUID;
+
+/**
+ * What the journal needs to remember about an active ticket to re-occupy its spot after a restart.
+ */
+public class TicketRecord {
+    private final UUID ticketId;
+    private final String vehicleNumber;
+    private final VehicleSize vehicleSize;
+    private final String spotId;
+    private final int floor;
+    private final long startTime;
+
+    public TicketRecord(UUID ticketId, String vehicleNumber, VehicleSize vehicleSize, String spotId, int floor, long startTime) {
+        this.ticketId = ticketId;
+        this.vehicleNumber = vehicleNumber;
+        this.vehicleSize = vehicleSize;
+        this.spotId = spotId;
+        this.floor = floor;
+        this.startTime = startTime;
+    }
+
+    public UUID getTicketId() {
+        return ticketId;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public VehicleSize getVehicleSize() {
+        return vehicleSize;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.registry;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counters a registry keeps per lot for cross-lot queries. Only the lot's writer thread updates
+ * them, after each operation; readers anywhere see the latest published values without locking.
+ */
+public class LotSummary {
+    private final String lotId;
+    private final double latitude;
+    private final double longitude;
+    private final AtomicIntegerArray freeBySize = new AtomicIntegerArray(VehicleSize.values().length);
+    private volatile int activeTickets;
+
+    LotSummary(String lotId, double latitude, double longitude) {
+        this.lotId = lotId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    void publish(int[] freeCounts, int activeTickets) {
+        for (int size = 0; size < freeCounts.length; size++) {
+            freeBySize.set(size, freeCounts[size]);
+        }
+        this.activeTickets = activeTickets;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public int getFreeSpots(VehicleSize size) {
+        return freeBySize.get(size.ordinal());
+    }
+
+    public int getActiveTickets() {
+        return activeTickets;
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.registry;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingLotSystem;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee.FeeStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking.ParkingStrategy;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many independent lots in one process and routes requests to them by lot id.
+ *
+ * Every lot has its own single-thread executor, so all changes to a lot run on one writer and
+ * lots never contend with each other. After each operation the writer republishes the lot's
+ * LotSummary; cross-lot queries read only those summaries and never touch a lot's own locks.
+ * The lots themselves never leave the registry, so configuration goes through it as well.
+ */
+public class ParkingLotRegistry {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final Map<String, LotHandle> lots = new ConcurrentHashMap<>();
+
+    private static class LotHandle {
+        private final ParkingLotSystem lot;
+        private final LotSummary summary;
+        private final ExecutorService writer;
+
+        LotHandle(ParkingLotSystem lot, LotSummary summary, ExecutorService writer) {
+            this.lot = lot;
+            this.summary = summary;
+            this.writer = writer;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<T> operation) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return operation.get();
+                } finally {
+                    publishSummary();
+                }
+            }, writer);
+        }
+
+        private void publishSummary() {
+            VehicleSize[] sizes = VehicleSize.values();
+            int[] freeCounts = new int[sizes.length];
+            for (VehicleSize size : sizes) {
+                freeCounts[size.ordinal()] = (int) lot.getAvailabilityTree().getTotalFree(size);
+            }
+            summary.publish(freeCounts, lot.getActiveTicketCount());
+        }
+    }
+
+    // Returns the new lot's summary, the read-only view of it.
+    public LotSummary registerLot(String lotId, double latitude, double longitude,
+                                        ParkingStrategy parkingStrategy, FeeStrategy feeStrategy) {
+        ParkingLotSystem lot = new ParkingLotSystem();
+        lot.setParkingStrategy(parkingStrategy);
+        lot.setFeeStrategy(feeStrategy);
+        ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-lot-" + lotId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        LotHandle handle = new LotHandle(lot, new LotSummary(lotId, latitude, longitude), writer);
+        if (lots.putIfAbsent(lotId, handle) != null) {
+            writer.shutdown();
+            throw new IllegalArgumentException("Lot already registered: " + lotId);
+        }
+        return handle.summary;
+    }
+
+    private LotHandle handle(String lotId) {
+        LotHandle handle = lots.get(lotId);
+        if (handle == null) {
+            throw new IllegalArgumentException("Unknown lot: " + lotId);
+        }
+        return handle;
+    }
+
+    public CompletableFuture<Void> setVerbose(String lotId, boolean verbose) {
+        LotHandle handle = handle(lotId);
+        return handle.submit(() -> {
+            handle.lot.setVerbose(verbose);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> setParkingStrategy(String lotId, ParkingStrategy parkingStrategy) {
+        LotHandle handle = handle(lotId);
+        return handle.submit(() -> {
+            handle.lot.setParkingStrategy(parkingStrategy);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> setFeeStrategy(String lotId, FeeStrategy feeStrategy) {
+        LotHandle handle = handle(lotId);
+        return handle.submit(() -> {
+            handle.lot.setFeeStrategy(feeStrategy);
+            return null;
+        });
+    }
+
+    // The floor is built on the lot's writer from a copy of the layout, so no caller ever holds it.
+    public CompletableFuture<Void> addFloor(String lotId, int floorNumber, Map<VehicleSize, Integer> spotsBySize) {
+        LotHandle handle = handle(lotId);
+        Map<VehicleSize, Integer> layout = new EnumMap<>(VehicleSize.class);
+        layout.putAll(spotsBySize);
+        return handle.submit(() -> {
+            ParkingFloor floor = new ParkingFloor(floorNumber);
+            layout.forEach(floor::addSpots);
+            handle.lot.addFloor(floor);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Optional<Ticket>> parkVehicle(String lotId, Vehicle vehicle) {
+        LotHandle handle = handle(lotId);
+        return handle.submit(() -> handle.lot.parkVehicle(vehicle));
+    }
+
+    public CompletableFuture<Optional<Double>> unparkVehicle(String lotId, String licenceNumber) {
+        LotHandle handle = handle(lotId);
+        return handle.submit(() -> handle.lot.unparkVehicle(licenceNumber));
+    }
+
+    public Optional<LotSummary> getSummary(String lotId) {
+        LotHandle handle = lots.get(lotId);
+        return handle == null ? Optional.empty() : Optional.of(handle.summary);
+    }
+
+    public Collection<String> getLotIds() {
+        return Collections.unmodifiableSet(lots.keySet());
+    }
+
+    // Closest lot (great-circle distance) whose summary shows a free spot of this size.
+    public Optional<LotSummary> findNearestLotWithFreeSpot(VehicleSize size, double latitude, double longitude) {
+        LotSummary nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (LotHandle handle : lots.values()) {
+            LotSummary summary = handle.summary;
+            if (summary.getFreeSpots(size) == 0) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, summary.getLatitude(), summary.getLongitude());
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = summary;
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    public long getTotalFreeSpots(VehicleSize size) {
+        long total = 0;
+        for (LotHandle handle : lots.values()) {
+            total += handle.summary.getFreeSpots(size);
+        }
+        return total;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (LotHandle handle : lots.values()) {
+            handle.writer.shutdown();
+        }
+        for (LotHandle handle : lots.values()) {
+            handle.writer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
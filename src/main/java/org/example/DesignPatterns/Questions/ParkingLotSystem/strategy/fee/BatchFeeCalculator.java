@@ -0,0 +1,78 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes fees for a list of tickets with a ForkJoin split. Each leaf copies its slice of the
+ * tickets into the batch's primitive columns and runs the strategy's array kernel over it, so
+ * the columns are built in parallel as well.
+ */
+public class BatchFeeCalculator {
+    private static final BatchFeeCalculator DEFAULT = new BatchFeeCalculator(ForkJoinPool.commonPool(), 4096);
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    public BatchFeeCalculator(ForkJoinPool pool, int leafSize) {
+        this.pool = pool;
+        this.leafSize = leafSize;
+    }
+
+    public static BatchFeeCalculator getDefault() {
+        return DEFAULT;
+    }
+
+    public double[] calculate(FeeStrategy feeStrategy, List<Ticket> tickets) {
+        return calculate(feeStrategy, tickets, System.currentTimeMillis());
+    }
+
+    // Tickets without an end time are billed up to asOf.
+    public double[] calculate(FeeStrategy feeStrategy, List<Ticket> tickets, long asOf) {
+        List<Ticket> indexable = tickets instanceof RandomAccess ? tickets : new ArrayList<>(tickets);
+        TicketBatch batch = new TicketBatch(indexable, asOf);
+        double[] fees = new double[batch.size()];
+        if (batch.size() <= leafSize) {
+            batch.fill(0, batch.size());
+            feeStrategy.calculateFees(batch, 0, batch.size(), fees);
+        } else {
+            pool.invoke(new FeeTask(feeStrategy, batch, fees, 0, batch.size()));
+        }
+        return fees;
+    }
+
+    private class FeeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FeeStrategy feeStrategy;
+        private final TicketBatch batch;
+        private final double[] fees;
+        private final int from;
+        private final int to;
+
+        FeeTask(FeeStrategy feeStrategy, TicketBatch batch, double[] fees, int from, int to) {
+            this.feeStrategy = feeStrategy;
+            this.batch = batch;
+            this.fees = fees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                batch.fill(from, to);
+                feeStrategy.calculateFees(batch, from, to, fees);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FeeTask(feeStrategy, batch, fees, from, mid),
+                    new FeeTask(feeStrategy, batch, fees, mid, to));
+        }
+    }
+}
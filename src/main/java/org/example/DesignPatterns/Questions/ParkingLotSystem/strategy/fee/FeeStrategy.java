@@ -2,6 +2,21 @@ package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee;
 
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
 
+import java.util.List;
+
 public interface FeeStrategy {
     public double calculateFee(Ticket ticket);
+
+    // Fees for many tickets at once, e.g. at shift close. Split across the common ForkJoinPool.
+    public default double[] calculateFees(List<Ticket> tickets) {
+        return BatchFeeCalculator.getDefault().calculate(this, tickets);
+    }
+
+    // Fills fees[from, to) from the batch's primitive columns. Strategies override this with a
+    // plain array loop; the default falls back to calculateFee per ticket.
+    public default void calculateFees(TicketBatch batch, int from, int to, double[] fees) {
+        for (int i = from; i < to; i++) {
+            fees[i] = calculateFee(batch.getTicket(i));
+        }
+    }
 }
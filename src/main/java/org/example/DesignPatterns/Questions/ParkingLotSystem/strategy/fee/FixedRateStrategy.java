@@ -19,4 +19,14 @@ public class FixedRateStrategy implements FeeStrategy {
         System.out.println("Vehicle with " + ticket.getVehicle().getVehicleNumber() + " was parked for " + hours + "Hours." + "Fee" + fee);
         return fee;
     }
+
+    @Override
+    public void calculateFees(TicketBatch batch, int from, int to, double[] fees) {
+        long[] startTimes = batch.getStartTimes();
+        long[] endTimes = batch.getEndTimes();
+        for (int i = from; i < to; i++) {
+            long hours = (endTimes[i] - startTimes[i]) / 3_600_000L;
+            fees[i] = (long) (hours * hourlyRate);
+        }
+    }
 }
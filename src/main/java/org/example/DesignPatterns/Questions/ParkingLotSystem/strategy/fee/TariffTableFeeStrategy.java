@@ -0,0 +1,138 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.VehicleSize;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Time-of-day and duration-tiered tariff, billed per minute.
+ *
+ * The builder compiles the hourly bands and size multipliers into a cumulative cost table per
+ * size: cost[size][m] is the charge for minutes [0, m) of a day. The cost of any interval is then
+ * whole days times the daily total plus a difference of two table entries. Duration tiers
+ * ("after 3 hours, 50% off") apply that lookup once per tier, so a fee is a handful of array
+ * reads whatever the length of the stay. Local time uses a fixed offset, so DST shifts are not
+ * followed.
+ */
+public class TariffTableFeeStrategy implements FeeStrategy {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final long offsetMillis;
+    // Flattened [size][minuteOfDay + 1] cumulative cost.
+    private final double[] cumulativeCost;
+    private final double[] dailyCost;
+    // Tier i covers minutes [tierStartMinutes[i], tierStartMinutes[i + 1]) of a stay.
+    private final long[] tierStartMinutes;
+    private final double[] tierMultipliers;
+
+    private TariffTableFeeStrategy(long offsetMillis, double[] cumulativeCost, double[] dailyCost,
+                                   long[] tierStartMinutes, double[] tierMultipliers) {
+        this.offsetMillis = offsetMillis;
+        this.cumulativeCost = cumulativeCost;
+        this.dailyCost = dailyCost;
+        this.tierStartMinutes = tierStartMinutes;
+        this.tierMultipliers = tierMultipliers;
+    }
+
+    @Override
+    public double calculateFee(Ticket ticket) {
+        return fee(ticket.getStartTime(), ticket.getEndTime(), ticket.getVehicle().getSize().ordinal());
+    }
+
+    @Override
+    public void calculateFees(TicketBatch batch, int from, int to, double[] fees) {
+        long[] startTimes = batch.getStartTimes();
+        long[] endTimes = batch.getEndTimes();
+        byte[] sizes = batch.getSizes();
+        for (int i = from; i < to; i++) {
+            fees[i] = fee(startTimes[i], endTimes[i], sizes[i]);
+        }
+    }
+
+    private double fee(long startTime, long endTime, int size) {
+        long start = Math.floorDiv(startTime + offsetMillis, MILLIS_PER_MINUTE);
+        long end = Math.floorDiv(endTime + offsetMillis, MILLIS_PER_MINUTE);
+        double fee = 0;
+        for (int t = 0; t < tierStartMinutes.length; t++) {
+            long tierStart = start + tierStartMinutes[t];
+            if (tierStart >= end) {
+                break;
+            }
+            long tierEnd = t + 1 < tierStartMinutes.length ? Math.min(end, start + tierStartMinutes[t + 1]) : end;
+            fee += tierMultipliers[t] * (costUpTo(tierEnd, size) - costUpTo(tierStart, size));
+        }
+        return fee;
+    }
+
+    // Charge from the epoch (local minute 0) up to the given local minute.
+    private double costUpTo(long minute, int size) {
+        long days = Math.floorDiv(minute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(minute, MINUTES_PER_DAY);
+        return days * dailyCost[size] + cumulativeCost[size * (MINUTES_PER_DAY + 1) + minuteOfDay];
+    }
+
+    public static class Builder {
+        private final ZoneOffset zoneOffset;
+        private final double[] hourlyRates = new double[24];
+        private final Map<VehicleSize, Double> sizeMultipliers = new EnumMap<>(VehicleSize.class);
+        private final TreeMap<Long, Double> tiers = new TreeMap<>();
+
+        public Builder(ZoneOffset zoneOffset, double baseHourlyRate) {
+            this.zoneOffset = zoneOffset;
+            Arrays.fill(hourlyRates, baseHourlyRate);
+            tiers.put(0L, 1.0);
+        }
+
+        // Hourly rate for local hours [fromHour, toHour); wraps past midnight when toHour <= fromHour.
+        public Builder withBand(int fromHour, int toHour, double hourlyRate) {
+            int hour = fromHour;
+            do {
+                hourlyRates[hour] = hourlyRate;
+                hour = (hour + 1) % 24;
+            } while (hour != toHour % 24);
+            return this;
+        }
+
+        public Builder withSizeMultiplier(VehicleSize size, double multiplier) {
+            sizeMultipliers.put(size, multiplier);
+            return this;
+        }
+
+        // From this many hours into a stay, charges are scaled by multiplier (until the next tier).
+        public Builder withTier(int afterHours, double multiplier) {
+            tiers.put(afterHours * 60L, multiplier);
+            return this;
+        }
+
+        public TariffTableFeeStrategy build() {
+            VehicleSize[] sizes = VehicleSize.values();
+            double[] cumulative = new double[sizes.length * (MINUTES_PER_DAY + 1)];
+            double[] daily = new double[sizes.length];
+            for (VehicleSize size : sizes) {
+                double multiplier = sizeMultipliers.getOrDefault(size, 1.0);
+                int base = size.ordinal() * (MINUTES_PER_DAY + 1);
+                for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                    cumulative[base + minute + 1] = cumulative[base + minute] + multiplier * hourlyRates[minute / 60] / 60.0;
+                }
+                daily[size.ordinal()] = cumulative[base + MINUTES_PER_DAY];
+            }
+
+            long[] starts = new long[tiers.size()];
+            double[] multipliers = new double[tiers.size()];
+            int t = 0;
+            for (Map.Entry<Long, Double> tier : tiers.entrySet()) {
+                starts[t] = tier.getKey();
+                multipliers[t++] = tier.getValue();
+            }
+
+            long offsetMillis = zoneOffset.getTotalSeconds() * 1000L;
+            return new TariffTableFeeStrategy(offsetMillis, cumulative, daily, starts, multipliers);
+        }
+    }
+}
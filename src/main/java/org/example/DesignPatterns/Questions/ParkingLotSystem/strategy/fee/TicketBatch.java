@@ -0,0 +1,61 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.fee;
+
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.Ticket;
+
+import java.util.List;
+
+/**
+ * Column view of a list of tickets for batch fee kernels: start/end times and size ordinals in
+ * primitive arrays. Tickets still open are billed up to {@link #getAsOf()}. Columns are filled
+ * range by range by the batch calculator's tasks.
+ */
+public class TicketBatch {
+    private final List<Ticket> tickets;
+    private final long asOf;
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final byte[] sizes;
+
+    TicketBatch(List<Ticket> tickets, long asOf) {
+        this.tickets = tickets;
+        this.asOf = asOf;
+        this.startTimes = new long[tickets.size()];
+        this.endTimes = new long[tickets.size()];
+        this.sizes = new byte[tickets.size()];
+    }
+
+    void fill(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Ticket ticket = tickets.get(i);
+            Long endTime = ticket.getEndTime();
+            startTimes[i] = ticket.getStartTime();
+            endTimes[i] = endTime == null ? asOf : endTime;
+            sizes[i] = (byte) ticket.getVehicle().getSize().ordinal();
+        }
+    }
+
+    public int size() {
+        return startTimes.length;
+    }
+
+    public Ticket getTicket(int index) {
+        return tickets.get(index);
+    }
+
+    public long getAsOf() {
+        return asOf;
+    }
+
+    public long[] getStartTimes() {
+        return startTimes;
+    }
+
+    public long[] getEndTimes() {
+        return endTimes;
+    }
+
+    // VehicleSize ordinals.
+    public byte[] getSizes() {
+        return sizes;
+    }
+}
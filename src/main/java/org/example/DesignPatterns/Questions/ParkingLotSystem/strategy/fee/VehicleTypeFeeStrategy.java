@@ -8,15 +8,35 @@ import java.util.concurrent.TimeUnit;
 
 public class VehicleTypeFeeStrategy implements FeeStrategy {
 
-    private HashMap<VehicleSize, Double> costPerVehicleType;
+    private final double[] hourlyRates;
 
+    // Every vehicle size needs a rate, so the single-ticket and batch paths can never disagree.
     public VehicleTypeFeeStrategy(HashMap<VehicleSize, Double> costPerVehicleType){
-        this.costPerVehicleType = costPerVehicleType;
+        VehicleSize[] vehicleSizes = VehicleSize.values();
+        this.hourlyRates = new double[vehicleSizes.length];
+        for (VehicleSize size : vehicleSizes) {
+            Double rate = costPerVehicleType.get(size);
+            if(rate == null){
+                throw new IllegalArgumentException("No hourly rate found for vehicle size " + size);
+            }
+            hourlyRates[size.ordinal()] = rate;
+        }
     }
     @Override
     public double calculateFee(Ticket ticket) {
         long diff = ticket.getEndTime() - ticket.getStartTime();
-        double hourlyRate = costPerVehicleType.get(ticket.getVehicle().getSize());
+        double hourlyRate = hourlyRates[ticket.getVehicle().getSize().ordinal()];
         return TimeUnit.MILLISECONDS.toHours(diff)*hourlyRate;
     }
+
+    @Override
+    public void calculateFees(TicketBatch batch, int from, int to, double[] fees) {
+        long[] startTimes = batch.getStartTimes();
+        long[] endTimes = batch.getEndTimes();
+        byte[] sizes = batch.getSizes();
+        for (int i = from; i < to; i++) {
+            long hours = (endTimes[i] - startTimes[i]) / 3_600_000L;
+            fees[i] = hours * hourlyRates[sizes[i]];
+        }
+    }
 }
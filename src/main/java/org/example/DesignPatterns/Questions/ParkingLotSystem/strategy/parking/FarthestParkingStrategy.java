@@ -1,23 +1,18 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking;
 
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.FloorAvailabilityTree;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 public class FarthestParkingStrategy implements ParkingStrategy{
     @Override
     public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle) {
-        List<ParkingFloor> reversedFloors = new ArrayList<>(parkingFloors);
-
-        Collections.reverse(reversedFloors);
-
-        for(ParkingFloor floor: reversedFloors){
-            Optional<ParkingSpot> spot = floor.findAvailableSpot(vehicle);
+        for (int i = parkingFloors.size() - 1; i >= 0; i--) {
+            Optional<ParkingSpot> spot = parkingFloors.get(i).findAvailableSpot(vehicle);
             if(spot.isPresent()){
                 return spot;
             }
@@ -26,4 +21,18 @@ public class FarthestParkingStrategy implements ParkingStrategy{
         return Optional.empty();
 
     }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, FloorAvailabilityTree availabilityTree, Vehicle vehicle) {
+        // The tree counts reserved spots as free, so a floor it picks may have nothing usable right
+        // now; move on to the next floor it reports rather than scanning them all.
+        for (int position = availabilityTree.findLastFloorWithAtLeast(vehicle.getSize(), 1); position >= 0;
+             position = availabilityTree.findPreviousFloorWithAtLeast(vehicle.getSize(), 1, position - 1)) {
+            Optional<ParkingSpot> spot = parkingFloors.get(position).findAvailableSpot(vehicle);
+            if (spot.isPresent()) {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
 }
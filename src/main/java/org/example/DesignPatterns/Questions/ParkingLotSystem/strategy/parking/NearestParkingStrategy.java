@@ -1,5 +1,6 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking;
 
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.FloorAvailabilityTree;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
@@ -19,4 +20,18 @@ public class NearestParkingStrategy implements ParkingStrategy {
         return Optional.empty();
 
     }
+
+    @Override
+    public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, FloorAvailabilityTree availabilityTree, Vehicle vehicle) {
+        // The tree counts reserved spots as free, so a floor it picks may have nothing usable right
+        // now; move on to the next floor it reports rather than scanning them all.
+        for (int position = availabilityTree.findFirstFloorWithAtLeast(vehicle.getSize(), 1); position >= 0;
+             position = availabilityTree.findNextFloorWithAtLeast(vehicle.getSize(), 1, position + 1)) {
+            Optional<ParkingSpot> spot = parkingFloors.get(position).findAvailableSpot(vehicle);
+            if (spot.isPresent()) {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
 }
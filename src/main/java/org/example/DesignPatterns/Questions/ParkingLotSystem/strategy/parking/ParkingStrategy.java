@@ -1,5 +1,6 @@
 package org.example.DesignPatterns.Questions.ParkingLotSystem.strategy.parking;
 
+import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.FloorAvailabilityTree;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingFloor;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.entities.ParkingSpot;
 import org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle.Vehicle;
@@ -9,4 +10,9 @@ import java.util.Optional;
 
 public interface ParkingStrategy {
     public Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, Vehicle vehicle);
+
+    // Strategies that can pick a floor from the lot-wide free-count index override this.
+    public default Optional<ParkingSpot> findSpot(List<ParkingFloor> parkingFloors, FloorAvailabilityTree availabilityTree, Vehicle vehicle) {
+        return findSpot(parkingFloors, vehicle);
+    }
 }
@@ -0,0 +1,16 @@
+package org.example.DesignPatterns.Questions.ParkingLotSystem.vehicle;
+
+public class VehicleFactory {
+    public static Vehicle create(VehicleSize size, String vehicleNumber) {
+        switch (size) {
+            case SMALL:
+                return new Bike(vehicleNumber);
+            case MEDIUM:
+                return new Car(vehicleNumber);
+            case LARGE:
+                return new Truck(vehicleNumber);
+            default:
+                throw new IllegalArgumentException("Unknown vehicle size: " + size);
+        }
+    }
+}
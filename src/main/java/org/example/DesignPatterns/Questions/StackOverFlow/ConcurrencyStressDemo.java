@@ -0,0 +1,108 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.ReputationType;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Stress check for the concurrent core: thousands of voters vote on every question of a round
+ * while other threads post questions, answers and comments. Every count is checked against what
+ * was submitted, and throughput is reported for each thread count.
+ * Usage: ConcurrencyStressDemo [voters] [questionsPerRound]
+ */
+public class ConcurrencyStressDemo {
+    public static void main(String[] args) throws Exception {
+        int voterCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int questionsPerRound = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        StackOverFlowSystem service = StackOverFlowSystem.getInstance();
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < voterCount; i++) {
+            voters.add(service.createUser("Voter" + i, "voter" + i + "@gmail.com"));
+        }
+        User author = service.createUser("Author", "author@gmail.com");
+        System.out.printf("%d voters x %d questions per round, %d CPUs%n", voterCount, questionsPerRound,
+                Runtime.getRuntime().availableProcessors());
+
+        boolean allCorrect = true;
+        for (int threads : new int[]{1, 2, 4, 8, 16}) {
+            Tags roundTag = new Tags("round-" + threads);
+            List<Question> round = new ArrayList<>();
+            for (int q = 0; q < questionsPerRound; q++) {
+                round.add(service.postQuestion(author.getId(), "content " + q, "round " + threads + " question " + q, List.of(roundTag)));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int from = voterCount * t / threads;
+                int to = voterCount * (t + 1) / threads;
+                futures.add(pool.submit(() -> {
+                    for (int v = from; v < to; v++) {
+                        User voter = voters.get(v);
+                        for (Question question : round) {
+                            service.vote(voter.getId(), question.getId(), VoteType.UPVOTE);
+                        }
+                        // Every voter also answers and comments on one question of the round.
+                        Question target = round.get(v % round.size());
+                        Answer answer = service.postAnswer(voter.getId(), target.getId(), "answer from " + voter.getName());
+                        service.addComment(voter.getId(), answer, "comment");
+                        service.addComment(voter.getId(), target, "comment");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            long votes = 0;
+            long answers = 0;
+            long comments = 0;
+            boolean correct = true;
+            for (int q = 0; q < round.size(); q++) {
+                Question question = round.get(q);
+                int expectedAnswers = voterCount / round.size() + (q < voterCount % round.size() ? 1 : 0);
+                correct &= question.getVoteCount() == voterCount;
+                correct &= question.getAnswers().size() == expectedAnswers;
+                correct &= question.getComments().size() == expectedAnswers;
+                votes += question.getVoteCount();
+                answers += question.getAnswers().size();
+                for (Answer answer : question.getAnswers()) {
+                    correct &= answer != null && answer.getComments().size() == 1;
+                    comments += answer.getComments().size();
+                }
+                comments += question.getComments().size();
+            }
+            correct &= service.getSearchIndex().read(() -> service.getSearchIndex().getTagIndex().getQuestionCount(roundTag.getName())) == round.size();
+            allCorrect &= correct;
+
+            long operations = votes + answers + comments;
+            System.out.printf("%2d threads: %,d votes, %,d answers, %,d comments in %d ms, %,.0f ops/s, counts %s%n",
+                    threads, votes, answers, comments, elapsed / 1_000_000, operations * 1e9 / elapsed, correct ? "correct" : "WRONG");
+        }
+        // Every vote was an upvote on the author's questions and each answer author was a voter.
+        long start = System.nanoTime();
+        service.getReputationEngine().flush();
+        System.out.printf("Reputation queue drained %.1f ms after the last round%n", (System.nanoTime() - start) / 1e6);
+        long expected = (long) voterCount * questionsPerRound * 5 * ReputationType.QUESTION_UPVOTE.getPoints();
+        boolean reputationCorrect = author.getReputation() == expected;
+        start = System.nanoTime();
+        int mismatches = service.getReputationEngine().audit().size();
+        System.out.printf("Author reputation %,d (expected %,d); replaying %,d history events on top of a %,d-event checkpoint took %.1f ms, %d mismatches%n",
+                author.getReputation(), expected, service.getReputationEngine().getHistorySize(),
+                service.getReputationEngine().getCheckpointedEvents(), (System.nanoTime() - start) / 1e6, mismatches);
+        allCorrect &= reputationCorrect && mismatches == 0;
+        System.out.println(allCorrect ? "All rounds consistent" : "Inconsistent counts found");
+    }
+}
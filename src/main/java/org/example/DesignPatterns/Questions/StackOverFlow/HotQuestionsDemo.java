@@ -0,0 +1,147 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+import org.example.DesignPatterns.Questions.StackOverFlow.leaderboard.HotQuestions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the hot questions leaderboard on a simulated clock: shows an old favourite being
+ * overtaken, then checks the incremental top-k against a brute-force decayed ranking and
+ * measures update and read cost.
+ * Usage: HotQuestionsDemo [questions] [events]
+ */
+public class HotQuestionsDemo {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long REFRESH = TimeUnit.SECONDS.toMillis(1);
+
+    public static void main(String[] args) {
+        int questionCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int eventCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        AtomicLong clock = new AtomicLong(0);
+        User author = new User("author@gmail.com", "Author");
+
+        System.out.println("--- Half-life 12h ---");
+        Map<UUID, Question> byId = new HashMap<>();
+        HotQuestions small = new HotQuestions(10, 12 * HOUR, REFRESH, clock::get, byId::get);
+        Question classic = new Question("Old favourite", "content", author, List.of());
+        Question fresh = new Question("Fresh question", "content", author, List.of());
+        byId.put(classic.getId(), classic);
+        byId.put(fresh.getId(), fresh);
+        for (int i = 0; i < 50; i++) {
+            small.onVote(classic, VoteType.UPVOTE);
+        }
+        print(small, "day 0");
+        clock.set(48 * HOUR);
+        for (int i = 0; i < 5; i++) {
+            small.onVote(fresh, VoteType.UPVOTE);
+            small.onAnswer(fresh);
+        }
+        print(small, "day 2");
+        for (int i = 0; i < 20; i++) {
+            small.onVote(fresh, VoteType.DOWNVOTE);
+        }
+        clock.addAndGet(REFRESH);
+        print(small, "day 2, after 20 downvotes");
+
+        System.out.printf("%n--- %,d questions, %,d events over 30 simulated days ---%n", questionCount, eventCount);
+        clock.set(0);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question("Question " + i, "content", author, List.of());
+            questions.add(question);
+            byId.put(question.getId(), question);
+        }
+        HotQuestions hot = new HotQuestions(100, 12 * HOUR, REFRESH, clock::get, byId::get);
+        int[] targets = new int[eventCount];
+        double[] kinds = new double[eventCount];
+        Random random = new Random(11);
+        long endTime = 30 * 24 * HOUR;
+        for (int e = 0; e < eventCount; e++) {
+            double r = random.nextDouble();
+            targets[e] = (int) (questionCount * r * r);
+            kinds[e] = random.nextDouble();
+        }
+        long start = System.nanoTime();
+        for (int e = 0; e < eventCount; e++) {
+            clock.set(endTime * e / eventCount);
+            Question question = questions.get(targets[e]);
+            if (kinds[e] < 0.6) {
+                hot.onView(question);
+            } else if (kinds[e] < 0.85) {
+                hot.onVote(question, VoteType.UPVOTE);
+            } else if (kinds[e] < 0.95) {
+                hot.onVote(question, VoteType.DOWNVOTE);
+            } else {
+                hot.onAnswer(question);
+            }
+        }
+        long updateNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Question> top = hot.getTop();
+        long rebuildNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        int reads = 1_000_000;
+        for (int i = 0; i < reads; i++) {
+            top = hot.getTop();
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        // Brute-force reference: every event's weight decayed to the end time.
+        double[] positive = new double[questionCount];
+        double[] negative = new double[questionCount];
+        for (int e = 0; e < eventCount; e++) {
+            double decayed = decay(endTime - endTime * e / eventCount);
+            if (kinds[e] < 0.6) {
+                positive[targets[e]] += HotQuestions.VIEW_WEIGHT * decayed;
+            } else if (kinds[e] < 0.85) {
+                positive[targets[e]] += HotQuestions.UPVOTE_WEIGHT * decayed;
+            } else if (kinds[e] < 0.95) {
+                negative[targets[e]] += HotQuestions.DOWNVOTE_WEIGHT * decayed;
+            } else {
+                positive[targets[e]] += HotQuestions.ANSWER_WEIGHT * decayed;
+            }
+        }
+        List<Integer> reference = new ArrayList<>();
+        for (int q = 0; q < questionCount; q++) {
+            if (positive[q] > negative[q]) {
+                reference.add(q);
+            }
+        }
+        reference.sort(Comparator.comparingDouble(q -> -(positive[q] - negative[q])));
+        int matching = 0;
+        for (int i = 0; i < Math.min(top.size(), reference.size()); i++) {
+            if (top.get(i) == questions.get(reference.get(i))) {
+                matching++;
+            }
+        }
+        System.out.printf("update %.0f ns/event, snapshot rebuild %.1f us, cached read %.1f ns%n",
+                (double) updateNanos / eventCount, rebuildNanos / 1e3, (double) cachedNanos / reads);
+        System.out.printf("top %d matches brute-force decayed ranking at %d of %d positions%n", top.size(), matching, top.size());
+        System.out.printf("hottest: %s, hotness %.2f, snapshot rebuilds: %d%n", top.get(0).getTitle(),
+                hot.getHotness(top.get(0)), hot.getRebuildCount());
+    }
+
+    private static double decay(long ageMillis) {
+        return Math.pow(0.5, (double) ageMillis / (12 * HOUR));
+    }
+
+    private static void print(HotQuestions hot, String label) {
+        System.out.print(label + ":");
+        for (Question question : hot.getTop()) {
+            System.out.printf("  %s (%.2f)", question.getTitle(), hot.getHotness(question));
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchByUserStretegy;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchStretegy;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.TagSearchStrategy;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.TextSearchStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Runs the same strategy chains through the cost-based planner and through the old
+ * one-strategy-after-another evaluation, prints the plans and compares times.
+ * Usage: SearchPlannerDemo [questions]
+ */
+public class SearchPlannerDemo {
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        StackOverFlowSystem service = StackOverFlowSystem.getInstance();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(service.createUser("User" + i, "user" + i + "@gmail.com"));
+        }
+        Tags java = new Tags("java");
+        Tags rare = new Tags("jvm-internals");
+        Tags spring = new Tags("spring");
+        Random random = new Random(3);
+        for (int i = 0; i < count; i++) {
+            List<Tags> tags = new ArrayList<>();
+            tags.add(java);
+            if (random.nextInt(100) == 0) {
+                tags.add(rare);
+            }
+            if (random.nextInt(4) == 0) {
+                tags.add(spring);
+            }
+            String text = random.nextInt(50) == 0 ? "deadlock in thread pool" : "question about beans";
+            service.postQuestion(users.get(random.nextInt(users.size())).getId(), text, "Question " + i, tags);
+        }
+
+        List<List<SearchStretegy>> chains = List.of(
+                List.of(new TagSearchStrategy(java), new TagSearchStrategy(spring), new TagSearchStrategy(rare)),
+                List.of(new SearchByUserStretegy(users.get(0)), new TagSearchStrategy(rare)),
+                List.of(new TagSearchStrategy(spring), new TextSearchStrategy("deadlock")));
+        for (List<SearchStretegy> chain : chains) {
+            service.setSearchStretegies(chain);
+            System.out.println("Plan:\n  " + service.planSearch().explain().replace("\n", "\n  "));
+            int planned = service.searchQuestions().size();
+            int sequential = sequential(service, chain).size();
+            System.out.printf("  %d results (sequential %d), planned %.2f ms, sequential %.2f ms%n%n", planned, sequential,
+                    time(service::searchQuestions), time(() -> sequential(service, chain)));
+        }
+    }
+
+    // How searchQuestions used to evaluate a chain: caller order, a new list per strategy.
+    private static List<Question> sequential(StackOverFlowSystem service, List<SearchStretegy> chain) {
+        List<Question> results = service.getSearchIndex().getAllQuestions();
+        for (SearchStretegy stretegy : chain) {
+            results = stretegy.search(results);
+        }
+        return results;
+    }
+
+    private static double time(Supplier<List<Question>> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        int runs = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+}
@@ -1,121 +1,312 @@
 package org.example.DesignPatterns.Questions.StackOverFlow;
 
+import org.example.DesignPatterns.Questions.StackOverFlow.concurrent.StripedLocks;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.*;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Commentable;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Votable;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.ReputationType;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.QuestionPage;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.TextHit;
+import org.example.DesignPatterns.Questions.StackOverFlow.leaderboard.HotQuestions;
+import org.example.DesignPatterns.Questions.StackOverFlow.reputation.ReputationEngine;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchPlan;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchPlanner;
 import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchStretegy;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.EntityCache;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.EntityLoader;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.StorageEngine;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagCount;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagService;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Safe to call from many threads. Entity maps are concurrent, answers, comments and votes are
+ * lock-free appends, accepting an answer locks only its question's stripe, and the search indexes
+ * sit behind a read-write lock. Reputation is applied asynchronously by the ReputationEngine.
+ *
+ * With a StorageEngine attached every write is persisted, and users, questions and answers that are
+ * not in memory are loaded from storage on demand into bounded caches. The search, tag, reputation
+ * and hot-question indexes stay in memory and are rebuilt from the stored questions when storage is
+ * attached; they hold ids and resolve entities through the caches, so the caches' bound holds
+ * system-wide.
+ */
 public class StackOverFlowSystem {
-    private static StackOverFlowSystem instance;
-    private Map<UUID, User> users;
-    private  Map<UUID, Question> questions;
-    private Map<UUID, Answer> answers;
-    private Map<UUID, Tags> tags;
+    private static volatile StackOverFlowSystem instance;
+    private final EntityCache<User> users;
+    private final EntityCache<Question> questions;
+    private final EntityCache<Answer> answers;
+    private final TagService tagService;
+    private volatile StorageEngine storage;
 
-    private Map<UUID, Votable> votableMap;
-
-    private List<SearchStretegy> searchStretegies;
+    private volatile List<SearchStretegy> searchStretegies;
+    private final SearchIndex searchIndex;
+    private final StripedLocks questionLocks;
+    private final ReputationEngine reputationEngine;
+    private final HotQuestions hotQuestions;
 
     private StackOverFlowSystem(){
-        this.users = new HashMap<>();
-        this.questions = new HashMap<>();
-        this.answers = new HashMap<>();
-        this.tags = new HashMap<>();
-        this.votableMap =  new HashMap<>();
+        this.users = new EntityCache<>();
+        this.questions = new EntityCache<>();
+        this.answers = new EntityCache<>();
+        this.tagService = new TagService();
+        this.searchIndex = new SearchIndex(questions::get);
+        this.questionLocks = new StripedLocks(64);
+        this.reputationEngine = new ReputationEngine(users::get);
+        this.hotQuestions = new HotQuestions(100, TimeUnit.HOURS.toMillis(12), TimeUnit.SECONDS.toMillis(1),
+                System::currentTimeMillis, questions::get);
     }
 
     public void setSearchStretegies(List<SearchStretegy> searchStretegies) {
         this.searchStretegies = searchStretegies;
     }
 
+    /**
+     * Persists every write from now on and loads entities that are not in memory from storage,
+     * holding at most cacheCapacity of each kind strongly, and indexes every stored question for
+     * search, tags and hot questions. Must be attached before any user is created.
+     */
+    public synchronized void attachStorage(StorageEngine storage, int cacheCapacity){
+        if(this.storage != null || this.users.size() > 0){
+            throw new IllegalStateException("Storage must be attached once, before any user is created.");
+        }
+        EntityLoader loader = new EntityLoader(storage, users, questions, tagService);
+        this.users.bind(loader::loadUser, cacheCapacity);
+        this.questions.bind(loader::loadQuestion, cacheCapacity);
+        this.answers.bind(loader::loadAnswer, cacheCapacity);
+        this.reputationEngine.setListener(storage::updateReputation);
+        // The in-memory indexes start empty in a new process; fill them from what is stored.
+        storage.forEachQuestionId(id -> {
+            Question question = questions.get(id);
+            if(question != null){
+                reindex(question);
+            }
+        });
+        this.storage = storage;
+    }
+
+    private void reindex(Question question){
+        tagService.tagQuestion(question.getTags());
+        searchIndex.addQuestion(question);
+        for(Answer answer : question.getAnswers()){
+            searchIndex.addAnswer(answer);
+        }
+        // Only the day a question was posted is stored, so its votes and answers count from then.
+        hotQuestions.restore(question, question.getCreationDate().getTime());
+    }
+
     public User createUser(String name, String email){
-        User user = new User(email, name);
+        // A stored user's ordinal is its storage slot, so the engine creates it.
+        User user = storage == null ? new User(email, name) : storage.createUser(email, name);
         this.users.put(user.getId(), user);
         return user;
     }
 
     public Question postQuestion(UUID userId, String content, String title, List<Tags> questionTags){
-        if(!users.containsKey(userId)) {
+        User author = users.get(userId);
+        if(author == null) {
             throw new IllegalArgumentException("No user found with this id.");
         }
 
+        // Every spelling of a tag maps to one shared instance, and repeats are dropped.
+        List<Tags> canonicalTags = tagService.tagQuestion(questionTags);
         Question question = new Question(
-                title, content, users.get(userId), questionTags
+                title, content, author, canonicalTags
         );
+        if(storage != null){
+            storage.insertQuestion(question);
+        }
 
-        this.questions.put(question.getId(), question);
-        this.votableMap.put(question.getId(), question);
-
-        return question;
+        // Indexed before it is published, so an answer can never reach the index ahead of its question.
+        // A search in between may already have loaded it from storage; that copy is the one kept.
+        this.searchIndex.addQuestion(question);
+        return this.questions.putIfAbsent(question.getId(), question);
     }
 
     public Answer postAnswer(UUID userId, UUID questionId, String content){
-        if(!users.containsKey(userId)){
+        User author = users.get(userId);
+        if(author == null){
             throw new IllegalArgumentException("No user found with this id." + userId);
         }
 
-        if(!questions.containsKey(questionId)){
+        Question question = questions.get(questionId);
+        if(question == null){
             throw new IllegalArgumentException("No question found with this id." + questionId);
         }
 
-        Question question =questions.get(questionId);
-
         Answer answer = new Answer(
                 content,
-                users.get(userId),
+                author,
                 question
         );
+        if(storage != null){
+            storage.insertAnswer(answer);
+        }
 
-        answers.put(answer.getId(), answer);
-        this.votableMap.put(answer.getId(), question);
         question.addAnswer(answer);
+        this.searchIndex.addAnswer(answer);
+        answers.put(answer.getId(), answer);
+        this.hotQuestions.onAnswer(question);
 
         return answer;
     }
     public Comment addComment(UUID userId, Commentable commentable, String content){
-        if(!users.containsKey(userId)){
+        User author = users.get(userId);
+        if(author == null){
             throw new IllegalArgumentException("No user found with this id." + userId);
         }
-        Comment comment = new Comment(content, users.get(userId));
+        Comment comment = new Comment(content, author);
+        if(storage != null){
+            storage.insertComment(commentable.getId(), comment);
+        }
         commentable.addComment(comment);
         return comment;
     }
 
     public void vote(UUID userId, UUID votableId, VoteType voteType){
-        if(!users.containsKey(userId)){
+        User user = users.get(userId);
+        if(user == null){
             throw new IllegalArgumentException("No user found with this id." + userId);
         }
-        if(!votableMap.containsKey(votableId)){
-            throw new IllegalArgumentException("No Votable found with this id." + userId);
+        Votable votable = questions.get(votableId);
+        if(votable == null){
+            votable = answers.get(votableId);
+        }
+        if(votable == null){
+            throw new IllegalArgumentException("No Votable found with this id." + votableId);
+        }
+        // Recorded in memory first, where a duplicate vote is rejected.
+        votable.vote(user, voteType);
+        if(storage != null){
+            storage.recordVote(votableId, user, voteType);
+        }
+        if(votable instanceof Question){
+            hotQuestions.onVote((Question) votable, voteType);
+        }
+        // Voting on your own post does not change your reputation.
+        if(votable.getAuthor() != user){
+            reputationEngine.publish(votable.getAuthor(), ReputationType.forVote(votable instanceof Answer, voteType));
         }
-        this.votableMap.get(votableId).vote(this.users.get(userId), voteType);
     }
 
     public void acceptAnswer(UUID questionId, UUID answerId){
-        if(!this.questions.containsKey(questionId)){
+        Question question = this.questions.get(questionId);
+        if(question == null){
             throw new IllegalArgumentException("No question found with this id." + questionId);
         }
-        if(!this.answers.containsKey(answerId)){
+        Answer answer = this.answers.get(answerId);
+        if(answer == null){
             throw new IllegalArgumentException("No answer found with this id." + answerId);
         }
+        if(!answer.getQuestion().getId().equals(questionId)){
+            throw new IllegalArgumentException("Answer " + answerId + " does not belong to question " + questionId);
+        }
 
-        this.questions.get(questionId).acceptAnswer(answers.get(answerId));
-        this.answers.get(answerId).acceptAnswer();
+        // The question's accepted answer and the answers' flags change together.
+        Lock lock = questionLocks.get(questionId);
+        lock.lock();
+        try {
+            Answer previous = question.getAcceptedAnswer();
+            if(previous == answer){
+                return;
+            }
+            if(previous != null){
+                previous.revokeAcceptance();
+                if(previous.getAuthor() != question.getAuthor()){
+                    reputationEngine.revoke(previous.getAuthor(), ReputationType.ANSWER_ACCEPTED);
+                }
+            }
+            if(storage != null){
+                storage.acceptAnswer(questionId, answerId);
+            }
+            question.acceptAnswer(answer);
+            answer.acceptAnswer();
+            if(answer.getAuthor() != question.getAuthor()){
+                reputationEngine.publish(answer.getAuthor(), ReputationType.ANSWER_ACCEPTED);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Question viewQuestion(UUID questionId){
+        Question question = questions.get(questionId);
+        if(question == null){
+            throw new IllegalArgumentException("No question found with this id." + questionId);
+        }
+        hotQuestions.onView(question);
+        return question;
+    }
+
+    // Hottest questions by time-decayed votes, answers and views, from a cached snapshot.
+    public List<Question> getHotQuestions(int n){
+        return hotQuestions.getTop(n);
+    }
+
+    public Tags getTag(String name){
+        return tagService.find(name).orElseThrow(() -> new IllegalArgumentException("No tag found with this name." + name));
+    }
+
+    public List<TagCount> autocompleteTags(String prefix, int k){
+        return tagService.autocomplete(prefix, k);
+    }
+
+    public List<TagCount> getRelatedTags(String tagName, int k){
+        return tagService.getRelatedTags(tagName, k);
     }
 
     public List<Question> searchQuestions(){
-        List<Question> results = new ArrayList<>(questions.values());
+        return streamQuestions().collect(Collectors.toList());
+    }
 
-        for(SearchStretegy searchStretegy: searchStretegies){
-            results = searchStretegy.search(results);
+    // Same as searchQuestions, but lazy: nothing is materialized until the stream is consumed.
+    public Stream<Question> streamQuestions(){
+        return planSearch().stream();
+    }
+
+    // A user's questions, newest first. Pass null for the first page, then the previous page's cursor.
+    public QuestionPage getQuestionsByUser(UUID userId, String cursor, int pageSize){
+        if(!users.containsKey(userId)){
+            throw new IllegalArgumentException("No user found with this id." + userId);
         }
+        return searchIndex.getQuestionsByAuthor(userId, cursor, pageSize);
+    }
 
+    public SearchPlan planSearch(){
+        List<SearchStretegy> stretegies = searchStretegies == null ? List.of() : searchStretegies;
+        return searchIndex.read(() -> SearchPlanner.plan(stretegies, searchIndex));
+    }
+
+    // Ranked full-text search over question titles, contents and answers, best match first.
+    public List<Question> search(String query, int k){
+        List<Question> results = new ArrayList<>();
+        for(TextHit hit : searchIndex.read(() -> searchIndex.getTextIndex().search(query, k))){
+            Question question = searchIndex.getQuestion(hit.getOrdinal());
+            if(question != null){
+                results.add(question);
+            }
+        }
         return results;
     }
 
+    public TagService getTagService() {
+        return tagService;
+    }
+
+    public ReputationEngine getReputationEngine() {
+        return reputationEngine;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     public static StackOverFlowSystem getInstance(){
         if(instance == null){
             synchronized (StackOverFlowSystem.class){
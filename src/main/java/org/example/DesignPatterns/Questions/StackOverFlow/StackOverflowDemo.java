@@ -6,9 +6,11 @@ import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.QuestionPage;
 import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchByUserStretegy;
 import org.example.DesignPatterns.Questions.StackOverFlow.search.SearchStretegy;
 import org.example.DesignPatterns.Questions.StackOverFlow.search.TagSearchStrategy;
+import org.example.DesignPatterns.Questions.StackOverFlow.search.TextSearchStrategy;
 
 import java.util.List;
 
@@ -27,25 +29,35 @@ public class StackOverflowDemo {
         Tags designPatternsTag = new Tags("design-patterns");
         List<Tags> tags = List.of(javaTag, designPatternsTag);
         Question question = service.postQuestion(alice.getId(), "How to implement Observer Pattern?", "Details about Observer Pattern...", tags);
-        printReputations(alice, bob, charlie);
+        printReputations(service, alice, bob, charlie);
 
         // 3. Bob and Charlie post answers
         System.out.println("\n--- Bob and Charlie post answers ---");
         Answer bobAnswer = service.postAnswer(bob.getId(), question.getId(), "You can use the java.util.Observer interface.");
         Answer charlieAnswer = service.postAnswer(charlie.getId(), question.getId(), "A better way is to create your own Observer interface.");
-        printReputations(alice, bob, charlie);
+        printReputations(service, alice, bob, charlie);
 
         // 4. Voting happens
         System.out.println("\n--- Voting Occurs ---");
         service.vote(alice.getId(), question.getId(), VoteType.UPVOTE); // Alice upvotes her own question
         service.vote(bob.getId(), charlieAnswer.getId(), VoteType.UPVOTE); // Bob upvotes Charlie's answer
         service.vote(alice.getId(), bobAnswer.getId(), VoteType.DOWNVOTE); // Alice downvotes Bob's answer
-        printReputations(alice, bob, charlie);
+        try {
+            service.vote(alice.getId(), question.getId(), VoteType.UPVOTE); // A second vote is rejected
+        } catch (IllegalStateException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        System.out.printf("Scores: question %d, Bob's answer %d, Charlie's answer %d%n",
+                question.getVoteCount(), bobAnswer.getVoteCount(), charlieAnswer.getVoteCount());
+        printReputations(service, alice, bob, charlie);
 
         // 5. Alice accepts Charlie's answer
         System.out.println("\n--- Alice accepts Charlie's answer ---");
         service.acceptAnswer(question.getId(), charlieAnswer.getId());
-        printReputations(alice, bob, charlie);
+        printReputations(service, alice, bob, charlie);
+
+        // Replaying the history in parallel gives the same reputations.
+        System.out.println("Audit mismatches: " + service.getReputationEngine().audit().size());
 
         // 6. Search for questions
         System.out.println("\n--- (C) Combined Search: Questions by 'Alice' with tag 'java' ---");
@@ -57,9 +69,39 @@ public class StackOverflowDemo {
         service.setSearchStretegies(filtersC);
         List<Question> searchResults = service.searchQuestions();
         searchResults.forEach(q -> System.out.println("  - Found: " + q.getTitle()));
+
+        System.out.println("\n--- Tag AND / OR search ---");
+        Tags concurrencyTag = new Tags("concurrency");
+        service.postQuestion(bob.getId(), "Is HashMap thread safe?", "Details about HashMap...", List.of(new Tags("Java"), concurrencyTag));
+        service.setSearchStretegies(List.of(TagSearchStrategy.allOf(javaTag, concurrencyTag)));
+        service.searchQuestions().forEach(q -> System.out.println("  - java AND concurrency: " + q.getTitle()));
+        service.setSearchStretegies(List.of(TagSearchStrategy.anyOf(designPatternsTag, concurrencyTag)));
+        service.searchQuestions().forEach(q -> System.out.println("  - design-patterns OR concurrency: " + q.getTitle()));
+
+        System.out.println("\n--- Full-text search: 'observer interface' ---");
+        service.search("observer interface", 5).forEach(q -> System.out.println("  - Ranked: " + q.getTitle()));
+        service.setSearchStretegies(List.of(new TextSearchStrategy("thread safe"), new TagSearchStrategy(javaTag)));
+        service.searchQuestions().forEach(q -> System.out.println("  - 'thread safe' with tag java: " + q.getTitle()));
+        System.out.println("  Plan: " + service.planSearch().getSteps());
+
+        System.out.println("\n--- Tags ---");
+        System.out.println("  'Java' and 'java' share one instance: " + (service.getTag("Java") == service.getTag("java")));
+        System.out.println("  Autocomplete 'c': " + service.autocompleteTags("c", 5));
+        System.out.println("  Related to java: " + service.getRelatedTags("java", 5));
+
+        System.out.println("\n--- Bob's questions, newest first, one per page ---");
+        service.postQuestion(bob.getId(), "Why is my stream not lazy?", "Details about streams...", List.of(javaTag));
+        String cursor = null;
+        do {
+            QuestionPage page = service.getQuestionsByUser(bob.getId(), cursor, 1);
+            page.getQuestions().forEach(q -> System.out.println("  - " + q.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
     }
 
-    private static void printReputations(User... users) {
+    private static void printReputations(StackOverFlowSystem service, User... users) {
+        // Reputation is applied asynchronously; wait for everything published so far.
+        service.getReputationEngine().flush();
         System.out.println("--- Current Reputations ---");
         for(User user : users) {
             System.out.printf("%s: %d\n", user.getName(), user.getReputation());
@@ -0,0 +1,338 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Comment;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.EntityCache;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.EntityLoader;
+import org.example.DesignPatterns.Questions.StackOverFlow.storage.StorageEngine;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagService;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exercises the storage engine three ways: the system persists a small site that is read back
+ * after a clean restart, then takes far more posts than its caches hold while only a bounded
+ * number of them stay in memory, and a new process attaches the same store and searches it; a
+ * child JVM halts without closing its store and the parent recovers it
+ * from the write-ahead log; and a store much larger than the entity caches is read with a skewed
+ * access pattern to show lazy loading and the cache hit rate.
+ * Usage: StorageDemo [questions]
+ */
+public class StorageDemo {
+    private static final int CRASH_USERS = 1_000;
+    private static final int CRASH_QUESTIONS = 20_000;
+    private static final int SYSTEM_CACHE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("crash-child")) {
+            writeAndHalt(Path.of(args[1]));
+            return;
+        }
+        if (args.length == 2 && args[0].equals("restart-child")) {
+            searchAfterRestart(Path.of(args[1]));
+            return;
+        }
+        int questionCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path root = Files.createTempDirectory("stackoverflow-storage");
+        try {
+            restartRoundTrip(root.resolve("site"), Math.max(1, questionCount / 4));
+            crashRecovery(root.resolve("crash"));
+            largeWorkingSet(root.resolve("large"), questionCount);
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    private static void restartRoundTrip(Path directory, int bulkQuestions) throws IOException {
+        StorageEngine storage = StorageEngine.open(directory, 5);
+        StackOverFlowSystem service = StackOverFlowSystem.getInstance();
+        service.attachStorage(storage, SYSTEM_CACHE);
+
+        User alice = service.createUser("Alice", "alice@example.com");
+        User bob = service.createUser("Bob", "bob@example.com");
+        User carol = service.createUser("Carol", "carol@example.com");
+        Question question = service.postQuestion(alice.getId(), "How do I flush a MappedByteBuffer?",
+                "Is force() enough?", List.of(new Tags("java"), new Tags("nio")));
+        Answer first = service.postAnswer(bob.getId(), question.getId(), "Call force() on the buffer.");
+        Answer second = service.postAnswer(carol.getId(), question.getId(), "force() plus fsync of the directory for new files.");
+        service.addComment(carol.getId(), question, "Which JDK?");
+        service.addComment(alice.getId(), second, "Thanks, that was the missing piece.");
+        service.vote(bob.getId(), question.getId(), VoteType.UPVOTE);
+        service.vote(carol.getId(), question.getId(), VoteType.UPVOTE);
+        service.vote(alice.getId(), first.getId(), VoteType.DOWNVOTE);
+        service.vote(alice.getId(), second.getId(), VoteType.UPVOTE);
+        service.acceptAnswer(question.getId(), first.getId());
+        service.acceptAnswer(question.getId(), second.getId());
+        service.getReputationEngine().flush();
+        boundedSystem(service, bulkQuestions);
+        storage.close();
+
+        storage = StorageEngine.open(directory, 5);
+        EntityCache<User> users = new EntityCache<>();
+        EntityCache<Question> questions = new EntityCache<>();
+        EntityCache<Answer> answers = new EntityCache<>();
+        EntityLoader loader = new EntityLoader(storage, users, questions, new TagService());
+        users.bind(loader::loadUser, 1_000);
+        questions.bind(loader::loadQuestion, 1_000);
+        answers.bind(loader::loadAnswer, 1_000);
+
+        Question restored = questions.get(question.getId());
+        Answer restoredSecond = answers.get(second.getId());
+        System.out.println("Clean restart (replayed " + storage.getRecoveredMutations() + " mutations)");
+        System.out.println("  " + restored.getTitle() + " by " + restored.getAuthor().getName() + ", tags "
+                + restored.getTags().stream().map(Tags::getName).toList() + ", score " + restored.getVoteCount());
+        for (Answer answer : restored.getAnswers()) {
+            System.out.println("  answer by " + answer.getAuthor().getName() + ": score " + answer.getVoteCount()
+                    + (answer.isAccepted() ? ", accepted" : "") + ", " + answer.getComments().size() + " comment(s)");
+        }
+        List<String> mismatches = new ArrayList<>();
+        check(mismatches, "question score", restored.getVoteCount() == question.getVoteCount());
+        check(mismatches, "answers", restored.getAnswers().size() == 2);
+        check(mismatches, "accepted answer", restored.getAcceptedAnswer() == restoredSecond && !restored.getAnswers().get(0).isAccepted());
+        check(mismatches, "answer identity", restoredSecond.getQuestion() == restored);
+        check(mismatches, "comments", restored.getComments().get(0).getContent().equals("Which JDK?")
+                && restoredSecond.getComments().size() == 1);
+        check(mismatches, "shared author", restored.getComments().get(0).getAuthor() == users.get(carol.getId()));
+        check(mismatches, "duplicate vote rejected", restored.hasVoted(users.get(bob.getId())));
+        for (User user : List.of(alice, bob, carol)) {
+            check(mismatches, user.getName() + " reputation", users.get(user.getId()).getReputation() == user.getReputation());
+        }
+        System.out.println("  reputations alice/bob/carol: " + users.get(alice.getId()).getReputation() + "/"
+                + users.get(bob.getId()).getReputation() + "/" + users.get(carol.getId()).getReputation());
+        System.out.println("  " + (mismatches.isEmpty() ? "all fields match" : "MISMATCH: " + mismatches));
+        storage.close();
+
+        // The system is a process-wide singleton, so restarting it means a new process.
+        Process child = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), StorageDemo.class.getName(), "restart-child", directory.toString())
+                .inheritIO().start();
+        try {
+            child.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs in the child JVM: attaches the stored site to a fresh system and searches it.
+    private static void searchAfterRestart(Path directory) throws IOException {
+        StorageEngine storage = StorageEngine.open(directory, 5);
+        StackOverFlowSystem service = StackOverFlowSystem.getInstance();
+        long start = System.nanoTime();
+        service.attachStorage(storage, SYSTEM_CACHE);
+        long attachMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Question> found = service.search("flush mappedbytebuffer", 1);
+        Question question = found.isEmpty() ? null : found.get(0);
+        List<Question> byAuthor = question == null ? List.of()
+                : service.getQuestionsByUser(question.getAuthor().getId(), null, 10).getQuestions();
+        List<Question> hottest = service.getHotQuestions(1);
+        System.out.printf("System restart: attached and re-indexed in %,d ms%n", attachMillis);
+        System.out.println("  search \"flush mappedbytebuffer\": " + (question == null ? "nothing" : question.getTitle())
+                + ", by the same author: " + byAuthor.stream().map(Question::getTitle).toList());
+        System.out.println("  autocomplete \"n\": " + service.autocompleteTags("n", 3)
+                + ", related to java: " + service.getRelatedTags("java", 3)
+                + ", hottest: " + (hottest.isEmpty() ? "none" : hottest.get(0).getTitle()));
+        List<String> mismatches = new ArrayList<>();
+        check(mismatches, "text search", question != null && question.getTitle().equals("Is force() enough?"));
+        check(mismatches, "questions by author", byAuthor.size() == 1 && byAuthor.get(0) == question);
+        check(mismatches, "tags", service.getTagService().getQuestionCount("nio") == 1);
+        check(mismatches, "hot questions", !hottest.isEmpty());
+        System.out.println("  " + (mismatches.isEmpty() ? "stored questions are searchable" : "MISMATCH: " + mismatches));
+        storage.close();
+    }
+
+    // Posts through the system keeping only weak references, so whatever is still reachable after a
+    // GC is held by the system itself: its caches and any index that keeps entities.
+    private static void boundedSystem(StackOverFlowSystem service, int count) {
+        List<User> posters = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            posters.add(service.createUser("Poster" + i, "poster" + i + "@example.com"));
+        }
+        List<WeakReference<Question>> posted = new ArrayList<>(count);
+        UUID[] ids = new UUID[count];
+        Tags tag = new Tags("bulk");
+        String padding = "x".repeat(400);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Question question = service.postQuestion(posters.get(i % posters.size()).getId(),
+                    (i == 0 ? "needle " : "") + "Body of question " + i + " " + padding, "Bulk question " + i, List.of(tag));
+            service.postAnswer(posters.get((i + 1) % posters.size()).getId(), question.getId(), "Answer to " + i);
+            service.vote(posters.get((i + 2) % posters.size()).getId(), question.getId(), VoteType.UPVOTE);
+            ids[i] = question.getId();
+            posted.add(new WeakReference<>(question));
+        }
+        service.getReputationEngine().flush();
+        long writeMillis = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        long inMemory = posted.stream().filter(reference -> reference.get() != null).count();
+
+        // The first question has long been evicted; both lookups load it back from storage.
+        Question first = service.viewQuestion(ids[0]);
+        List<Question> found = service.search("needle", 1);
+        boolean reloaded = first.getAnswers().size() == 1 && first.getVoteCount() == 1
+                && found.size() == 1 && found.get(0) == first;
+        int auditMismatches = service.getReputationEngine().audit().size();
+        System.out.printf("Through the system: %,d questions with answers and votes posted in %,d ms with %,d-entry caches%n",
+                count, writeMillis, SYSTEM_CACHE);
+        System.out.printf("  questions in memory after GC: %,d of %,d (%s), heap in use %,d MB%n", inMemory, count,
+                inMemory <= 3L * SYSTEM_CACHE ? "bounded" : "UNBOUNDED", heapUsed >> 20);
+        System.out.println("  evicted question reloaded by view and search: " + (reloaded ? "ok" : "WRONG")
+                + ", reputation audit mismatches: " + auditMismatches);
+    }
+
+    private static void crashRecovery(Path directory) throws Exception {
+        Process child = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), StorageDemo.class.getName(), "crash-child", directory.toString())
+                .inheritIO().start();
+        int exit = child.waitFor();
+
+        StorageEngine storage = StorageEngine.open(directory, 5);
+        EntityCache<User> users = new EntityCache<>();
+        EntityCache<Question> questions = new EntityCache<>();
+        EntityLoader loader = new EntityLoader(storage, users, questions, new TagService());
+        users.bind(loader::loadUser, 1_000);
+        questions.bind(loader::loadQuestion, 1_000);
+        List<String> lines = Files.readAllLines(directory.resolve("written.ids"));
+        int found = 0;
+        long votes = 0;
+        for (String line : lines) {
+            Question question = questions.get(UUID.fromString(line));
+            if (question != null) {
+                found++;
+                votes += question.getUpvoteCount();
+            }
+        }
+        System.out.printf("Crash recovery: child exited with %d; recovered in %d ms, replayed %,d mutations, index %s%n",
+                exit, storage.getRecoveryMillis(), storage.getRecoveredMutations(), storage.isIndexRebuilt() ? "rebuilt" : "trusted");
+        System.out.printf("  %,d of %,d acknowledged questions found, %,d upvotes (expected %,d)%n",
+                found, lines.size(), votes, (long) lines.size() * 3);
+        storage.close();
+    }
+
+    // Runs in the child JVM: writes, waits until the writes are durable, records them, and halts.
+    private static void writeAndHalt(Path directory) throws IOException {
+        StorageEngine storage = StorageEngine.open(directory, 5);
+        Random random = new Random(7);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < CRASH_USERS; i++) {
+            users.add(storage.createUser("user" + i + "@example.com", "User" + i));
+        }
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CRASH_QUESTIONS; i++) {
+            Question question = new Question("Question " + i, "content " + i, users.get(random.nextInt(CRASH_USERS)), List.of());
+            storage.insertQuestion(question);
+            for (int v = 0; v < 3; v++) {
+                storage.recordVote(question.getId(), users.get((i + v) % CRASH_USERS), VoteType.UPVOTE);
+            }
+            ids.add(question.getId().toString());
+        }
+        storage.flush();
+        Files.write(directory.resolve("written.ids"), ids);
+        // Never acknowledged, so recovery may or may not have them.
+        for (int i = 0; i < 1_000; i++) {
+            storage.insertQuestion(new Question("Unflushed " + i, "content", users.get(0), List.of()));
+        }
+        Runtime.getRuntime().halt(0);
+    }
+
+    private static void largeWorkingSet(Path directory, int questionCount) throws IOException {
+        int userCount = Math.max(1, questionCount / 10);
+        StorageEngine storage = StorageEngine.open(directory, 5);
+        Random random = new Random(42);
+        User[] users = new User[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = storage.createUser("user" + i + "@example.com", "User" + i);
+        }
+        UUID[] questionIds = new UUID[questionCount];
+        String padding = "x".repeat(400);
+        long start = System.nanoTime();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question("Question " + i, "Body of question " + i + " " + padding,
+                    users[random.nextInt(userCount)], List.of(new Tags("tag" + (i % 100))));
+            storage.insertQuestion(question);
+            Answer answer = new Answer("Answer to " + i + " " + padding, users[random.nextInt(userCount)], question);
+            storage.insertAnswer(answer);
+            storage.insertComment(answer.getId(), new Comment("Nice", users[random.nextInt(userCount)]));
+            for (int v = 0; v < 5; v++) {
+                storage.recordVote(question.getId(), users[(i + v) % userCount], VoteType.UPVOTE);
+            }
+            questionIds[i] = question.getId();
+        }
+        storage.flush();
+        long writeMillis = (System.nanoTime() - start) / 1_000_000;
+        storage.close();
+        users = null;
+        long onDisk = directorySize(directory);
+        System.out.printf("Large store: %,d questions with answers, comments and %,d votes written in %,d ms (%,d mutations/s), %,d MB of files%n",
+                questionCount, questionCount * 5L, writeMillis, questionCount * 8L * 1000 / Math.max(1, writeMillis), onDisk >> 20);
+
+        storage = StorageEngine.open(directory, 5);
+        EntityCache<User> userCache = new EntityCache<>();
+        EntityCache<Question> questionCache = new EntityCache<>();
+        EntityLoader loader = new EntityLoader(storage, userCache, questionCache, new TagService());
+        int capacity = Math.max(16, questionCount / 100);
+        userCache.bind(loader::loadUser, capacity);
+        questionCache.bind(loader::loadQuestion, capacity);
+
+        // 90% of reads go to a hot 1% of the questions, the rest anywhere.
+        int reads = 500_000;
+        int hot = Math.max(1, questionCount / 100);
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            int target = random.nextInt(10) < 9 ? random.nextInt(hot) : random.nextInt(questionCount);
+            Question question = questionCache.get(questionIds[target]);
+            checksum += question.getVoteCount() + question.getAnswers().size();
+        }
+        long readNanos = System.nanoTime() - start;
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        long hits = questionCache.getHits();
+        System.out.printf("  %,d skewed reads with a %,d-entry cache: %.0f ns/read, hit rate %.1f%%, %,d loads, checksum %s%n",
+                reads, capacity, (double) readNanos / reads, 100.0 * hits / reads, questionCache.getLoads(),
+                checksum == reads * 6L ? "ok" : "WRONG");
+        System.out.printf("  heap in use after GC: %,d MB, questions in memory: %,d of %,d%n",
+                heapUsed >> 20, questionCache.size(), questionCount);
+        storage.close();
+    }
+
+    private static void check(List<String> mismatches, String what, boolean ok) {
+        if (!ok) {
+            mismatches.add(what);
+        }
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                total += Files.size(file);
+            }
+        }
+        return total;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagCount;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Loads a synthetic tag vocabulary with Zipf-like usage into TagService, checks autocomplete
+ * against a brute-force scan and measures autocomplete and related-tag lookups.
+ * Usage: TagServiceDemo [tags] [questions]
+ */
+public class TagServiceDemo {
+    private static final String[] STEMS = {"java", "javascript", "python", "spring", "react", "android", "sql", "docker",
+            "kotlin", "scala", "rust", "go", "node", "angular", "swift", "css", "html", "linux", "git", "aws"};
+    private static final String[] SUFFIXES = {"", "-boot", "-8", "-11", "-17", "-streams", "-security", "-testing",
+            "-hooks", "-performance", "-generics", "-collections", "-concurrency", "-compose", "-data", "-mvc"};
+
+    public static void main(String[] args) {
+        int tagCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int questionCount = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        TagService service = new TagService();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; names.size() < tagCount; i++) {
+            String stem = STEMS[i % STEMS.length];
+            String suffix = SUFFIXES[(i / STEMS.length) % SUFFIXES.length];
+            int round = i / (STEMS.length * SUFFIXES.length);
+            names.add(round == 0 ? stem + suffix : stem + suffix + "-" + round);
+        }
+
+        Random random = new Random(5);
+        long start = System.nanoTime();
+        for (int q = 0; q < questionCount; q++) {
+            List<Tags> tags = new ArrayList<>();
+            int perQuestion = 1 + random.nextInt(4);
+            for (int t = 0; t < perQuestion; t++) {
+                double r = random.nextDouble();
+                // Mixed case on purpose: interning must fold "Java" and "java" together.
+                String name = names.get((int) (tagCount * r * r * r));
+                tags.add(new Tags(random.nextBoolean() ? name : name.toUpperCase()));
+            }
+            service.tagQuestion(tags);
+        }
+        System.out.printf("%,d questions over %,d distinct tags loaded in %d ms%n", questionCount, service.getTagCount(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (String name : names) {
+            counts.put(name, service.getQuestionCount(name));
+        }
+        for (String prefix : new String[]{"", "j", "java", "spring-b", "python-test", "zzz"}) {
+            List<TagCount> completions = service.autocomplete(prefix, 5);
+            List<Integer> expected = counts.entrySet().stream().filter(e -> e.getKey().startsWith(prefix) && e.getValue() > 0)
+                    .map(Map.Entry::getValue).sorted(Comparator.reverseOrder()).limit(5).toList();
+            boolean same = completions.stream().map(TagCount::getCount).toList().equals(expected);
+            int runs = 100_000;
+            long begin = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                service.autocomplete(prefix, 5);
+            }
+            System.out.printf("autocomplete %-14s %6.2f us  %s  matches brute force: %b%n", '"' + prefix + '"',
+                    (System.nanoTime() - begin) / 1e3 / runs, completions, same);
+        }
+
+        int runs = 10_000;
+        long begin = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            service.getRelatedTags("java", 5);
+        }
+        System.out.printf("related to java %.2f us: %s%n", (System.nanoTime() - begin) / 1e3 / runs, service.getRelatedTags("Java", 5));
+    }
+}
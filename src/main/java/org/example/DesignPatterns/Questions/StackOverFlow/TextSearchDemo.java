@@ -0,0 +1,88 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.TextHit;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.TextIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Indexes a synthetic corpus, checks that WAND top-k returns the same documents as scoring every
+ * match, and compares their speed.
+ * Usage: TextSearchDemo [questions]
+ */
+public class TextSearchDemo {
+    private static final String[] WORDS = {
+            "java", "stream", "thread", "lock", "hashmap", "observer", "pattern", "spring", "bean",
+            "gradle", "maven", "jvm", "garbage", "collector", "lambda", "generic", "interface",
+            "exception", "null", "pointer", "concurrency", "deadlock", "latency", "socket", "json",
+            "parser", "regex", "unicode", "reflection", "annotation", "singleton", "factory", "builder",
+            "visitor", "iterator", "optional", "record", "enum", "switch", "module", "classpath"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        StackOverFlowSystem service = StackOverFlowSystem.getInstance();
+        User author = service.createUser("Author", "author@gmail.com");
+        User answerer = service.createUser("Answerer", "answerer@gmail.com");
+        Random random = new Random(7);
+
+        long start = System.nanoTime();
+        List<Question> posted = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            posted.add(service.postQuestion(author.getId(), sentence(random, 40), sentence(random, 8), List.of(new Tags(pick(random)))));
+            if (i > 0 && random.nextInt(3) == 0) {
+                // Answers often land on older questions, which exercises the pending-merge path.
+                Question older = posted.get(random.nextInt(posted.size()));
+                service.postAnswer(answerer.getId(), older.getId(), sentence(random, 20));
+            }
+        }
+        TextIndex textIndex = service.getSearchIndex().getTextIndex();
+        System.out.printf("Indexed %,d questions in %d ms: %,d terms, %,d bytes of postings%n",
+                count, (System.nanoTime() - start) / 1_000_000, textIndex.getTermCount(), textIndex.getEncodedBytes());
+
+        String[] queries = {"deadlock thread lock", "java stream lambda", "singleton factory builder visitor", "regex unicode"};
+        for (String query : queries) {
+            List<TextHit> top = textIndex.search(query, 10);
+            List<TextHit> all = textIndex.search(query, Integer.MAX_VALUE);
+            boolean same = top.size() == Math.min(10, all.size());
+            for (int i = 0; same && i < top.size(); i++) {
+                same = Math.abs(top.get(i).getScore() - all.get(i).getScore()) < 1e-9;
+            }
+            System.out.printf("%-36s top-10 %8.1f us, full ranking %8.1f us, same results: %b%n", '"' + query + '"',
+                    time(() -> textIndex.search(query, 10)), time(() -> textIndex.search(query, Integer.MAX_VALUE)), same);
+        }
+
+        System.out.println("\nBest matches for \"deadlock thread lock\":");
+        service.search("deadlock thread lock", 3).forEach(q -> System.out.println("  - " + q.getTitle()));
+    }
+
+    private static double time(Runnable query) {
+        for (int i = 0; i < 20; i++) {
+            query.run();
+        }
+        int runs = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / runs;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(pick(random));
+        }
+        return text.toString();
+    }
+
+    // Skewed so a few words are common and most are rare, like real text.
+    private static String pick(Random random) {
+        double r = random.nextDouble();
+        return WORDS[(int) (WORDS.length * r * r * r)];
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.DesignPatterns.Questions.StackOverFlow;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Vote;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rough retained-heap cost per vote: aggregated tallies versus one Vote object per vote in a
+ * list, and how long it takes to cast them.
+ * Usage: VoteFootprintDemo [voters] [questions]
+ */
+public class VoteFootprintDemo {
+    public static void main(String[] args) {
+        int voterCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int questionCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long votes = (long) voterCount * questionCount;
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < voterCount; i++) {
+            voters.add(new User("voter" + i + "@gmail.com", "Voter" + i));
+        }
+        User author = new User("author@gmail.com", "Author");
+        List<Question> questions = new ArrayList<>();
+        for (int q = 0; q < questionCount; q++) {
+            questions.add(new Question("Question " + q, "content", author, List.of()));
+        }
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        for (Question question : questions) {
+            for (User voter : voters) {
+                question.vote(voter, voter.getOrdinal() % 5 == 0 ? VoteType.DOWNVOTE : VoteType.UPVOTE);
+            }
+        }
+        long tallyNanos = System.nanoTime() - start;
+        long tallyBytes = usedHeap() - before;
+
+        before = usedHeap();
+        start = System.nanoTime();
+        List<List<Vote>> lists = new ArrayList<>();
+        for (int q = 0; q < questionCount; q++) {
+            List<Vote> list = new ArrayList<>();
+            for (User voter : voters) {
+                list.add(new Vote(voter, voter.getOrdinal() % 5 == 0 ? VoteType.DOWNVOTE : VoteType.UPVOTE));
+            }
+            lists.add(list);
+        }
+        long listNanos = System.nanoTime() - start;
+        long listBytes = usedHeap() - before;
+
+        boolean duplicateRejected = false;
+        try {
+            questions.get(0).vote(voters.get(0), VoteType.UPVOTE);
+        } catch (IllegalStateException e) {
+            duplicateRejected = true;
+        }
+
+        System.out.printf("%,d votes%n", votes);
+        System.out.printf("tallies:      %,d bytes (%.1f per vote), %.1f ns per vote%n", tallyBytes, (double) tallyBytes / votes, (double) tallyNanos / votes);
+        System.out.printf("vote objects: %,d bytes (%.1f per vote), %.1f ns per vote%n", listBytes, (double) listBytes / votes, (double) listNanos / votes);
+        System.out.printf("score of question 0: %d (%d up, %d down), duplicate vote rejected: %b%n", questions.get(0).getVoteCount(),
+                questions.get(0).getUpvoteCount(), questions.get(0).getDownvoteCount(), duplicateRejected);
+        System.out.println("kept alive: " + questions.size() + " + " + lists.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.concurrent;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free list that only grows. A writer claims an index with one atomic increment and fills
+ * the slot; chunks double in size and are installed by CAS, so nothing is ever copied. Readers see
+ * the longest prefix of filled slots, so a list handed out never shows a gap or a null.
+ */
+public class AppendOnlyList<T> extends AbstractList<T> {
+    private static final int FIRST_CHUNK_BITS = 3;
+
+    // Chunk k holds 8 << k elements, so 29 chunks cover every int index.
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks = new AtomicReferenceArray<>(29);
+    private final AtomicInteger claimed = new AtomicInteger();
+    // Every slot below this is filled. Only a hint: a stale value just means a longer scan.
+    private volatile int published;
+
+    @Override
+    public boolean add(T value) {
+        Objects.requireNonNull(value);
+        int index = claimed.getAndIncrement();
+        int position = index + (1 << FIRST_CHUNK_BITS);
+        int chunk = chunkOf(position);
+        AtomicReferenceArray<T> slots = chunks.get(chunk);
+        if (slots == null) {
+            chunks.compareAndSet(chunk, null, new AtomicReferenceArray<>(1 << (chunk + FIRST_CHUNK_BITS)));
+            slots = chunks.get(chunk);
+        }
+        slots.set(position - (1 << (chunk + FIRST_CHUNK_BITS)), value);
+        return true;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        return slot(index);
+    }
+
+    @Override
+    public int size() {
+        int size = published;
+        int limit = claimed.get();
+        while (size < limit && slot(size) != null) {
+            size++;
+        }
+        published = size;
+        return size;
+    }
+
+    private T slot(int index) {
+        int position = index + (1 << FIRST_CHUNK_BITS);
+        int chunk = chunkOf(position);
+        AtomicReferenceArray<T> slots = chunks.get(chunk);
+        return slots == null ? null : slots.get(position - (1 << (chunk + FIRST_CHUNK_BITS)));
+    }
+
+    private static int chunkOf(int position) {
+        return 31 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_BITS;
+    }
+}
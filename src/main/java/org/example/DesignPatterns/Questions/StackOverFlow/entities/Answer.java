@@ -1,12 +1,12 @@
 package org.example.DesignPatterns.Questions.StackOverFlow.entities;
 
+import org.example.DesignPatterns.Questions.StackOverFlow.concurrent.AppendOnlyList;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Commentable;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Votable;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
 
 import java.sql.Date;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,20 +15,25 @@ public class Answer implements Commentable, Votable {
     final private String content;
     final private User author;
     final private Question question;
-    private boolean isAccepted;
+    private volatile boolean isAccepted;
     final private Date creationDate;
     final private List<Comment> comments;
-    final private List<Vote> votes;
+    final private VoteTally votes;
 
     public Answer(String content, User author, Question question){
+        this(UUID.randomUUID(), content, author, question, Date.valueOf(LocalDate.now()));
+    }
+
+    // Restores a stored answer; comments, votes and acceptance are added back afterwards.
+    public Answer(UUID id, String content, User author, Question question, Date creationDate){
         this.author = author;
-        this.id = UUID.randomUUID();
+        this.id = id;
         this.content =content;
         this.question = question;
         this.isAccepted = false;
-        this.comments = new ArrayList<>();
-        this.votes = new ArrayList<>();
-        this.creationDate = Date.valueOf(LocalDate.now());
+        this.comments = new AppendOnlyList<>();
+        this.votes = new VoteTally();
+        this.creationDate = creationDate;
     }
 
     @Override
@@ -43,14 +48,34 @@ public class Answer implements Commentable, Votable {
 
     @Override
     public Votable vote(User user, VoteType voteType) {
-        Vote vote = new Vote(user, voteType);
-        this.votes.add(vote);
+        if (!this.votes.record(user, voteType)) {
+            throw new IllegalStateException(user.getName() + " has already voted on " + this.id);
+        }
         return this;
     }
 
+    @Override
+    public boolean hasVoted(User user) {
+        return this.votes.hasVoted(user);
+    }
+
+    @Override
+    public long getUpvoteCount() {
+        return this.votes.getUpvotes();
+    }
+
+    @Override
+    public long getDownvoteCount() {
+        return this.votes.getDownvotes();
+    }
+
     @Override
     public int getVoteCount() {
-        return this.votes.size();
+        return (int) this.votes.getScore();
+    }
+
+    public void restoreVotes(long upvotes, long downvotes, int[] voterOrdinals) {
+        this.votes.restore(upvotes, downvotes, voterOrdinals);
     }
 
     public Question getQuestion() {
@@ -61,6 +86,10 @@ public class Answer implements Commentable, Votable {
         isAccepted = true;
     }
 
+    public void revokeAcceptance(){
+        isAccepted = false;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -73,6 +102,10 @@ public class Answer implements Commentable, Votable {
         return author;
     }
 
+    public Date getCreationDate() {
+        return creationDate;
+    }
+
     public boolean isAccepted() {
         return isAccepted;
     }
@@ -5,16 +5,20 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 public class Comment {
-    private UUID id;
-    private String content;
-    private User author;
-    private Date creationDate;
+    private final UUID id;
+    private final String content;
+    private final User author;
+    private final Date creationDate;
 
     public Comment(String content, User author) {
+        this(UUID.randomUUID(), content, author, Date.valueOf(LocalDate.now()));
+    }
+
+    public Comment(UUID id, String content, User author, Date creationDate) {
         this.content = content;
         this.author = author;
-        this.id = UUID.randomUUID();
-        this.creationDate = Date.valueOf(LocalDate.now());
+        this.id = id;
+        this.creationDate = creationDate;
     }
 
     public UUID getId() {
@@ -28,4 +32,8 @@ public class Comment {
     public User getAuthor() {
         return author;
     }
+
+    public Date getCreationDate() {
+        return creationDate;
+    }
 }
@@ -1,38 +1,43 @@
 package org.example.DesignPatterns.Questions.StackOverFlow.entities;
 
+import org.example.DesignPatterns.Questions.StackOverFlow.concurrent.AppendOnlyList;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Commentable;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Votable;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
 
 import java.sql.Date;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 public class Question implements Votable, Commentable {
-    private UUID id;
-    private String title;
-    private String content;
-    private User author;
-    private List<Answer> answers;
-    private List<Comment> comments;
-    private List<Tags> tags;
-    private Date creationDate;
-    private Answer acceptedAnswer;
-
-    private List<Vote> votes;
+    private final UUID id;
+    private final String title;
+    private final String content;
+    private final User author;
+    private final List<Answer> answers;
+    private final List<Comment> comments;
+    private final List<Tags> tags;
+    private final Date creationDate;
+    private volatile Answer acceptedAnswer;
+
+    private final VoteTally votes;
 
     public Question(String title, String content, User author, List<Tags> tags) {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID(), title, content, author, tags, Date.valueOf(LocalDate.now()));
+    }
+
+    // Restores a stored question; answers, comments and votes are added back afterwards.
+    public Question(UUID id, String title, String content, User author, List<Tags> tags, Date creationDate) {
+        this.id = id;
         this.title = title;
         this.content = content;
         this.author = author;
-        this.answers = new ArrayList<>();
-        this.comments = new ArrayList<>();
-        this.tags = tags;
-        this.votes = new ArrayList<>();
-        this.creationDate = Date.valueOf(LocalDate.now());
+        this.answers = new AppendOnlyList<>();
+        this.comments = new AppendOnlyList<>();
+        this.tags = tags == null ? List.of() : List.copyOf(tags);
+        this.votes = new VoteTally();
+        this.creationDate = creationDate;
         this.acceptedAnswer = null;
     }
 
@@ -49,11 +54,31 @@ public class Question implements Votable, Commentable {
 
     @Override
     public Votable vote(User user, VoteType voteType) {
-        Vote vote = new Vote(user, voteType);
-        this.votes.add(vote);
+        if (!this.votes.record(user, voteType)) {
+            throw new IllegalStateException(user.getName() + " has already voted on " + this.id);
+        }
         return this;
     }
 
+    @Override
+    public boolean hasVoted(User user) {
+        return this.votes.hasVoted(user);
+    }
+
+    @Override
+    public long getUpvoteCount() {
+        return this.votes.getUpvotes();
+    }
+
+    @Override
+    public long getDownvoteCount() {
+        return this.votes.getDownvotes();
+    }
+
+    public void restoreVotes(long upvotes, long downvotes, int[] voterOrdinals) {
+        this.votes.restore(upvotes, downvotes, voterOrdinals);
+    }
+
     public void addAnswer(Answer answer){
         this.answers.add(answer);
     }
@@ -63,7 +88,7 @@ public class Question implements Votable, Commentable {
     }
 
     public int getVoteCount(){
-        return this.votes.size();
+        return (int) this.votes.getScore();
     }
 
     public UUID getId() {
@@ -98,10 +123,6 @@ public class Question implements Votable, Commentable {
         return acceptedAnswer;
     }
 
-    public List<Vote> getVotes() {
-        return votes;
-    }
-
     @Override
     public String toString() {
         return "Question{" +
@@ -114,7 +135,7 @@ public class Question implements Votable, Commentable {
                 ", tags=" + tags +
                 ", creationDate=" + creationDate +
                 ", acceptedAnswer=" + acceptedAnswer +
-                ", votes=" + votes +
+                ", score=" + votes.getScore() +
                 '}';
     }
 }
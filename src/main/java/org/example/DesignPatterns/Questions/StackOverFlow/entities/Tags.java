@@ -1,10 +1,11 @@
 package org.example.DesignPatterns.Questions.StackOverFlow.entities;
 
+import java.util.Locale;
 import java.util.UUID;
 
 public class Tags {
-    private UUID id;
-    private String name;
+    private final UUID id;
+    private final String name;
 
     public Tags(String name) {
         this.name = name;
@@ -18,6 +19,11 @@ public class Tags {
     public String getName() {
         return name;
     }
+
+    // Tag names compare case-insensitively and ignore surrounding whitespace.
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
 
 
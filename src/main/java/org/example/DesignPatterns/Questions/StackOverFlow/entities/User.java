@@ -2,23 +2,42 @@ package org.example.DesignPatterns.Questions.StackOverFlow.entities;
 
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class User {
-    private UUID id;
-    private String email;
-    private String name;
-    private int reputation;
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+
+    private final UUID id;
+    // Dense per-process number, so per-user sets and arrays can use ints instead of UUIDs.
+    private final int ordinal;
+    private final String email;
+    private final String name;
+    private final AtomicInteger reputation = new AtomicInteger();
 
     public User(String email, String name) {
         this.email = email;
         this.name = name;
         this.id = UUID.randomUUID();
+        this.ordinal = NEXT_ORDINAL.getAndIncrement();
+    }
+
+    // Restores a stored user, whose ordinal is its storage slot.
+    public User(UUID id, String email, String name, int ordinal, int reputation) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.ordinal = ordinal;
+        this.reputation.set(reputation);
     }
 
     public UUID getId() {
         return id;
     }
 
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -28,9 +47,13 @@ public class User {
     }
 
     public int getReputation(){
-        return this.reputation;
+        return this.reputation.get();
     }
-    void updateReputation(int reputation){
-        this.reputation = reputation;
+    public void updateReputation(int reputation){
+        this.reputation.set(reputation);
+    }
+
+    public int addReputation(int delta){
+        return this.reputation.addAndGet(delta);
     }
 }
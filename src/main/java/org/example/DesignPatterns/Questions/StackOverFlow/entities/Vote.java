@@ -3,8 +3,8 @@ package org.example.DesignPatterns.Questions.StackOverFlow.entities;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
 
 public class Vote {
-    private User user;
-    private VoteType voteType;
+    private final User user;
+    private final VoteType voteType;
 
     public Vote(User user, VoteType voteType) {
         this.user = user;
@@ -0,0 +1,93 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.entities;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated votes of one votable: up and down counters plus the ordinals of the users who have
+ * voted, kept in an open-addressing int set so a vote costs a few bytes instead of an object.
+ * Counters are read without locking; only the duplicate check takes the tally's monitor.
+ */
+class VoteTally {
+    private static final int EMPTY = -1;
+
+    private final LongAdder upvotes = new LongAdder();
+    private final LongAdder downvotes = new LongAdder();
+    private int[] voters;
+    private int voterCount;
+
+    // Returns false, counting nothing, if the user has already voted.
+    boolean record(User user, VoteType voteType) {
+        if (!addVoter(user.getOrdinal())) {
+            return false;
+        }
+        (voteType == VoteType.UPVOTE ? upvotes : downvotes).increment();
+        return true;
+    }
+
+    // Loads stored counts and voters into an empty tally.
+    void restore(long up, long down, int[] voterOrdinals) {
+        for (int ordinal : voterOrdinals) {
+            addVoter(ordinal);
+        }
+        upvotes.add(up);
+        downvotes.add(down);
+    }
+
+    synchronized boolean hasVoted(User user) {
+        return voters != null && voters[slot(voters, user.getOrdinal())] != EMPTY;
+    }
+
+    long getUpvotes() {
+        return upvotes.sum();
+    }
+
+    long getDownvotes() {
+        return downvotes.sum();
+    }
+
+    long getScore() {
+        return upvotes.sum() - downvotes.sum();
+    }
+
+    private synchronized boolean addVoter(int ordinal) {
+        if (voters == null) {
+            voters = newTable(4);
+        }
+        int slot = slot(voters, ordinal);
+        if (voters[slot] == ordinal) {
+            return false;
+        }
+        voters[slot] = ordinal;
+        // Kept at most three quarters full so probe sequences stay short.
+        if (++voterCount * 4 > voters.length * 3) {
+            int[] old = voters;
+            voters = newTable(old.length * 2);
+            for (int voter : old) {
+                if (voter != EMPTY) {
+                    voters[slot(voters, voter)] = voter;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Slot holding ordinal, or the empty slot where it would go. Linear probing.
+    private static int slot(int[] table, int ordinal) {
+        int mask = table.length - 1;
+        int hash = ordinal * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != EMPTY && table[slot] != ordinal) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
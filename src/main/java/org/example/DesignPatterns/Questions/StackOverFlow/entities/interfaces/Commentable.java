@@ -3,8 +3,10 @@ package org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.Comment;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface Commentable {
+    UUID getId();
     void addComment(Comment comment);
     List<Comment> getComments();
 }
@@ -4,7 +4,17 @@ import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
 import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
 
 public interface Votable {
+    // Throws IllegalStateException if the user has already voted on this votable.
     public Votable vote(User user, VoteType voteType);
 
+    public boolean hasVoted(User user);
+
+    public User getAuthor();
+
+    // Net score: upvotes minus downvotes.
     public int getVoteCount();
+
+    public long getUpvoteCount();
+
+    public long getDownvoteCount();
 }
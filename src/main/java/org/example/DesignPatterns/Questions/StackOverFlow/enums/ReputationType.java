@@ -1,8 +1,25 @@
 package org.example.DesignPatterns.Questions.StackOverFlow.enums;
 
 public enum ReputationType {
-    QUESTION_UPVOTE,
-    QUESTION_DOWNVOTE,
-    ANSWER_UPVOTE, ANSWER_DOWNVOTE,
-    ANSWER_ACCEPTED
-}
\ No newline at end of file
+    QUESTION_UPVOTE(5),
+    QUESTION_DOWNVOTE(-2),
+    ANSWER_UPVOTE(10), ANSWER_DOWNVOTE(-2),
+    ANSWER_ACCEPTED(15);
+
+    private final int points;
+
+    ReputationType(int points) {
+        this.points = points;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public static ReputationType forVote(boolean onAnswer, VoteType voteType) {
+        if (onAnswer) {
+            return voteType == VoteType.UPVOTE ? ANSWER_UPVOTE : ANSWER_DOWNVOTE;
+        }
+        return voteType == VoteType.UPVOTE ? QUESTION_UPVOTE : QUESTION_DOWNVOTE;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Secondary index from author id to the ordinals of the author's questions, oldest first.
+ */
+public class AuthorIndex {
+    private final Map<UUID, PostingList> postings = new HashMap<>();
+
+    public void add(int ordinal, UUID authorId) {
+        postings.computeIfAbsent(authorId, id -> new PostingList()).add(ordinal);
+    }
+
+    public int[] getPostings(UUID authorId) {
+        PostingList list = postings.get(authorId);
+        return list == null ? PostingList.empty() : list.toArray();
+    }
+
+    public int getQuestionCount(UUID authorId) {
+        PostingList list = postings.get(authorId);
+        return list == null ? 0 : list.size();
+    }
+
+    public IntPredicate authoredBy(UUID authorId) {
+        PostingList list = postings.get(authorId);
+        return ordinal -> list != null && list.contains(ordinal);
+    }
+
+    // Up to limit ordinals, newest first, starting below position `before` in the author's list.
+    public int[] newestFirst(UUID authorId, int before, int limit) {
+        PostingList list = postings.get(authorId);
+        int end = list == null ? 0 : Math.min(before, list.size());
+        int[] page = new int[Math.max(0, Math.min(limit, end))];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = list.get(end - 1 - i);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Postings of one term: (ordinal, term frequency) pairs stored as varint-encoded ordinal deltas
+ * and frequencies, with a skip entry every SKIP_INTERVAL postings so a cursor can jump ahead.
+ *
+ * A new question always has the highest ordinal, so its postings are appended in place. An
+ * answer adds to an older question's frequency; those go to a small pending map that is merged
+ * into the encoded stream the next time the term is read.
+ */
+public class CompressedPostings {
+    private static final int SKIP_INTERVAL = 64;
+
+    private byte[] data = new byte[16];
+    private int length;
+    private int count;
+    private int lastOrdinal = -1;
+    private int maxFrequency;
+    private int minDocLength = Integer.MAX_VALUE;
+
+    // skipBase[i] is the last ordinal before block i, skipOffset[i] the byte offset of block i.
+    private int[] skipBase = new int[1];
+    private int[] skipOffset = new int[1];
+    private int skips;
+
+    private TreeMap<Integer, Integer> pending;
+
+    public void add(int ordinal, int frequency, int docLength) {
+        if (ordinal > lastOrdinal) {
+            append(ordinal, frequency);
+            minDocLength = Math.min(minDocLength, docLength);
+        } else {
+            if (pending == null) {
+                pending = new TreeMap<>();
+            }
+            pending.merge(ordinal, frequency, Integer::sum);
+        }
+    }
+
+    public boolean hasPending() {
+        return pending != null;
+    }
+
+    // Folds pending frequency updates into the encoded stream. docLengths gives current lengths
+    // so the score bound stays tight.
+    public void compact(int[] docLengths) {
+        if (pending == null) {
+            return;
+        }
+        int[] ordinals = new int[count];
+        int[] frequencies = new int[count];
+        Cursor cursor = cursor();
+        for (int i = 0; i < count; i++, cursor.next()) {
+            ordinals[i] = cursor.ordinal();
+            frequencies[i] = cursor.frequency();
+        }
+        TreeMap<Integer, Integer> updates = pending;
+        pending = null;
+        length = 0;
+        count = 0;
+        skips = 0;
+        lastOrdinal = -1;
+        maxFrequency = 0;
+        minDocLength = Integer.MAX_VALUE;
+
+        int i = 0;
+        for (Map.Entry<Integer, Integer> update : updates.entrySet()) {
+            while (i < ordinals.length && ordinals[i] < update.getKey()) {
+                appendCompacted(ordinals[i], frequencies[i++], docLengths);
+            }
+            int frequency = update.getValue();
+            if (i < ordinals.length && ordinals[i] == update.getKey()) {
+                frequency += frequencies[i++];
+            }
+            appendCompacted(update.getKey(), frequency, docLengths);
+        }
+        while (i < ordinals.length) {
+            appendCompacted(ordinals[i], frequencies[i++], docLengths);
+        }
+    }
+
+    public int getDocumentFrequency() {
+        return count + (pending == null ? 0 : pending.size());
+    }
+
+    public int getMaxFrequency() {
+        return maxFrequency;
+    }
+
+    public int getMinDocLength() {
+        return minDocLength;
+    }
+
+    public int getEncodedBytes() {
+        return length;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void appendCompacted(int ordinal, int frequency, int[] docLengths) {
+        append(ordinal, frequency);
+        minDocLength = Math.min(minDocLength, docLengths[ordinal]);
+    }
+
+    private void append(int ordinal, int frequency) {
+        if (count % SKIP_INTERVAL == 0) {
+            if (skips == skipBase.length) {
+                skipBase = Arrays.copyOf(skipBase, skips * 2);
+                skipOffset = Arrays.copyOf(skipOffset, skips * 2);
+            }
+            skipBase[skips] = lastOrdinal;
+            skipOffset[skips++] = length;
+        }
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        writeVarint(ordinal - lastOrdinal);
+        writeVarint(frequency);
+        lastOrdinal = ordinal;
+        maxFrequency = Math.max(maxFrequency, frequency);
+        count++;
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader. ordinal() is Integer.MAX_VALUE once the postings are exhausted.
+     */
+    public class Cursor {
+        private int offset;
+        private int index;
+        private int ordinal = -1;
+        private int frequency;
+
+        private Cursor() {
+            next();
+        }
+
+        public int ordinal() {
+            return ordinal;
+        }
+
+        public int frequency() {
+            return frequency;
+        }
+
+        public void next() {
+            if (index >= count) {
+                ordinal = Integer.MAX_VALUE;
+                return;
+            }
+            ordinal += readVarint();
+            frequency = readVarint();
+            index++;
+        }
+
+        // Moves to the first posting whose ordinal is >= target.
+        public void advance(int target) {
+            if (ordinal >= target) {
+                return;
+            }
+            int block = index / SKIP_INTERVAL;
+            int jump = block;
+            while (jump + 1 < skips && skipBase[jump + 1] < target) {
+                jump++;
+            }
+            if (jump > block) {
+                offset = skipOffset[jump];
+                ordinal = skipBase[jump];
+                index = jump * SKIP_INTERVAL;
+                next();
+            }
+            while (ordinal < target) {
+                next();
+            }
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
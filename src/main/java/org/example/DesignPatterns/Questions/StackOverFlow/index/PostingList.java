@@ -0,0 +1,108 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable sorted array of question ordinals. Ordinals are handed out in increasing order, so
+ * appending keeps the list sorted and a repeated ordinal is simply dropped.
+ */
+public class PostingList {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] ordinals = new int[4];
+    private int size;
+
+    public void add(int ordinal) {
+        if (size > 0 && ordinals[size - 1] >= ordinal) {
+            return;
+        }
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        ordinals[size++] = ordinal;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posting " + index + " of " + size);
+        }
+        return ordinals[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int ordinal) {
+        return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(ordinals, size);
+    }
+
+    public static int[] empty() {
+        return EMPTY;
+    }
+
+    // Walks the shorter list and gallops through the longer one, so a rare tag AND a common tag
+    // costs about small * log(large) instead of small + large.
+    public static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] result = new int[a.length];
+        int count = 0;
+        int from = 0;
+        for (int ordinal : a) {
+            from = gallop(b, from, ordinal);
+            if (from == b.length) {
+                break;
+            }
+            if (b[from] == ordinal) {
+                result[count++] = ordinal;
+                from++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[count++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[count++] = b[j++];
+            } else {
+                result[count++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[count++] = a[i++];
+        }
+        while (j < b.length) {
+            result[count++] = b[j++];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // First index at or after from whose value is >= target, or sorted.length.
+    private static int gallop(int[] sorted, int from, int target) {
+        int step = 1;
+        int hi = from;
+        while (hi < sorted.length && sorted[hi] < target) {
+            from = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(sorted, from, Math.min(hi + 1, sorted.length), target);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+
+import java.util.List;
+
+/**
+ * One page of a paginated listing. Pass nextCursor back to get the following page; it is null on
+ * the last page.
+ */
+public class QuestionPage {
+    private final List<Question> questions;
+    private final String nextCursor;
+
+    public QuestionPage(List<Question> questions, String nextCursor) {
+        this.questions = questions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.concurrent.AppendOnlyList;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Indexes kept by StackOverFlowSystem for searching. Each question gets a dense ordinal when it
+ * is posted, and the secondary indexes store ordinals rather than questions. The ordinal table
+ * holds ids too, and a question is resolved by id when a result is read, so the index never keeps
+ * a question in memory; one the resolver does not know yet, still being posted, is left out.
+ *
+ * Posting lists depend on ordinals arriving in increasing order, so index updates run one at a
+ * time under the write lock; text is tokenized before the lock is taken. Queries run under the
+ * read lock through read() and never need the write lock. The ordinal table itself is lock-free,
+ * so a planned result can be streamed after the lock is released.
+ */
+public class SearchIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<UUID> idsByOrdinal = new AppendOnlyList<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private final Function<UUID, Question> resolver;
+    private final TagIndex tagIndex = new TagIndex();
+    private final AuthorIndex authorIndex = new AuthorIndex();
+    private final TextIndex textIndex = new TextIndex();
+
+    // resolver returns the question with an id, or null if there is none.
+    public SearchIndex(Function<UUID, Question> resolver) {
+        this.resolver = resolver;
+    }
+
+    public int addQuestion(Question question) {
+        Map<String, Integer> terms = TextIndex.analyze(question.getTitle() + "\n" + question.getContent());
+        lock.writeLock().lock();
+        try {
+            int ordinal = idsByOrdinal.size();
+            ordinalsById.put(question.getId(), ordinal);
+            tagIndex.add(ordinal, question.getTags());
+            authorIndex.add(ordinal, question.getAuthor().getId());
+            textIndex.addTerms(ordinal, terms);
+            idsByOrdinal.add(question.getId());
+            return ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAnswer(Answer answer) {
+        Map<String, Integer> terms = TextIndex.analyze(answer.getContent());
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(answer.getQuestion().getId());
+            if (ordinal != null) {
+                textIndex.addTerms(ordinal, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs a query against a stable view of the indexes. A text query merges the pending postings
+    // of the terms it reads itself, under each term's own monitor.
+    public <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public TagIndex getTagIndex() {
+        return tagIndex;
+    }
+
+    public AuthorIndex getAuthorIndex() {
+        return authorIndex;
+    }
+
+    // Cursors are positions in the author's append-only list, so a page costs O(pageSize).
+    public QuestionPage getQuestionsByAuthor(UUID authorId, String cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        int before = Integer.MAX_VALUE;
+        if (cursor != null) {
+            try {
+                before = Integer.parseInt(cursor, Character.MAX_RADIX);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        int limit = before;
+        return read(() -> {
+            int end = Math.min(limit, authorIndex.getQuestionCount(authorId));
+            int[] ordinals = authorIndex.newestFirst(authorId, end, pageSize);
+            int remaining = end - ordinals.length;
+            return new QuestionPage(getQuestions(ordinals), remaining > 0 ? Integer.toString(remaining, Character.MAX_RADIX) : null);
+        });
+    }
+
+    public TextIndex getTextIndex() {
+        return textIndex;
+    }
+
+    public int getQuestionCount() {
+        return idsByOrdinal.size();
+    }
+
+    // Null if the question is not published yet.
+    public Question getQuestion(int ordinal) {
+        return resolver.apply(idsByOrdinal.get(ordinal));
+    }
+
+    public List<Question> getQuestions(int[] ordinals) {
+        List<Question> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            Question question = getQuestion(ordinal);
+            if (question != null) {
+                result.add(question);
+            }
+        }
+        return result;
+    }
+
+    public List<Question> getAllQuestions() {
+        return streamAll().collect(Collectors.toList());
+    }
+
+    public Stream<Question> stream(int[] ordinals) {
+        return IntStream.of(ordinals).mapToObj(this::getQuestion).filter(Objects::nonNull);
+    }
+
+    public Stream<Question> streamAll() {
+        return idsByOrdinal.stream().map(resolver).filter(Objects::nonNull);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index from normalized tag name to the ordinals of the questions carrying that tag.
+ */
+public class TagIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    public void add(int ordinal, List<Tags> tags) {
+        if (tags == null) {
+            return;
+        }
+        for (Tags tag : tags) {
+            postings.computeIfAbsent(Tags.normalize(tag.getName()), name -> new PostingList()).add(ordinal);
+        }
+    }
+
+    public int[] getPostings(String tagName) {
+        PostingList list = postings.get(Tags.normalize(tagName));
+        return list == null ? PostingList.empty() : list.toArray();
+    }
+
+    public int getQuestionCount(String tagName) {
+        PostingList list = postings.get(Tags.normalize(tagName));
+        return list == null ? 0 : list.size();
+    }
+
+    public int[] allOf(List<String> tagNames) {
+        int[] result = null;
+        for (String tagName : tagNames) {
+            int[] next = getPostings(tagName);
+            result = result == null ? next : PostingList.intersect(result, next);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result == null ? PostingList.empty() : result;
+    }
+
+    // Membership tests against the tags' posting lists, resolved once for a whole probe pass.
+    public IntPredicate allOfFilter(List<String> tagNames) {
+        PostingList[] lists = postingLists(tagNames);
+        return ordinal -> {
+            for (PostingList list : lists) {
+                if (list == null || !list.contains(ordinal)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    public IntPredicate anyOfFilter(List<String> tagNames) {
+        PostingList[] lists = postingLists(tagNames);
+        return ordinal -> {
+            for (PostingList list : lists) {
+                if (list != null && list.contains(ordinal)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private PostingList[] postingLists(List<String> tagNames) {
+        PostingList[] lists = new PostingList[tagNames.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(Tags.normalize(tagNames.get(i)));
+        }
+        return lists;
+    }
+
+    public int[] anyOf(List<String> tagNames) {
+        int[] result = PostingList.empty();
+        for (String tagName : tagNames) {
+            result = PostingList.union(result, getPostings(tagName));
+        }
+        return result;
+    }
+}
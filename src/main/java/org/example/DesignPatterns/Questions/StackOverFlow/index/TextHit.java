@@ -0,0 +1,19 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+public class TextHit {
+    private final int ordinal;
+    private final double score;
+
+    public TextHit(int ordinal, double score) {
+        this.ordinal = ordinal;
+        this.score = score;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Full-text inverted index. A document is a question: its title, its content and the content of
+ * every answer posted to it. Ranking is BM25, and top-k queries use WAND so documents that cannot
+ * beat the current k-th score are skipped without being scored.
+ *
+ * Writers are serialized by the owning SearchIndex and exclude readers. A term's pending updates
+ * are merged by the first query that reads it, under that term's own monitor, so concurrent
+ * queries only meet on the terms they share.
+ */
+public class TextIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, CompressedPostings> postings = new HashMap<>();
+    private int[] docLengths = new int[16];
+    private int documentCount;
+    private long totalLength;
+
+    // Term frequencies of a piece of text. Needs no lock, so callers tokenize before indexing.
+    public static Map<String, Integer> analyze(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    public void addTerms(int ordinal, Map<String, Integer> frequencies) {
+        if (ordinal >= docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, Math.max(docLengths.length * 2, ordinal + 1));
+        }
+        documentCount = Math.max(documentCount, ordinal + 1);
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        docLengths[ordinal] += length;
+        totalLength += length;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new CompressedPostings())
+                    .add(ordinal, entry.getValue(), docLengths[ordinal]);
+        }
+    }
+
+    // Sorted ordinals of every document containing at least one of the query terms.
+    public int[] matchingAny(String query) {
+        int[] result = PostingList.empty();
+        for (String term : queryTerms(query)) {
+            CompressedPostings list = readable(term);
+            if (list == null) {
+                continue;
+            }
+            int[] ordinals = new int[list.getDocumentFrequency()];
+            CompressedPostings.Cursor cursor = list.cursor();
+            for (int i = 0; i < ordinals.length; i++, cursor.next()) {
+                ordinals[i] = cursor.ordinal();
+            }
+            result = PostingList.union(result, ordinals);
+        }
+        return result;
+    }
+
+    /**
+     * Tests whether a document contains any of the terms, walking one cursor per term. Built once
+     * for a probe pass; ordinals must be tested in increasing order.
+     */
+    public IntPredicate containsAny(List<String> terms) {
+        List<CompressedPostings.Cursor> cursors = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            CompressedPostings list = readable(term);
+            if (list != null) {
+                cursors.add(list.cursor());
+            }
+        }
+        return ordinal -> {
+            for (CompressedPostings.Cursor cursor : cursors) {
+                cursor.advance(ordinal);
+                if (cursor.ordinal() == ordinal) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    // Upper bound on matchingAny(query).length from document frequencies alone.
+    public long estimateMatchingAny(String query) {
+        long estimate = 0;
+        for (String term : queryTerms(query)) {
+            CompressedPostings list = readable(term);
+            if (list != null) {
+                estimate += list.getDocumentFrequency();
+            }
+        }
+        return Math.min(documentCount, estimate);
+    }
+
+    // The k best documents for the query by BM25, best first.
+    public List<TextHit> search(String query, int k) {
+        List<TermCursor> found = new ArrayList<>();
+        double averageLength = documentCount == 0 ? 1 : Math.max(1.0, (double) totalLength / documentCount);
+        for (String term : queryTerms(query)) {
+            CompressedPostings list = readable(term);
+            if (list != null) {
+                found.add(new TermCursor(list, idf(list.getDocumentFrequency()), averageLength));
+            }
+        }
+        if (k <= 0 || found.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        TermCursor[] cursors = found.toArray(new TermCursor[0]);
+        PriorityQueue<TextHit> best = new PriorityQueue<>(Comparator.comparingDouble(TextHit::getScore));
+        double threshold = 0;
+        while (true) {
+            sortByOrdinal(cursors);
+            // The pivot is the first cursor at which the summed upper bounds could beat the threshold.
+            int pivot = -1;
+            double bound = 0;
+            for (int i = 0; i < cursors.length && cursors[i].cursor.ordinal() != Integer.MAX_VALUE; i++) {
+                bound += cursors[i].upperBound;
+                if (bound > threshold) {
+                    pivot = i;
+                    break;
+                }
+            }
+            if (pivot < 0) {
+                break;
+            }
+            int pivotOrdinal = cursors[pivot].cursor.ordinal();
+            if (cursors[0].cursor.ordinal() == pivotOrdinal) {
+                double score = 0;
+                for (TermCursor c : cursors) {
+                    if (c.cursor.ordinal() != pivotOrdinal) {
+                        break;
+                    }
+                    score += c.score(docLengths[pivotOrdinal]);
+                    c.cursor.next();
+                }
+                if (best.size() < k) {
+                    best.add(new TextHit(pivotOrdinal, score));
+                } else if (score > best.peek().getScore()) {
+                    best.poll();
+                    best.add(new TextHit(pivotOrdinal, score));
+                }
+                if (best.size() == k) {
+                    threshold = best.peek().getScore();
+                }
+            } else {
+                for (int i = 0; i < pivot; i++) {
+                    cursors[i].cursor.advance(pivotOrdinal);
+                }
+            }
+        }
+
+        List<TextHit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(TextHit::getScore).reversed().thenComparingInt(TextHit::getOrdinal));
+        return hits;
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    public long getEncodedBytes() {
+        long bytes = 0;
+        for (CompressedPostings list : postings.values()) {
+            bytes += list.getEncodedBytes();
+        }
+        return bytes;
+    }
+
+    // The term's postings with pending updates merged. Every read of a list goes through here, so
+    // it also sees the merge made by whichever query got there first.
+    private CompressedPostings readable(String term) {
+        CompressedPostings list = postings.get(term);
+        if (list != null) {
+            synchronized (list) {
+                list.compact(docLengths);
+            }
+        }
+        return list;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static List<String> queryTerms(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+    }
+
+    private static void sortByOrdinal(TermCursor[] cursors) {
+        for (int i = 1; i < cursors.length; i++) {
+            TermCursor c = cursors[i];
+            int j = i - 1;
+            while (j >= 0 && cursors[j].cursor.ordinal() > c.cursor.ordinal()) {
+                cursors[j + 1] = cursors[j];
+                j--;
+            }
+            cursors[j + 1] = c;
+        }
+    }
+
+    private static class TermCursor {
+        final CompressedPostings.Cursor cursor;
+        final double idf;
+        final double averageLength;
+        final double upperBound;
+
+        TermCursor(CompressedPostings postings, double idf, double averageLength) {
+            this.cursor = postings.cursor();
+            this.idf = idf;
+            this.averageLength = averageLength;
+            // Term frequency only raises the score and document length only lowers it, so the
+            // highest frequency with the shortest document bounds every posting.
+            this.upperBound = bm25(postings.getMaxFrequency(), postings.getMinDocLength());
+        }
+
+        double score(int docLength) {
+            return bm25(cursor.frequency(), docLength);
+        }
+
+        private double bm25(int frequency, int docLength) {
+            double norm = K1 * (1 - B + B * docLength / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+}
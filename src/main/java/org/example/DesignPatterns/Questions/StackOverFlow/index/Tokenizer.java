@@ -0,0 +1,37 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case terms on anything that is not a letter or digit. '+' and '#'
+ * stay part of a term so "c++" and "c#" survive, and a few very common English words are dropped.
+ */
+public class Tokenizer {
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "i", "in", "is",
+            "it", "of", "on", "or", "that", "the", "this", "to", "was", "what", "with");
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || (term.length() > 0 && (c == '+' || c == '#'))) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                String token = term.toString();
+                if (token.length() <= MAX_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+                    terms.add(token);
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.leaderboard;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * "Hot questions" leaderboard. Each vote, answer or view adds a weight that decays exponentially
+ * with age. Instead of decaying every score as time passes, a weight arriving at time t is
+ * recorded as weight * e^(rate * t), so all scores grow at the same rate and their order never
+ * changes on its own.
+ *
+ * Those values overflow a double within weeks, so scores are kept as logarithms and added with
+ * log-sum-exp. Downvotes are summed separately and subtracted when the rank is computed.
+ *
+ * Scores are keyed by question id and each one is updated under its own monitor, so events on
+ * different questions never contend and the board holds no questions itself. The top list is a
+ * snapshot, rebuilt from all scores at most once per refresh interval and only if an event has
+ * arrived since; scores that have decayed to nothing are dropped during the rebuild.
+ */
+public class HotQuestions {
+    public static final double UPVOTE_WEIGHT = 1.0;
+    public static final double DOWNVOTE_WEIGHT = 1.0;
+    public static final double ANSWER_WEIGHT = 2.0;
+    public static final double VIEW_WEIGHT = 0.05;
+    // A score whose decayed value has fallen below e^-20 (about 2e-9) is dropped.
+    private static final double PRUNE_LOG_SCORE = -20;
+
+    private final int capacity;
+    private final double ratePerMilli;
+    private final long refreshMillis;
+    private final long epochMillis;
+    private final LongSupplier clock;
+    private final Function<UUID, Question> resolver;
+
+    private final Map<UUID, Score> scores = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Set by events, cleared by the rebuild that picks them up. Only written when it changes.
+    private volatile boolean dirty;
+    private int rebuilds;
+    private volatile Snapshot snapshot;
+
+    // resolver turns the ids of the top scores back into questions when a snapshot is built.
+    public HotQuestions(int capacity, long halfLifeMillis, long refreshMillis, LongSupplier clock, Function<UUID, Question> resolver) {
+        if (capacity <= 0 || halfLifeMillis <= 0 || refreshMillis < 0) {
+            throw new IllegalArgumentException("Capacity and half-life must be positive, refresh interval not negative");
+        }
+        this.capacity = capacity;
+        this.ratePerMilli = Math.log(2) / halfLifeMillis;
+        this.refreshMillis = refreshMillis;
+        this.clock = clock;
+        this.resolver = resolver;
+        this.epochMillis = clock.getAsLong();
+        this.snapshot = new Snapshot(epochMillis - refreshMillis, List.of());
+    }
+
+    public void onVote(Question question, VoteType voteType) {
+        if (voteType == VoteType.UPVOTE) {
+            add(question.getId(), UPVOTE_WEIGHT, false);
+        } else {
+            add(question.getId(), DOWNVOTE_WEIGHT, true);
+        }
+    }
+
+    public void onAnswer(Question question) {
+        add(question.getId(), ANSWER_WEIGHT, false);
+    }
+
+    public void onView(Question question) {
+        add(question.getId(), VIEW_WEIGHT, false);
+    }
+
+    // Counts a stored question's votes and answers as if they all arrived at atMillis.
+    public void restore(Question question, long atMillis) {
+        double at = exponentAt(atMillis);
+        add(question.getId(), UPVOTE_WEIGHT * question.getUpvoteCount(), false, at);
+        add(question.getId(), DOWNVOTE_WEIGHT * question.getDownvoteCount(), true, at);
+        add(question.getId(), ANSWER_WEIGHT * question.getAnswers().size(), false, at);
+    }
+
+    // The hottest questions, best first, as of the last refresh.
+    public List<Question> getTop() {
+        Snapshot current = snapshot;
+        long now = clock.getAsLong();
+        if (!dirty || now - current.builtAt < refreshMillis) {
+            return current.questions;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (dirty && now - current.builtAt >= refreshMillis) {
+                dirty = false;
+                snapshot = new Snapshot(now, rebuild());
+                rebuilds++;
+            }
+            return snapshot.questions;
+        }
+    }
+
+    public List<Question> getTop(int n) {
+        List<Question> top = getTop();
+        return top.subList(0, Math.min(n, top.size()));
+    }
+
+    // The decayed score as of now: recent weight counts fully, weight one half-life old counts half.
+    public double getHotness(Question question) {
+        Score score = scores.get(question.getId());
+        if (score == null) {
+            return 0;
+        }
+        double logScore = score.rankScore();
+        return logScore == Double.NEGATIVE_INFINITY ? 0 : Math.exp(logScore - now());
+    }
+
+    public synchronized int getRebuildCount() {
+        return rebuilds;
+    }
+
+    private void add(UUID questionId, double weight, boolean negative) {
+        add(questionId, weight, negative, now());
+    }
+
+    private void add(UUID questionId, double weight, boolean negative, double at) {
+        if (weight <= 0) {
+            return;
+        }
+        double logWeight = Math.log(weight) + at;
+        while (true) {
+            Score score = scores.computeIfAbsent(questionId, id -> new Score(id, sequence.incrementAndGet()));
+            synchronized (score) {
+                // A rebuild may have pruned this score after we found it; start a fresh one.
+                if (score.pruned) {
+                    continue;
+                }
+                if (negative) {
+                    score.logNegative = logAddExp(score.logNegative, logWeight);
+                } else {
+                    score.logPositive = logAddExp(score.logPositive, logWeight);
+                }
+            }
+            break;
+        }
+        if (!dirty) {
+            dirty = true;
+        }
+    }
+
+    // The best capacity questions from every score, O(questions * log capacity).
+    private List<Question> rebuild() {
+        double pruneBelow = now() + PRUNE_LOG_SCORE;
+        Comparator<Ranked> order = Comparator.comparingDouble((Ranked r) -> r.logScore)
+                .thenComparingLong(r -> -r.sequence);
+        PriorityQueue<Ranked> best = new PriorityQueue<>(order);
+        for (Score score : scores.values()) {
+            double logScore;
+            synchronized (score) {
+                if (score.logPositive < pruneBelow) {
+                    score.pruned = true;
+                    scores.remove(score.questionId, score);
+                    continue;
+                }
+                logScore = score.rankScore();
+            }
+            if (logScore == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            if (best.size() < capacity) {
+                best.add(new Ranked(score.questionId, score.sequence, logScore));
+            } else if (logScore > best.peek().logScore) {
+                best.poll();
+                best.add(new Ranked(score.questionId, score.sequence, logScore));
+            }
+        }
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(order.reversed());
+        List<Question> top = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            Question question = resolver.apply(entry.questionId);
+            if (question != null) {
+                top.add(question);
+            }
+        }
+        return List.copyOf(top);
+    }
+
+    // Current time as an exponent: log of e^(rate * t) is just rate * t.
+    private double now() {
+        return exponentAt(clock.getAsLong());
+    }
+
+    private double exponentAt(long millis) {
+        return ratePerMilli * (millis - epochMillis);
+    }
+
+    private static double logAddExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        if (b == Double.NEGATIVE_INFINITY) {
+            return a;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    // Guarded by its own monitor.
+    private static class Score {
+        final UUID questionId;
+        final long sequence;
+        double logPositive = Double.NEGATIVE_INFINITY;
+        double logNegative = Double.NEGATIVE_INFINITY;
+        boolean pruned;
+
+        Score(UUID questionId, long sequence) {
+            this.questionId = questionId;
+            this.sequence = sequence;
+        }
+
+        // log(positive - negative), or negative infinity when downvotes outweigh the rest.
+        synchronized double rankScore() {
+            if (logNegative == Double.NEGATIVE_INFINITY) {
+                return logPositive;
+            }
+            if (logNegative >= logPositive) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            return logPositive + Math.log1p(-Math.exp(logNegative - logPositive));
+        }
+    }
+
+    private static class Ranked {
+        final UUID questionId;
+        final long sequence;
+        final double logScore;
+
+        Ranked(UUID questionId, long sequence, double logScore) {
+            this.questionId = questionId;
+            this.sequence = sequence;
+            this.logScore = logScore;
+        }
+    }
+
+    private static class Snapshot {
+        final long builtAt;
+        final List<Question> questions;
+
+        Snapshot(long builtAt, List<Question> questions) {
+            this.builtAt = builtAt;
+            this.questions = questions;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.reputation;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.ReputationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies reputation changes off the request path. Votes and accepts publish events onto a queue;
+ * a single worker drains it in batches, sums the points per user and applies each user's total
+ * with one atomic add. Applied events are kept as the reputation history, which recompute()
+ * replays in parallel to rebuild or audit every user's reputation. A user's reputation when the
+ * engine first sees them, such as one restored from storage, is the base the history adds to.
+ * The engine keeps only user ids and ordinals; users are resolved by id when they are audited.
+ *
+ * The history is a pair of int columns (user ordinal, points). Once it reaches CHECKPOINT_EVENTS
+ * it is folded into per-ordinal checkpoint totals and truncated, so memory stays bounded and an
+ * audit replays only the events since the last checkpoint.
+ */
+public class ReputationEngine implements AutoCloseable {
+    private static final int MAX_BATCH = 4_096;
+    private static final int REPLAY_LEAF_SIZE = 16_384;
+    private static final int CHECKPOINT_EVENTS = 1 << 20;
+
+    private final BlockingQueue<ReputationEvent> queue = new LinkedBlockingQueue<>();
+    private final Function<UUID, User> users;
+    private final Map<Integer, UUID> userIds = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> baselines = new ConcurrentHashMap<>();
+    private volatile Consumer<User> listener;
+    private final AtomicLong published = new AtomicLong();
+    // Guards applying a batch, so history always matches what has been applied.
+    private final Object applyLock = new Object();
+    private int[] historyOrdinals = new int[1024];
+    private int[] historyPoints = new int[1024];
+    private int historySize;
+    private int[] checkpointTotals = new int[16];
+    private long checkpointedEvents;
+    private long applied;
+    private boolean terminated;
+    // Publishers hold the read side while they check running and enqueue; close takes the write
+    // side, so no event can slip in after the worker has been told to drain and stop.
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+    private final Thread worker;
+
+    // users returns the user with an id, or null if there is none.
+    public ReputationEngine(Function<UUID, User> users) {
+        this.users = users;
+        this.worker = new Thread(this::run, "reputation-engine");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // Called with every user whose reputation changed, after the change, e.g. to persist it.
+    public void setListener(Consumer<User> listener) {
+        this.listener = listener;
+    }
+
+    public void publish(User user, ReputationType type) {
+        publish(new ReputationEvent(user, type, false));
+    }
+
+    public void revoke(User user, ReputationType type) {
+        publish(new ReputationEvent(user, type, true));
+    }
+
+    private void publish(ReputationEvent event) {
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Reputation engine is closed");
+            }
+            published.incrementAndGet();
+            queue.add(event);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    // Waits until every event published before this call has been applied, or the worker has stopped.
+    public void flush() {
+        long target = published.get();
+        synchronized (applyLock) {
+            while (applied < target && !terminated) {
+                try {
+                    applyLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Every user's reputation as implied by the last checkpoint plus the history since, which is
+    // replayed with fork-join.
+    public Map<User, Integer> recompute() {
+        flush();
+        synchronized (applyLock) {
+            int[] totals = replay();
+            Map<User, Integer> result = new HashMap<>();
+            for (Map.Entry<Integer, UUID> entry : userIds.entrySet()) {
+                User user = users.apply(entry.getValue());
+                if (user == null) {
+                    continue;
+                }
+                int ordinal = entry.getKey();
+                int total = (ordinal < totals.length ? totals[ordinal] : 0)
+                        + (ordinal < checkpointTotals.length ? checkpointTotals[ordinal] : 0);
+                result.put(user, baselines.getOrDefault(ordinal, 0) + total);
+            }
+            return result;
+        }
+    }
+
+    // Users whose current reputation differs from the history, mapped to the recomputed value.
+    public Map<User, Integer> audit() {
+        Map<User, Integer> mismatches = new HashMap<>();
+        for (Map.Entry<User, Integer> entry : recompute().entrySet()) {
+            if (entry.getKey().getReputation() != entry.getValue()) {
+                mismatches.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return mismatches;
+    }
+
+    // Resets every user's reputation to the recomputed value. Returns how many were corrected.
+    public int rebuild() {
+        synchronized (applyLock) {
+            Map<User, Integer> mismatches = audit();
+            for (Map.Entry<User, Integer> entry : mismatches.entrySet()) {
+                entry.getKey().updateReputation(entry.getValue());
+                notifyListener(entry.getKey());
+            }
+            return mismatches.size();
+        }
+    }
+
+    // Events applied since the last checkpoint.
+    public long getHistorySize() {
+        synchronized (applyLock) {
+            return historySize;
+        }
+    }
+
+    // Events folded into checkpoint totals and dropped from the history.
+    public long getCheckpointedEvents() {
+        synchronized (applyLock) {
+            return checkpointedEvents;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<ReputationEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                ReputationEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            apply(batch);
+            batch.clear();
+        }
+        synchronized (applyLock) {
+            terminated = true;
+            applyLock.notifyAll();
+        }
+    }
+
+    private void apply(List<ReputationEvent> batch) {
+        Map<User, Integer> deltas = new HashMap<>();
+        for (ReputationEvent event : batch) {
+            deltas.merge(event.getUser(), event.getPoints(), Integer::sum);
+        }
+        synchronized (applyLock) {
+            for (Map.Entry<User, Integer> entry : deltas.entrySet()) {
+                User user = entry.getKey();
+                if (userIds.putIfAbsent(user.getOrdinal(), user.getId()) == null) {
+                    baselines.put(user.getOrdinal(), user.getReputation());
+                }
+                user.addReputation(entry.getValue());
+                notifyListener(user);
+            }
+            if (historySize + batch.size() > historyOrdinals.length) {
+                int capacity = Math.max(historyOrdinals.length * 2, historySize + batch.size());
+                historyOrdinals = Arrays.copyOf(historyOrdinals, capacity);
+                historyPoints = Arrays.copyOf(historyPoints, capacity);
+            }
+            for (ReputationEvent event : batch) {
+                historyOrdinals[historySize] = event.getUser().getOrdinal();
+                historyPoints[historySize++] = event.getPoints();
+            }
+            if (historySize >= CHECKPOINT_EVENTS) {
+                checkpoint();
+            }
+            applied += batch.size();
+            applyLock.notifyAll();
+        }
+    }
+
+    // Folds the history into the checkpoint totals and truncates it. Guarded by applyLock.
+    private void checkpoint() {
+        int[] totals = replay();
+        if (totals.length > checkpointTotals.length) {
+            checkpointTotals = Arrays.copyOf(checkpointTotals, totals.length);
+        }
+        for (int i = 0; i < totals.length; i++) {
+            checkpointTotals[i] += totals[i];
+        }
+        checkpointedEvents += historySize;
+        historySize = 0;
+        if (historyOrdinals.length > CHECKPOINT_EVENTS) {
+            historyOrdinals = new int[CHECKPOINT_EVENTS];
+            historyPoints = new int[CHECKPOINT_EVENTS];
+        }
+    }
+
+    // Per-ordinal sums of the history since the last checkpoint. Guarded by applyLock.
+    private int[] replay() {
+        return ForkJoinPool.commonPool().invoke(new ReplayTask(historyOrdinals, historyPoints, 0, historySize));
+    }
+
+    private void notifyListener(User user) {
+        Consumer<User> listener = this.listener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(user);
+        } catch (RuntimeException e) {
+            System.err.println("Reputation listener failed for " + user.getId() + ": " + e.getMessage());
+        }
+    }
+
+    // Sums points per user ordinal over a slice of the history.
+    private static class ReplayTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] ordinals;
+        private final int[] points;
+        private final int from;
+        private final int to;
+
+        ReplayTask(int[] ordinals, int[] points, int from, int to) {
+            this.ordinals = ordinals;
+            this.points = points;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= REPLAY_LEAF_SIZE) {
+                int[] totals = new int[16];
+                for (int i = from; i < to; i++) {
+                    int ordinal = ordinals[i];
+                    if (ordinal >= totals.length) {
+                        totals = Arrays.copyOf(totals, Math.max(totals.length * 2, ordinal + 1));
+                    }
+                    totals[ordinal] += points[i];
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            ReplayTask left = new ReplayTask(ordinals, points, from, middle);
+            left.fork();
+            int[] right = new ReplayTask(ordinals, points, middle, to).compute();
+            int[] merged = left.join();
+            if (merged.length < right.length) {
+                int[] swap = merged;
+                merged = right;
+                right = swap;
+            }
+            for (int i = 0; i < right.length; i++) {
+                merged[i] += right[i];
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.reputation;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.ReputationType;
+
+/**
+ * One reputation change for the user receiving it. A revoked event undoes an earlier one, e.g.
+ * when a question's accepted answer changes.
+ */
+public class ReputationEvent {
+    private final User user;
+    private final ReputationType type;
+    private final boolean revoked;
+
+    public ReputationEvent(User user, ReputationType type, boolean revoked) {
+        this.user = user;
+        this.type = type;
+        this.revoked = revoked;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public ReputationType getType() {
+        return type;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    public int getPoints() {
+        return revoked ? -type.getPoints() : type.getPoints();
+    }
+}
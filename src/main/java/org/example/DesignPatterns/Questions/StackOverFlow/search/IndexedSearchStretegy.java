@@ -0,0 +1,32 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.search;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A search strategy that can answer from the system's indexes. SearchPlanner drives the query
+ * from the most selective of these and either intersects or probes the others.
+ */
+public interface IndexedSearchStretegy extends SearchStretegy {
+    // Sorted ordinals of the matching questions.
+    public int[] candidates(SearchIndex index);
+
+    // Expected number of matches, from index statistics only.
+    public long estimateCount(SearchIndex index);
+
+    // matches() by ordinal, answered from the index. Built once per plan, and only asked about
+    // ordinals in increasing order.
+    public default IntPredicate prober(SearchIndex index) {
+        return ordinal -> {
+            Question question = index.getQuestion(ordinal);
+            return question != null && matches(question);
+        };
+    }
+
+    // False when matches cannot be decided one question at a time, e.g. a top-k limit.
+    public default boolean supportsMatching() {
+        return true;
+    }
+}
@@ -2,19 +2,41 @@ package org.example.DesignPatterns.Questions.StackOverFlow.search;
 
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
 
 import java.util.List;
+import java.util.function.IntPredicate;
 
-public class SearchByUserStretegy implements SearchStretegy{
+public class SearchByUserStretegy implements IndexedSearchStretegy{
     private final User user;
 
     public SearchByUserStretegy(User user) {
         this.user = user;
     }
 
+    @Override
+    public int[] candidates(SearchIndex index) {
+        return index.getAuthorIndex().getPostings(user.getId());
+    }
+
+    // Exact: the posting list is the author's question list.
+    @Override
+    public long estimateCount(SearchIndex index) {
+        return index.getAuthorIndex().getQuestionCount(user.getId());
+    }
+
+    @Override
+    public IntPredicate prober(SearchIndex index) {
+        return index.getAuthorIndex().authoredBy(user.getId());
+    }
 
     @Override
     public List<Question> search(List<Question> questions) {
-        return questions.stream().filter((it) -> it.getAuthor().getId() == user.getId()).toList();
+        return questions.stream().filter(this::matches).toList();
+    }
+
+    @Override
+    public boolean matches(Question question) {
+        return question.getAuthor().getId().equals(user.getId());
     }
 }
@@ -0,0 +1,40 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.search;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Result of SearchPlanner: the candidate ordinals from the index steps (null means every
+ * question) and one fused predicate for the remaining filters.
+ */
+public class SearchPlan {
+    private final SearchIndex index;
+    private final int[] candidates;
+    private final Predicate<Question> residual;
+    private final List<String> steps;
+
+    SearchPlan(SearchIndex index, int[] candidates, Predicate<Question> residual, List<String> steps) {
+        this.index = index;
+        this.candidates = candidates;
+        this.residual = residual;
+        this.steps = steps;
+    }
+
+    // Lazy: questions are fetched and checked one at a time as the stream is consumed.
+    public Stream<Question> stream() {
+        Stream<Question> source = candidates == null ? index.streamAll() : index.stream(candidates);
+        return residual == null ? source : source.filter(residual);
+    }
+
+    public List<String> getSteps() {
+        return steps;
+    }
+
+    public String explain() {
+        return String.join("\n", steps);
+    }
+}
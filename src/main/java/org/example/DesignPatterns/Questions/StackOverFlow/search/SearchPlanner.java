@@ -0,0 +1,82 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.search;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.PostingList;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Orders a chain of search strategies by cost. Indexed filters are sorted by estimated match
+ * count and the smallest one produces the candidates. Each further indexed filter is intersected
+ * if its postings are comparable in size to the candidates, or probed per candidate against the
+ * index if they are much larger. Probes run here, on ordinals, so no question is fetched for a
+ * candidate they reject. Everything not answered by the index becomes one fused predicate.
+ */
+public class SearchPlanner {
+    // An indexed filter matching this many times more questions than the current candidates is
+    // cheaper to check per candidate than to intersect.
+    private static final int PROBE_RATIO = 8;
+
+    public static SearchPlan plan(List<SearchStretegy> stretegies, SearchIndex index) {
+        List<IndexedSearchStretegy> indexed = new ArrayList<>();
+        List<SearchStretegy> plain = new ArrayList<>();
+        Map<IndexedSearchStretegy, Long> estimates = new IdentityHashMap<>();
+        for (SearchStretegy stretegy : stretegies) {
+            if (stretegy instanceof IndexedSearchStretegy) {
+                IndexedSearchStretegy indexedStretegy = (IndexedSearchStretegy) stretegy;
+                indexed.add(indexedStretegy);
+                estimates.put(indexedStretegy, indexedStretegy.estimateCount(index));
+            } else {
+                plain.add(stretegy);
+            }
+        }
+        indexed.sort(Comparator.comparingLong(estimates::get));
+
+        List<String> steps = new ArrayList<>();
+        int[] candidates = null;
+        for (IndexedSearchStretegy stretegy : indexed) {
+            long estimate = estimates.get(stretegy);
+            String name = stretegy.getClass().getSimpleName();
+            if (candidates == null) {
+                candidates = stretegy.candidates(index);
+                steps.add(String.format("index scan %s (estimated %d, got %d)", name, estimate, candidates.length));
+            } else if (stretegy.supportsMatching() && estimate > (long) candidates.length * PROBE_RATIO) {
+                candidates = probe(candidates, stretegy.prober(index));
+                steps.add(String.format("probe %s per candidate (estimated %d, %d left)", name, estimate, candidates.length));
+            } else {
+                candidates = PostingList.intersect(candidates, stretegy.candidates(index));
+                steps.add(String.format("intersect %s (estimated %d, %d left)", name, estimate, candidates.length));
+            }
+        }
+        if (candidates == null) {
+            steps.add(String.format("full scan of %d questions", index.getQuestionCount()));
+        }
+
+        Predicate<Question> residual = null;
+        for (SearchStretegy stretegy : plain) {
+            residual = residual == null ? stretegy::matches : residual.and(stretegy::matches);
+            steps.add("filter " + stretegy.getClass().getSimpleName());
+        }
+        return new SearchPlan(index, candidates, residual, steps);
+    }
+
+    // Keeps the candidates the prober accepts; candidates are sorted, as probers require.
+    private static int[] probe(int[] candidates, IntPredicate prober) {
+        int[] kept = new int[candidates.length];
+        int count = 0;
+        for (int ordinal : candidates) {
+            if (prober.test(ordinal)) {
+                kept[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+}
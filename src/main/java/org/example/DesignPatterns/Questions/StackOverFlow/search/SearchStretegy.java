@@ -6,4 +6,10 @@ import java.util.List;
 
 public interface SearchStretegy {
     public List<Question> search(List<Question> questions);
+
+    // Single-question form used by the planner's fused pass. Strategies should override it; the
+    // default goes through search with a one-element list.
+    public default boolean matches(Question question) {
+        return !search(List.of(question)).isEmpty();
+    }
 }
@@ -2,19 +2,71 @@ package org.example.DesignPatterns.Questions.StackOverFlow.search;
 
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
 import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
-public class TagSearchStrategy implements SearchStretegy{
-    private final Tags tags;
+public class TagSearchStrategy implements IndexedSearchStretegy {
+    private final List<String> tagNames;
+    private final boolean matchAll;
 
     public TagSearchStrategy(Tags tags) {
-        this.tags = tags;
+        this(List.of(tags), true);
+    }
+
+    private TagSearchStrategy(List<Tags> tags, boolean matchAll) {
+        this.tagNames = tags.stream().map(t -> Tags.normalize(t.getName())).distinct().toList();
+        this.matchAll = matchAll;
+    }
+
+    // Questions carrying every one of the tags.
+    public static TagSearchStrategy allOf(Tags... tags) {
+        return new TagSearchStrategy(Arrays.asList(tags), true);
+    }
+
+    // Questions carrying at least one of the tags.
+    public static TagSearchStrategy anyOf(Tags... tags) {
+        return new TagSearchStrategy(Arrays.asList(tags), false);
+    }
+
+    @Override
+    public int[] candidates(SearchIndex index) {
+        return matchAll ? index.getTagIndex().allOf(tagNames) : index.getTagIndex().anyOf(tagNames);
+    }
+
+    // Independent tags: an AND keeps the product of the tag fractions, an OR at most the sum.
+    @Override
+    public long estimateCount(SearchIndex index) {
+        long total = index.getQuestionCount();
+        double estimate = matchAll ? total : 0;
+        for (String tagName : tagNames) {
+            int count = index.getTagIndex().getQuestionCount(tagName);
+            estimate = matchAll ? estimate * count / Math.max(1, total) : estimate + count;
+        }
+        return Math.min(total, Math.round(estimate));
+    }
+
+    @Override
+    public IntPredicate prober(SearchIndex index) {
+        return matchAll ? index.getTagIndex().allOfFilter(tagNames) : index.getTagIndex().anyOfFilter(tagNames);
     }
 
     @Override
     public List<Question> search(List<Question> questions) {
-        return questions.stream().filter((it) -> it.getTags().stream().anyMatch(t -> t.getName().equalsIgnoreCase(tags.getName()))).collect(Collectors.toList());
+        return questions.stream().filter(this::matches).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean matches(Question question) {
+        Set<String> names = new HashSet<>();
+        for (Tags tag : question.getTags()) {
+            names.add(Tags.normalize(tag.getName()));
+        }
+        return matchAll ? names.containsAll(tagNames) : tagNames.stream().anyMatch(names::contains);
     }
 }
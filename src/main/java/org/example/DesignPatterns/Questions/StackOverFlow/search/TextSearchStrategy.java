@@ -0,0 +1,88 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.search;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.SearchIndex;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.TextHit;
+import org.example.DesignPatterns.Questions.StackOverFlow.index.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps questions whose title, content or answers mention any of the query terms. With a limit,
+ * only the best matches by BM25 are kept.
+ */
+public class TextSearchStrategy implements IndexedSearchStretegy {
+    private final String query;
+    private final Set<String> terms;
+    private final int limit;
+
+    public TextSearchStrategy(String query) {
+        this(query, Integer.MAX_VALUE);
+    }
+
+    public TextSearchStrategy(String query, int limit) {
+        this.query = query;
+        this.terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        this.limit = limit;
+    }
+
+    @Override
+    public int[] candidates(SearchIndex index) {
+        if (limit == Integer.MAX_VALUE) {
+            return index.getTextIndex().matchingAny(query);
+        }
+        int[] ordinals = index.getTextIndex().search(query, limit).stream().mapToInt(TextHit::getOrdinal).toArray();
+        Arrays.sort(ordinals);
+        return ordinals;
+    }
+
+    @Override
+    public long estimateCount(SearchIndex index) {
+        return Math.min(limit, index.getTextIndex().estimateMatchingAny(query));
+    }
+
+    // A top-k limit depends on every other question's score, so it can only run from the index.
+    @Override
+    public boolean supportsMatching() {
+        return limit == Integer.MAX_VALUE;
+    }
+
+    @Override
+    public IntPredicate prober(SearchIndex index) {
+        return index.getTextIndex().containsAny(new ArrayList<>(terms));
+    }
+
+    // Without the index there is no ranking, so the limit is not applied here.
+    @Override
+    public List<Question> search(List<Question> questions) {
+        return questions.stream().filter(q -> mentions(q, terms)).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean matches(Question question) {
+        return mentions(question, terms);
+    }
+
+    private static boolean mentions(Question question, Set<String> terms) {
+        if (containsAny(question.getTitle(), terms) || containsAny(question.getContent(), terms)) {
+            return true;
+        }
+        for (Answer answer : question.getAnswers()) {
+            if (containsAny(answer.getContent(), terms)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAny(String text, Set<String> terms) {
+        return Tokenizer.tokenize(text).stream().anyMatch(terms::contains);
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Entities by id, loaded on a miss. The most recently used ones are held strongly in
+ * lock-striped LRU segments; past that an entity is only weakly held, and stays found for as long
+ * as something else still references it, so a lookup never builds a second copy of an entity that
+ * is still in use. Until a loader is bound the cache is unbounded and acts as a concurrent map.
+ */
+public class EntityCache<V> {
+    private static final int SEGMENTS = 16;
+
+    private static class Entry<V> extends WeakReference<V> {
+        final UUID id;
+
+        Entry(UUID id, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.id = id;
+        }
+    }
+
+    private final List<LinkedHashMap<UUID, V>> segments = new ArrayList<>(SEGMENTS);
+    private final ConcurrentHashMap<UUID, Entry<V>> live = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private volatile Function<UUID, V> loader;
+    private volatile int segmentCapacity = Integer.MAX_VALUE;
+
+    public EntityCache() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, V> eldest) {
+                    return size() > segmentCapacity;
+                }
+            });
+        }
+    }
+
+    // Loads misses through loader (which returns null for unknown ids) and holds at most capacity strongly.
+    public void bind(Function<UUID, V> loader, int capacity) {
+        this.segmentCapacity = Math.max(1, capacity / SEGMENTS);
+        this.loader = loader;
+    }
+
+    public V get(UUID id) {
+        V value = getIfPresent(id);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        Function<UUID, V> loader = this.loader;
+        V loaded = loader == null ? null : loader.apply(id);
+        if (loaded == null) {
+            return null;
+        }
+        loads.increment();
+        // Another thread may have loaded the same entity meanwhile; the first copy wins.
+        return putIfAbsent(id, loaded);
+    }
+
+    // The entity if it is in memory, without loading it.
+    public V getIfPresent(UUID id) {
+        LinkedHashMap<UUID, V> segment = segment(id);
+        synchronized (segment) {
+            V value = segment.get(id);
+            if (value != null) {
+                return value;
+            }
+        }
+        Entry<V> entry = live.get(id);
+        V value = entry == null ? null : entry.get();
+        if (value != null) {
+            hold(id, value);
+        }
+        return value;
+    }
+
+    public boolean containsKey(UUID id) {
+        return get(id) != null;
+    }
+
+    public void put(UUID id, V value) {
+        purge();
+        live.put(id, new Entry<>(id, value, collected));
+        hold(id, value);
+    }
+
+    // Caches value unless a copy is already in memory, and returns whichever copy is cached.
+    public V putIfAbsent(UUID id, V value) {
+        purge();
+        Object[] winner = new Object[1];
+        live.compute(id, (key, existing) -> {
+            V current = existing == null ? null : existing.get();
+            winner[0] = current != null ? current : value;
+            return current != null ? existing : new Entry<>(key, value, collected);
+        });
+        @SuppressWarnings("unchecked")
+        V cached = (V) winner[0];
+        hold(id, cached);
+        return cached;
+    }
+
+    // Entities still in memory, strongly or weakly held.
+    public int size() {
+        purge();
+        return live.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    private void hold(UUID id, V value) {
+        LinkedHashMap<UUID, V> segment = segment(id);
+        synchronized (segment) {
+            segment.put(id, value);
+        }
+    }
+
+    // Drops the entries of entities the collector has reclaimed.
+    private void purge() {
+        Reference<? extends V> reference;
+        while ((reference = collected.poll()) != null) {
+            live.remove(((Entry<?>) reference).id, reference);
+        }
+    }
+
+    private LinkedHashMap<UUID, V> segment(UUID id) {
+        int hash = id.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+    }
+}
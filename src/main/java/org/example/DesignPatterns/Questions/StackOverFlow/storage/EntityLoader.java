@@ -0,0 +1,86 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Comment;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.interfaces.Commentable;
+import org.example.DesignPatterns.Questions.StackOverFlow.tagging.TagService;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rebuilds entities from storage on a cache miss. A question comes back whole, with its answers,
+ * comments and vote tallies; an answer is found through its question, so there is only ever one
+ * copy of an answer and it belongs to the cached copy of its question. Authors resolve through
+ * the user cache and tags through the TagService, so they are shared as usual.
+ */
+public class EntityLoader {
+    private final StorageEngine storage;
+    private final EntityCache<User> users;
+    private final EntityCache<Question> questions;
+    private final TagService tagService;
+
+    public EntityLoader(StorageEngine storage, EntityCache<User> users, EntityCache<Question> questions, TagService tagService) {
+        this.storage = storage;
+        this.users = users;
+        this.questions = questions;
+        this.tagService = tagService;
+    }
+
+    public User loadUser(UUID id) {
+        return storage.loadUser(id);
+    }
+
+    public Question loadQuestion(UUID id) {
+        StoredQuestion stored = storage.readQuestion(id);
+        if (stored == null) {
+            return null;
+        }
+        List<Tags> tags = new ArrayList<>(stored.tagNames.size());
+        for (String name : stored.tagNames) {
+            tags.add(tagService.intern(name));
+        }
+        Question question = new Question(id, stored.title, stored.content, users.get(stored.authorId), tags,
+                Date.valueOf(stored.creationDate));
+        question.restoreVotes(stored.upvotes, stored.downvotes, stored.voters);
+        restoreComments(question, stored.comments);
+        for (StoredAnswer storedAnswer : stored.answers) {
+            Answer answer = new Answer(storedAnswer.id, storedAnswer.content, users.get(storedAnswer.authorId), question,
+                    Date.valueOf(storedAnswer.creationDate));
+            answer.restoreVotes(storedAnswer.upvotes, storedAnswer.downvotes, storedAnswer.voters);
+            restoreComments(answer, storedAnswer.comments);
+            question.addAnswer(answer);
+            if (storedAnswer.accepted) {
+                answer.acceptAnswer();
+                question.acceptAnswer(answer);
+            }
+        }
+        return question;
+    }
+
+    public Answer loadAnswer(UUID id) {
+        UUID questionId = storage.readQuestionId(id);
+        Question question = questionId == null ? null : questions.get(questionId);
+        if (question == null) {
+            return null;
+        }
+        for (Answer answer : question.getAnswers()) {
+            if (answer.getId().equals(id)) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    private void restoreComments(Commentable commentable, List<StoredComment> comments) {
+        for (StoredComment comment : comments) {
+            commentable.addComment(new Comment(comment.id, comment.content, users.get(comment.authorId),
+                    Date.valueOf(comment.creationDate)));
+        }
+    }
+}
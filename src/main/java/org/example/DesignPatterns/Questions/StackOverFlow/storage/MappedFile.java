@@ -0,0 +1,104 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file addressed by long offsets and memory-mapped in 16MB chunks, mapped on first touch, so it
+ * grows as it is written and lives in the page cache rather than the heap. Ints and longs must be
+ * aligned to their size so they never straddle two chunks; byte ranges may, and are copied piecewise.
+ * Reads may run concurrently; StorageEngine keeps writes exclusive of them and of each other.
+ */
+class MappedFile implements AutoCloseable {
+    private static final int CHUNK_SHIFT = 24;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    MappedFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    int getInt(long position) {
+        return chunk(position).getInt((int) (position & CHUNK_MASK));
+    }
+
+    void putInt(long position, int value) {
+        chunk(position).putInt((int) (position & CHUNK_MASK), value);
+    }
+
+    long getLong(long position) {
+        return chunk(position).getLong((int) (position & CHUNK_MASK));
+    }
+
+    void putLong(long position, long value) {
+        chunk(position).putLong((int) (position & CHUNK_MASK), value);
+    }
+
+    void get(long position, byte[] target, int offset, int length) {
+        while (length > 0) {
+            int inChunk = (int) (position & CHUNK_MASK);
+            int n = Math.min(length, CHUNK_SIZE - inChunk);
+            chunk(position).get(inChunk, target, offset, n);
+            position += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void put(long position, byte[] source, int offset, int length) {
+        while (length > 0) {
+            int inChunk = (int) (position & CHUNK_MASK);
+            int n = Math.min(length, CHUNK_SIZE - inChunk);
+            chunk(position).put(inChunk, source, offset, n);
+            position += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    // Writes every dirty page of the mapped chunks to disk.
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        chunks = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        int index = (int) (position >>> CHUNK_SHIFT);
+        MappedByteBuffer[] mapped = chunks;
+        return index < mapped.length ? mapped[index] : map(index + 1)[index];
+    }
+
+    // Mapping past the end of the file extends it; untouched pages stay sparse on disk. Concurrent
+    // readers may both miss, so the second one finds the chunks already mapped.
+    private synchronized MappedByteBuffer[] map(int count) {
+        if (count <= chunks.length) {
+            return chunks;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(chunks, count);
+        try {
+            for (int i = chunks.length; i < count; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << CHUNK_SHIFT, CHUNK_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map storage file", e);
+        }
+        chunks = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,739 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Answer;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Comment;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Question;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.User;
+import org.example.DesignPatterns.Questions.StackOverFlow.enums.VoteType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Disk-backed store for users, questions, answers, comments and votes.
+ *
+ * Every entity kind has a file of fixed-size records addressed by slot, holding ids, counters,
+ * slots of related records and offsets into the kind's file of variable-length strings. Votes are
+ * fixed records only. A question's answers, and a post's comments and votes, are singly linked
+ * lists threaded through the child records, newest first, so adding a child writes two fixed
+ * records and never moves anything. An off-heap UuidIndex maps every id to its kind and slot.
+ * Users are stored in slot order and a stored user's ordinal is its slot, so vote records and
+ * restored vote tallies share one numbering.
+ *
+ * A mutation is the full images of the records and strings it touches. It is appended to the
+ * write-ahead log and kept in an in-memory overlay that reads consult first; the data files are
+ * only written once a committer thread has forced the log past it (group commit), so a page the
+ * OS writes back early can never hold a change the log does not. A checkpoint forces the data
+ * files and the index and restarts the log with whatever is still pending. Recovery replays the
+ * log over the data files, which is safe to repeat because every write is a whole image.
+ *
+ * The engine's monitor only orders appends. Reads take the shared side of a read-write lock over
+ * the data files and the index, so they run alongside appends and each other, and a question's
+ * answer, comment and vote lists are walked one record at a time; only the committer takes the
+ * exclusive side, while it copies a batch into the files.
+ */
+public class StorageEngine implements AutoCloseable {
+    private static final int USER = 0;
+    private static final int QUESTION = 1;
+    private static final int ANSWER = 2;
+    private static final int COMMENT = 3;
+    private static final int VOTE = 4;
+    private static final String[] FILE_NAMES = {"users", "questions", "answers", "comments", "votes"};
+    private static final int[] RECORD_SIZES = {64, 128, 128, 64, 16};
+    private static final String LOG_FILE = "storage.wal";
+    private static final String INDEX_FILE = "ids.index";
+    private static final int HEADER_SIZE = 64;
+    private static final int NONE = -1;
+    private static final long CHECKPOINT_LOG_BYTES = 64 << 20;
+
+    // Record fields. Questions and answers share the post fields; comments reuse author, date and content.
+    private static final int ID = 0;
+    private static final int USER_REPUTATION = 16;
+    private static final int USER_NAME = 24;
+    private static final int USER_EMAIL = 32;
+    private static final int POST_AUTHOR = 16;
+    private static final int POST_CREATED = 24;
+    private static final int POST_CONTENT = 32;
+    private static final int POST_UPVOTES = 40;
+    private static final int POST_DOWNVOTES = 48;
+    private static final int POST_COMMENTS = 56;
+    private static final int POST_VOTES = 60;
+    private static final int QUESTION_ACCEPTED = 64;
+    private static final int QUESTION_ANSWERS = 68;
+    private static final int QUESTION_ANSWER_COUNT = 72;
+    private static final int QUESTION_TITLE = 80;
+    private static final int QUESTION_TAGS = 88;
+    private static final int ANSWER_QUESTION = 64;
+    private static final int ANSWER_NEXT = 68;
+    private static final int ANSWER_ACCEPTED = 72;
+    private static final int COMMENT_NEXT = 20;
+    private static final int VOTE_VOTER = 0;
+    private static final int VOTE_TYPE = 4;
+    private static final int VOTE_NEXT = 8;
+
+    private static class Write {
+        final boolean string;
+        final int kind;
+        final long position;
+        final byte[] bytes;
+
+        Write(boolean string, int kind, long position, byte[] bytes) {
+            this.string = string;
+            this.kind = kind;
+            this.position = position;
+            this.bytes = bytes;
+        }
+    }
+
+    private static class Mutation {
+        final List<Write> writes = new ArrayList<>(4);
+        byte[] body;
+        long sequence;
+    }
+
+    private final MappedFile[] records = new MappedFile[FILE_NAMES.length];
+    private final MappedFile[] strings = new MappedFile[VOTE];
+    private final long[] recordCounts = new long[FILE_NAMES.length];
+    private final long[] stringEnds = new long[VOTE];
+    private final WriteAheadLog log;
+    private final UuidIndex index;
+
+    // Writes logged but not yet in the data files, keyed by file and position.
+    private final Map<Long, byte[]> pendingRecords = new ConcurrentHashMap<>();
+    private final Map<Long, byte[]> pendingStrings = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> pendingIds = new ConcurrentHashMap<>();
+    // Shared by reads of the data files and the index, exclusive while writes are applied to them.
+    private final ReentrantReadWriteLock files = new ReentrantReadWriteLock();
+    private List<Mutation> pending = new ArrayList<>();
+    private long writtenSequence;
+
+    private final Object durableLock = new Object();
+    private long durableSequence;
+    private final ScheduledExecutorService committer;
+    private volatile boolean closed;
+
+    private final long recoveredMutations;
+    private final boolean indexRebuilt;
+    private final long recoveryMillis;
+
+    private StorageEngine(Path directory, long commitIntervalMillis) throws IOException {
+        long recoveryStart = System.nanoTime();
+        Files.createDirectories(directory);
+        for (int kind = 0; kind < records.length; kind++) {
+            records[kind] = new MappedFile(directory.resolve(FILE_NAMES[kind] + ".records"));
+            if (kind < strings.length) {
+                strings[kind] = new MappedFile(directory.resolve(FILE_NAMES[kind] + ".strings"));
+            }
+        }
+        this.index = UuidIndex.open(directory.resolve(INDEX_FILE));
+        boolean indexTrusted = index.isClean();
+        this.log = new WriteAheadLog(directory.resolve(LOG_FILE));
+        this.recoveredMutations = log.replay(0, body -> {
+            for (Write write : decode(body)) {
+                apply(write);
+            }
+        });
+        if (!indexTrusted) {
+            rebuildIndex();
+        }
+        this.indexRebuilt = !indexTrusted;
+        for (int kind = 0; kind < records.length; kind++) {
+            recordCounts[kind] = records[kind].getLong(0);
+            if (kind < strings.length) {
+                stringEnds[kind] = Math.max(HEADER_SIZE, strings[kind].getLong(0));
+            }
+        }
+        checkpoint();
+        this.recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoveryStart);
+
+        this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static StorageEngine open(Path directory, long commitIntervalMillis) throws IOException {
+        return new StorageEngine(directory, commitIntervalMillis);
+    }
+
+    public synchronized User createUser(String email, String name) {
+        UUID id = UUID.randomUUID();
+        Mutation mutation = new Mutation();
+        int slot = allocate(USER);
+        ByteBuffer user = newRecord(USER, id);
+        user.putLong(USER_NAME, addString(mutation, USER, name));
+        user.putLong(USER_EMAIL, addString(mutation, USER, email));
+        addRecord(mutation, USER, slot, user);
+        submit(mutation);
+        return new User(id, email, name, slot, 0);
+    }
+
+    public synchronized void updateReputation(User user) {
+        int slot = requireSlot(USER, user.getId());
+        ByteBuffer record = record(USER, slot);
+        record.putInt(USER_REPUTATION, user.getReputation());
+        Mutation mutation = new Mutation();
+        addRecord(mutation, USER, slot, record);
+        submit(mutation);
+    }
+
+    public synchronized void insertQuestion(Question question) {
+        int author = requireSlot(USER, question.getAuthor().getId());
+        Mutation mutation = new Mutation();
+        int slot = allocate(QUESTION);
+        ByteBuffer record = newPost(mutation, QUESTION, question.getId(), author,
+                question.getCreationDate().toLocalDate(), question.getContent());
+        String tags = question.getTags().stream().map(Tags::getName).collect(Collectors.joining("\n"));
+        record.putInt(QUESTION_ACCEPTED, NONE);
+        record.putInt(QUESTION_ANSWERS, NONE);
+        record.putLong(QUESTION_TITLE, addString(mutation, QUESTION, question.getTitle()));
+        record.putLong(QUESTION_TAGS, addString(mutation, QUESTION, tags));
+        addRecord(mutation, QUESTION, slot, record);
+        submit(mutation);
+    }
+
+    public synchronized void insertAnswer(Answer answer) {
+        int author = requireSlot(USER, answer.getAuthor().getId());
+        int questionSlot = requireSlot(QUESTION, answer.getQuestion().getId());
+        ByteBuffer question = record(QUESTION, questionSlot);
+        Mutation mutation = new Mutation();
+        int slot = allocate(ANSWER);
+        ByteBuffer record = newPost(mutation, ANSWER, answer.getId(), author,
+                answer.getCreationDate().toLocalDate(), answer.getContent());
+        record.putInt(ANSWER_QUESTION, questionSlot);
+        record.putInt(ANSWER_NEXT, question.getInt(QUESTION_ANSWERS));
+        question.putInt(QUESTION_ANSWERS, slot);
+        question.putInt(QUESTION_ANSWER_COUNT, question.getInt(QUESTION_ANSWER_COUNT) + 1);
+        addRecord(mutation, ANSWER, slot, record);
+        addRecord(mutation, QUESTION, questionSlot, question);
+        submit(mutation);
+    }
+
+    public synchronized void insertComment(UUID parentId, Comment comment) {
+        long parent = locate(parentId);
+        int kind = kindOf(parent);
+        if (parent == UuidIndex.MISSING || (kind != QUESTION && kind != ANSWER)) {
+            throw new IllegalArgumentException("No stored question or answer with this id." + parentId);
+        }
+        int author = requireSlot(USER, comment.getAuthor().getId());
+        ByteBuffer post = record(kind, slotOf(parent));
+        Mutation mutation = new Mutation();
+        int slot = allocate(COMMENT);
+        ByteBuffer record = newRecord(COMMENT, comment.getId());
+        record.putInt(POST_AUTHOR, author);
+        record.putInt(COMMENT_NEXT, post.getInt(POST_COMMENTS));
+        record.putLong(POST_CREATED, comment.getCreationDate().toLocalDate().toEpochDay());
+        record.putLong(POST_CONTENT, addString(mutation, COMMENT, comment.getContent()));
+        post.putInt(POST_COMMENTS, slot);
+        addRecord(mutation, COMMENT, slot, record);
+        addRecord(mutation, kind, slotOf(parent), post);
+        submit(mutation);
+    }
+
+    public synchronized void recordVote(UUID votableId, User voter, VoteType voteType) {
+        long votable = locate(votableId);
+        int kind = kindOf(votable);
+        if (votable == UuidIndex.MISSING || (kind != QUESTION && kind != ANSWER)) {
+            throw new IllegalArgumentException("No stored question or answer with this id." + votableId);
+        }
+        int voterSlot = requireSlot(USER, voter.getId());
+        ByteBuffer post = record(kind, slotOf(votable));
+        int slot = allocate(VOTE);
+        ByteBuffer vote = ByteBuffer.allocate(RECORD_SIZES[VOTE]);
+        vote.putInt(VOTE_VOTER, voterSlot);
+        vote.putInt(VOTE_TYPE, voteType.ordinal());
+        vote.putInt(VOTE_NEXT, post.getInt(POST_VOTES));
+        int counter = voteType == VoteType.UPVOTE ? POST_UPVOTES : POST_DOWNVOTES;
+        post.putInt(POST_VOTES, slot);
+        post.putLong(counter, post.getLong(counter) + 1);
+        Mutation mutation = new Mutation();
+        addRecord(mutation, VOTE, slot, vote);
+        addRecord(mutation, kind, slotOf(votable), post);
+        submit(mutation);
+    }
+
+    // Marks the answer accepted and clears the flag on the question's previously accepted answer.
+    // The answer must be one of the question's.
+    public synchronized void acceptAnswer(UUID questionId, UUID answerId) {
+        int questionSlot = requireSlot(QUESTION, questionId);
+        int answerSlot = requireSlot(ANSWER, answerId);
+        ByteBuffer answer = record(ANSWER, answerSlot);
+        if (answer.getInt(ANSWER_QUESTION) != questionSlot) {
+            throw new IllegalArgumentException("Stored answer " + answerId + " does not belong to question " + questionId);
+        }
+        ByteBuffer question = record(QUESTION, questionSlot);
+        int previous = question.getInt(QUESTION_ACCEPTED);
+        if (previous == answerSlot) {
+            return;
+        }
+        Mutation mutation = new Mutation();
+        if (previous != NONE) {
+            ByteBuffer revoked = record(ANSWER, previous);
+            revoked.putInt(ANSWER_ACCEPTED, 0);
+            addRecord(mutation, ANSWER, previous, revoked);
+        }
+        answer.putInt(ANSWER_ACCEPTED, 1);
+        question.putInt(QUESTION_ACCEPTED, answerSlot);
+        addRecord(mutation, ANSWER, answerSlot, answer);
+        addRecord(mutation, QUESTION, questionSlot, question);
+        submit(mutation);
+    }
+
+    // The stored user, or null if there is none with this id.
+    public User loadUser(UUID id) {
+        int slot = slotOf(USER, id);
+        if (slot == NONE) {
+            return null;
+        }
+        ByteBuffer user = record(USER, slot);
+        return new User(id, string(USER, user.getLong(USER_EMAIL)), string(USER, user.getLong(USER_NAME)),
+                slot, user.getInt(USER_REPUTATION));
+    }
+
+    public boolean contains(UUID id) {
+        return locate(id) != UuidIndex.MISSING;
+    }
+
+    StoredQuestion readQuestion(UUID id) {
+        int slot = slotOf(QUESTION, id);
+        if (slot == NONE) {
+            return null;
+        }
+        ByteBuffer question = record(QUESTION, slot);
+        String tags = string(QUESTION, question.getLong(QUESTION_TAGS));
+        List<StoredAnswer> answers = new ArrayList<>(question.getInt(QUESTION_ANSWER_COUNT));
+        for (int answerSlot = question.getInt(QUESTION_ANSWERS); answerSlot != NONE; ) {
+            ByteBuffer answer = record(ANSWER, answerSlot);
+            answers.add(new StoredAnswer(idOf(answer), userId(answer.getInt(POST_AUTHOR)),
+                    string(ANSWER, answer.getLong(POST_CONTENT)), dateOf(answer), answer.getInt(ANSWER_ACCEPTED) == 1,
+                    answer.getLong(POST_UPVOTES), answer.getLong(POST_DOWNVOTES), voters(answer), comments(answer)));
+            answerSlot = answer.getInt(ANSWER_NEXT);
+        }
+        Collections.reverse(answers);
+        return new StoredQuestion(id, userId(question.getInt(POST_AUTHOR)), string(QUESTION, question.getLong(QUESTION_TITLE)),
+                string(QUESTION, question.getLong(POST_CONTENT)), tags.isEmpty() ? List.of() : List.of(tags.split("\n")),
+                dateOf(question), question.getLong(POST_UPVOTES), question.getLong(POST_DOWNVOTES), voters(question),
+                comments(question), answers);
+    }
+
+    // Ids of the stored questions, oldest first. Questions stored while it runs may be left out.
+    public void forEachQuestionId(Consumer<UUID> action) {
+        long count;
+        synchronized (this) {
+            count = recordCounts[QUESTION];
+        }
+        for (long slot = 0; slot < count; slot++) {
+            UUID id = idOf(record(QUESTION, slot));
+            // A slot allocated by a write that never reached the log stays zero.
+            if (id.getMostSignificantBits() != 0 || id.getLeastSignificantBits() != 0) {
+                action.accept(id);
+            }
+        }
+    }
+
+    // Id of the question an answer belongs to, or null if there is no stored answer with this id.
+    UUID readQuestionId(UUID answerId) {
+        int slot = slotOf(ANSWER, answerId);
+        return slot == NONE ? null : idOf(record(QUESTION, record(ANSWER, slot).getInt(ANSWER_QUESTION)));
+    }
+
+    // Waits until every write made before this call is durable and in the data files.
+    public void flush() {
+        long target;
+        synchronized (this) {
+            target = writtenSequence;
+        }
+        synchronized (durableLock) {
+            while (durableSequence < target) {
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public long getRecoveredMutations() {
+        return recoveredMutations;
+    }
+
+    public boolean isIndexRebuilt() {
+        return indexRebuilt;
+    }
+
+    public long getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    /**
+     * Applies outstanding writes, checkpoints so the next open has nothing to replay, and releases
+     * the files.
+     */
+    @Override
+    public void close() throws IOException {
+        committer.shutdown();
+        try {
+            committer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commit();
+        synchronized (this) {
+            closed = true;
+            checkpoint();
+            log.close();
+            files.writeLock().lock();
+            try {
+                index.close();
+                for (MappedFile file : records) {
+                    file.close();
+                }
+                for (MappedFile file : strings) {
+                    file.close();
+                }
+            } finally {
+                files.writeLock().unlock();
+            }
+        }
+    }
+
+    // Group commit: one force covers every mutation logged since the previous tick.
+    private void commit() {
+        List<Mutation> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        try {
+            log.force();
+            // A write leaves the overlay under the same exclusive lock that puts it in the files,
+            // so a reader finds it in one or the other.
+            files.writeLock().lock();
+            try {
+                for (Mutation mutation : batch) {
+                    for (Write write : mutation.writes) {
+                        apply(write);
+                        (write.string ? pendingStrings : pendingRecords).remove(key(write), write.bytes);
+                        if (!write.string && write.kind != VOTE) {
+                            pendingIds.remove(idOf(ByteBuffer.wrap(write.bytes)), reference(write.kind, write.position));
+                        }
+                    }
+                }
+            } finally {
+                files.writeLock().unlock();
+            }
+            synchronized (this) {
+                if (log.getEnd() >= CHECKPOINT_LOG_BYTES) {
+                    checkpoint();
+                }
+            }
+            synchronized (durableLock) {
+                durableSequence = batch.get(batch.size() - 1).sequence;
+                durableLock.notifyAll();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Left pending, so the next tick retries and a checkpoint cannot drop them from the log.
+            synchronized (this) {
+                batch.addAll(pending);
+                pending = batch;
+            }
+            System.err.println("Storage commit failed: " + e.getMessage());
+        }
+    }
+
+    // Called with the engine's monitor held, or during recovery.
+    private void checkpoint() throws IOException {
+        files.writeLock().lock();
+        try {
+            for (MappedFile file : records) {
+                file.force();
+            }
+            for (MappedFile file : strings) {
+                file.force();
+            }
+            index.checkpoint();
+        } finally {
+            files.writeLock().unlock();
+        }
+        List<byte[]> keep = new ArrayList<>(pending.size());
+        for (Mutation mutation : pending) {
+            keep.add(mutation.body);
+        }
+        log.restart(keep);
+    }
+
+    private void apply(Write write) {
+        if (write.string) {
+            MappedFile file = strings[write.kind];
+            file.put(write.position, write.bytes, 0, write.bytes.length);
+            file.putLong(0, Math.max(file.getLong(0), align(write.position + write.bytes.length)));
+            return;
+        }
+        MappedFile file = records[write.kind];
+        file.put(recordPosition(write.kind, write.position), write.bytes, 0, write.bytes.length);
+        file.putLong(0, Math.max(file.getLong(0), write.position + 1));
+        if (write.kind != VOTE) {
+            try {
+                index.put(idOf(ByteBuffer.wrap(write.bytes)), reference(write.kind, write.position));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Re-inserts the id of every record, for when the index may have lost pages in a crash.
+    private void rebuildIndex() throws IOException {
+        long total = 0;
+        for (int kind = USER; kind < VOTE; kind++) {
+            total += records[kind].getLong(0);
+        }
+        index.clear(total);
+        for (int kind = USER; kind < VOTE; kind++) {
+            byte[] image = new byte[RECORD_SIZES[kind]];
+            for (long slot = 0, count = records[kind].getLong(0); slot < count; slot++) {
+                records[kind].get(recordPosition(kind, slot), image, 0, image.length);
+                UUID id = idOf(ByteBuffer.wrap(image));
+                // A slot allocated by a write that never reached the log stays zero.
+                if (id.getMostSignificantBits() != 0 || id.getLeastSignificantBits() != 0) {
+                    index.put(id, reference(kind, slot));
+                }
+            }
+        }
+    }
+
+    private void submit(Mutation mutation) {
+        if (closed) {
+            throw new IllegalStateException("Storage engine is closed");
+        }
+        mutation.body = encode(mutation);
+        try {
+            log.append(mutation.body, mutation.body.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the storage log", e);
+        }
+        for (Write write : mutation.writes) {
+            (write.string ? pendingStrings : pendingRecords).put(key(write), write.bytes);
+            if (!write.string && write.kind != VOTE) {
+                pendingIds.put(idOf(ByteBuffer.wrap(write.bytes)), reference(write.kind, write.position));
+            }
+        }
+        mutation.sequence = ++writtenSequence;
+        pending.add(mutation);
+    }
+
+    private int allocate(int kind) {
+        return (int) recordCounts[kind]++;
+    }
+
+    private ByteBuffer newRecord(int kind, UUID id) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZES[kind]);
+        record.putLong(ID, id.getMostSignificantBits());
+        record.putLong(ID + 8, id.getLeastSignificantBits());
+        return record;
+    }
+
+    private ByteBuffer newPost(Mutation mutation, int kind, UUID id, int author, LocalDate created, String content) {
+        ByteBuffer record = newRecord(kind, id);
+        record.putInt(POST_AUTHOR, author);
+        record.putLong(POST_CREATED, created.toEpochDay());
+        record.putLong(POST_CONTENT, addString(mutation, kind, content));
+        record.putInt(POST_COMMENTS, NONE);
+        record.putInt(POST_VOTES, NONE);
+        return record;
+    }
+
+    private void addRecord(Mutation mutation, int kind, int slot, ByteBuffer record) {
+        mutation.writes.add(new Write(false, kind, slot, record.array()));
+    }
+
+    // Strings are [int length][utf-8 bytes], 4-byte aligned so the length never straddles a chunk.
+    private long addString(Mutation mutation, int kind, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = ByteBuffer.allocate(4 + utf8.length).putInt(utf8.length).put(utf8).array();
+        long position = stringEnds[kind];
+        stringEnds[kind] = align(position + bytes.length);
+        mutation.writes.add(new Write(true, kind, position, bytes));
+        return position;
+    }
+
+    // A copy of the record's current image, pending or on disk, which the caller may modify.
+    private ByteBuffer record(int kind, long slot) {
+        files.readLock().lock();
+        try {
+            byte[] pendingImage = pendingRecords.get(recordKey(kind, slot));
+            if (pendingImage != null) {
+                return ByteBuffer.wrap(pendingImage.clone());
+            }
+            byte[] image = new byte[RECORD_SIZES[kind]];
+            records[kind].get(recordPosition(kind, slot), image, 0, image.length);
+            return ByteBuffer.wrap(image);
+        } finally {
+            files.readLock().unlock();
+        }
+    }
+
+    private String string(int kind, long position) {
+        files.readLock().lock();
+        try {
+            byte[] pendingBytes = pendingStrings.get(stringKey(kind, position));
+            if (pendingBytes != null) {
+                return new String(pendingBytes, 4, pendingBytes.length - 4, StandardCharsets.UTF_8);
+            }
+            byte[] utf8 = new byte[strings[kind].getInt(position)];
+            strings[kind].get(position + 4, utf8, 0, utf8.length);
+            return new String(utf8, StandardCharsets.UTF_8);
+        } finally {
+            files.readLock().unlock();
+        }
+    }
+
+    private int[] voters(ByteBuffer post) {
+        int[] voters = new int[8];
+        int count = 0;
+        for (int slot = post.getInt(POST_VOTES); slot != NONE; ) {
+            ByteBuffer vote = record(VOTE, slot);
+            if (count == voters.length) {
+                voters = Arrays.copyOf(voters, count * 2);
+            }
+            voters[count++] = vote.getInt(VOTE_VOTER);
+            slot = vote.getInt(VOTE_NEXT);
+        }
+        return Arrays.copyOf(voters, count);
+    }
+
+    private List<StoredComment> comments(ByteBuffer post) {
+        List<StoredComment> comments = new ArrayList<>();
+        for (int slot = post.getInt(POST_COMMENTS); slot != NONE; ) {
+            ByteBuffer comment = record(COMMENT, slot);
+            comments.add(new StoredComment(idOf(comment), userId(comment.getInt(POST_AUTHOR)),
+                    string(COMMENT, comment.getLong(POST_CONTENT)), dateOf(comment)));
+            slot = comment.getInt(COMMENT_NEXT);
+        }
+        Collections.reverse(comments);
+        return comments;
+    }
+
+    private UUID userId(int slot) {
+        return idOf(record(USER, slot));
+    }
+
+    private long locate(UUID id) {
+        files.readLock().lock();
+        try {
+            Long reference = pendingIds.get(id);
+            return reference != null ? reference : index.get(id);
+        } finally {
+            files.readLock().unlock();
+        }
+    }
+
+    private int slotOf(int kind, UUID id) {
+        long reference = locate(id);
+        return reference == UuidIndex.MISSING || kindOf(reference) != kind ? NONE : slotOf(reference);
+    }
+
+    private int requireSlot(int kind, UUID id) {
+        int slot = slotOf(kind, id);
+        if (slot == NONE) {
+            throw new IllegalArgumentException("No stored " + FILE_NAMES[kind] + " record with this id." + id);
+        }
+        return slot;
+    }
+
+    private static byte[] encode(Mutation mutation) {
+        int size = 4;
+        for (Write write : mutation.writes) {
+            size += 2 + 8 + 4 + write.bytes.length;
+        }
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putInt(mutation.writes.size());
+        for (Write write : mutation.writes) {
+            body.put((byte) (write.string ? 1 : 0));
+            body.put((byte) write.kind);
+            body.putLong(write.position);
+            body.putInt(write.bytes.length);
+            body.put(write.bytes);
+        }
+        return body.array();
+    }
+
+    private static List<Write> decode(ByteBuffer body) {
+        int count = body.getInt();
+        List<Write> writes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean string = body.get() == 1;
+            int kind = body.get();
+            long position = body.getLong();
+            byte[] bytes = new byte[body.getInt()];
+            body.get(bytes);
+            writes.add(new Write(string, kind, position, bytes));
+        }
+        return writes;
+    }
+
+    private static UUID idOf(ByteBuffer record) {
+        return new UUID(record.getLong(ID), record.getLong(ID + 8));
+    }
+
+    private static LocalDate dateOf(ByteBuffer record) {
+        return LocalDate.ofEpochDay(record.getLong(POST_CREATED));
+    }
+
+    private static long recordPosition(int kind, long slot) {
+        return HEADER_SIZE + slot * RECORD_SIZES[kind];
+    }
+
+    private static long align(long position) {
+        return (position + 3) & ~3L;
+    }
+
+    private static long reference(int kind, long slot) {
+        return ((long) kind << 32) | slot;
+    }
+
+    private static int kindOf(long reference) {
+        return (int) (reference >>> 32);
+    }
+
+    private static int slotOf(long reference) {
+        return (int) reference;
+    }
+
+    private static long key(Write write) {
+        return write.string ? stringKey(write.kind, write.position) : recordKey(write.kind, write.position);
+    }
+
+    private static long recordKey(int kind, long slot) {
+        return ((long) kind << 40) | slot;
+    }
+
+    private static long stringKey(int kind, long position) {
+        return ((long) kind << 56) | position;
+    }
+}
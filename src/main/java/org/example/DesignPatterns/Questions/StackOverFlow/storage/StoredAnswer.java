@@ -0,0 +1,31 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// An answer as read from its record, with its comments oldest first and the ordinals of its voters.
+class StoredAnswer {
+    final UUID id;
+    final UUID authorId;
+    final String content;
+    final LocalDate creationDate;
+    final boolean accepted;
+    final long upvotes;
+    final long downvotes;
+    final int[] voters;
+    final List<StoredComment> comments;
+
+    StoredAnswer(UUID id, UUID authorId, String content, LocalDate creationDate, boolean accepted,
+                 long upvotes, long downvotes, int[] voters, List<StoredComment> comments) {
+        this.id = id;
+        this.authorId = authorId;
+        this.content = content;
+        this.creationDate = creationDate;
+        this.accepted = accepted;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.voters = voters;
+        this.comments = comments;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// A comment as read from its record, with the author as an id to be resolved through the user cache.
+class StoredComment {
+    final UUID id;
+    final UUID authorId;
+    final String content;
+    final LocalDate creationDate;
+
+    StoredComment(UUID id, UUID authorId, String content, LocalDate creationDate) {
+        this.id = id;
+        this.authorId = authorId;
+        this.content = content;
+        this.creationDate = creationDate;
+    }
+}
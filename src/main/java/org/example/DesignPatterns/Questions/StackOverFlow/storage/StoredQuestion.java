@@ -0,0 +1,35 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// A question as read from its record, together with its answers and comments, oldest first.
+class StoredQuestion {
+    final UUID id;
+    final UUID authorId;
+    final String title;
+    final String content;
+    final List<String> tagNames;
+    final LocalDate creationDate;
+    final long upvotes;
+    final long downvotes;
+    final int[] voters;
+    final List<StoredComment> comments;
+    final List<StoredAnswer> answers;
+
+    StoredQuestion(UUID id, UUID authorId, String title, String content, List<String> tagNames, LocalDate creationDate,
+                   long upvotes, long downvotes, int[] voters, List<StoredComment> comments, List<StoredAnswer> answers) {
+        this.id = id;
+        this.authorId = authorId;
+        this.title = title;
+        this.content = content;
+        this.tagNames = tagNames;
+        this.creationDate = creationDate;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.voters = voters;
+        this.comments = comments;
+        this.answers = answers;
+    }
+}
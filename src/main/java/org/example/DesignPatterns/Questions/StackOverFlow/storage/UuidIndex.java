@@ -0,0 +1,169 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Off-heap hash index from UUID to a record reference, an open-addressing table with linear
+ * probing in a memory-mapped file. Entries are {@code [long msb][long lsb][long reference]} and an
+ * all-zero id marks an empty slot, so the index costs no heap however many entities there are.
+ * When three quarters full the table is rehashed into a file twice the size, which then replaces it.
+ *
+ * The header's clean flag is cleared by the first put after a checkpoint and set again once the
+ * table has been forced. A table found dirty on open may have lost pages in a crash and must be
+ * rebuilt from the record files.
+ */
+class UuidIndex implements AutoCloseable {
+    static final long MISSING = -1;
+    private static final int MAGIC = 0x55494458; // "UIDX"
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_SIZE = 24;
+    private static final long MIN_CAPACITY = 1 << 12;
+
+    private final Path path;
+    private MappedFile file;
+    private long capacity;
+    private long size;
+    private boolean clean;
+
+    private UuidIndex(Path path) {
+        this.path = path;
+    }
+
+    static UuidIndex open(Path path) throws IOException {
+        UuidIndex index = new UuidIndex(path);
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+        index.file = new MappedFile(path);
+        if (exists && index.file.getInt(0) == MAGIC) {
+            index.clean = index.file.getInt(4) == 1;
+            index.capacity = index.file.getLong(8);
+            index.size = index.file.getLong(16);
+        } else {
+            index.format(MIN_CAPACITY);
+        }
+        return index;
+    }
+
+    // Empties the table, sized so expectedEntries fit without a resize.
+    void clear(long expectedEntries) throws IOException {
+        file.close();
+        Files.deleteIfExists(path);
+        file = new MappedFile(path);
+        long needed = Math.max(MIN_CAPACITY, expectedEntries * 4 / 3 + 1);
+        format(Long.highestOneBit(needed - 1) << 1);
+    }
+
+    boolean isClean() {
+        return clean;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long get(UUID id) {
+        long slot = find(file, capacity, id.getMostSignificantBits(), id.getLeastSignificantBits());
+        long position = entry(slot);
+        return isEmpty(file, position) ? MISSING : file.getLong(position + 16);
+    }
+
+    void put(UUID id, long reference) throws IOException {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) {
+            throw new IllegalArgumentException("The nil UUID cannot be indexed");
+        }
+        if (clean) {
+            clean = false;
+            file.putInt(4, 0);
+        }
+        long position = entry(find(file, capacity, msb, lsb));
+        if (isEmpty(file, position)) {
+            file.putLong(position, msb);
+            file.putLong(position + 8, lsb);
+            file.putLong(16, ++size);
+        }
+        file.putLong(position + 16, reference);
+        if (size * 4 > capacity * 3) {
+            resize();
+        }
+    }
+
+    // Forces the table and marks it clean, so the next open can trust it.
+    void checkpoint() {
+        file.force();
+        clean = true;
+        file.putInt(4, 1);
+        file.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private void format(long newCapacity) {
+        capacity = newCapacity;
+        size = 0;
+        clean = true;
+        file.putInt(0, MAGIC);
+        file.putInt(4, 1);
+        file.putLong(8, capacity);
+        file.putLong(16, 0);
+    }
+
+    private void resize() throws IOException {
+        Path resized = path.resolveSibling(path.getFileName() + ".resize");
+        Files.deleteIfExists(resized);
+        long newCapacity = capacity * 2;
+        MappedFile target = new MappedFile(resized);
+        for (long slot = 0; slot < capacity; slot++) {
+            long position = entry(slot);
+            if (isEmpty(file, position)) {
+                continue;
+            }
+            long msb = file.getLong(position);
+            long lsb = file.getLong(position + 8);
+            long to = entry(find(target, newCapacity, msb, lsb));
+            target.putLong(to, msb);
+            target.putLong(to + 8, lsb);
+            target.putLong(to + 16, file.getLong(position + 16));
+        }
+        target.putInt(0, MAGIC);
+        target.putInt(4, 0);
+        target.putLong(8, newCapacity);
+        target.putLong(16, size);
+        target.close();
+        file.close();
+        Files.move(resized, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        file = new MappedFile(path);
+        capacity = newCapacity;
+    }
+
+    // Slot holding the id, or the empty slot where it would go.
+    private static long find(MappedFile file, long capacity, long msb, long lsb) {
+        long mask = capacity - 1;
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        long slot = (hash ^ (hash >>> 32)) & mask;
+        while (true) {
+            long position = entry(slot);
+            long entryMsb = file.getLong(position);
+            long entryLsb = file.getLong(position + 8);
+            if ((entryMsb == msb && entryLsb == lsb) || (entryMsb == 0 && entryLsb == 0)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static boolean isEmpty(MappedFile file, long position) {
+        return file.getLong(position) == 0 && file.getLong(position + 8) == 0;
+    }
+
+    private static long entry(long slot) {
+        return HEADER_SIZE + slot * ENTRY_SIZE;
+    }
+}
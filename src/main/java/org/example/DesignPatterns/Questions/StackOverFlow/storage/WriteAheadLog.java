@@ -0,0 +1,137 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of storage mutations. Each record is {@code [int bodyLength][int crc32][body]}.
+ * Appends go to the page cache; {@link #force()} makes everything appended so far durable.
+ * Replay stops at the first torn or corrupt record and cuts the file there. A checkpoint
+ * {@link #restart restarts} the log with only the records the data files do not hold yet.
+ * Appends and restarts must be serialized by the caller; force may run alongside appends.
+ */
+class WriteAheadLog implements AutoCloseable {
+    private static final int HEADER_SIZE = 8;
+
+    private final Path path;
+    private FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long end;
+
+    WriteAheadLog(Path path) throws IOException {
+        this.path = path;
+        Files.deleteIfExists(nextPath());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.end = channel.size();
+    }
+
+    // Appends one record and returns the log offset just past it.
+    long append(byte[] body, int length) throws IOException {
+        end = write(channel, end, body, length);
+        return end;
+    }
+
+    private long write(FileChannel target, long position, byte[] body, int length) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE + length) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(HEADER_SIZE + length) << 1);
+        }
+        crc.reset();
+        crc.update(body, 0, length);
+        buffer.clear();
+        buffer.putInt(length).putInt((int) crc.getValue()).put(body, 0, length).flip();
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        return position;
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Hands the body of every intact record from 'from' onwards to apply, then truncates anything
+     * after the last one. Returns the number of records replayed.
+     */
+    long replay(long from, Consumer<ByteBuffer> apply) throws IOException {
+        long position = from;
+        long records = 0;
+        channel.position(from);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        byte[] body = new byte[1024];
+        try {
+            while (position + HEADER_SIZE <= end) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || position + HEADER_SIZE + length > end) {
+                    break;
+                }
+                if (body.length < length) {
+                    body = new byte[length];
+                }
+                in.readFully(body, 0, length);
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                apply.accept(ByteBuffer.wrap(body, 0, length));
+                position += HEADER_SIZE + length;
+                records++;
+            }
+        } catch (EOFException e) {
+            // Torn tail: the record was cut short.
+        }
+        if (position < end) {
+            channel.truncate(position);
+            end = position;
+        }
+        return records;
+    }
+
+    /**
+     * Replaces the log with one holding only 'keep'. The new log is written and forced beside the
+     * old one and then renamed over it, so a crash leaves one or the other, never neither.
+     */
+    void restart(List<byte[]> keep) throws IOException {
+        Path next = nextPath();
+        long position = 0;
+        try (FileChannel fresh = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (byte[] body : keep) {
+                position = write(fresh, position, body, body.length);
+            }
+            fresh.force(true);
+        }
+        Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        end = position;
+    }
+
+    private Path nextPath() {
+        return path.resolveSibling(path.getFileName() + ".next");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
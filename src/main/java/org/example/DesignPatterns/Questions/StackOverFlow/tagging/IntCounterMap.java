@@ -0,0 +1,79 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.tagging;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from int key to int count, used as one sparse row of the co-occurrence
+ * matrix. No boxing: a pair costs 8 bytes at full load. Not thread-safe.
+ */
+class IntCounterMap {
+    private static final int EMPTY = -1;
+
+    private int[] keys = newKeys(4);
+    private int[] counts = new int[4];
+    private int size;
+
+    void increment(int key) {
+        int slot = slot(keys, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size * 4 > keys.length * 3) {
+                grow();
+                slot = slot(keys, key);
+            }
+        }
+        counts[slot]++;
+    }
+
+    int get(int key) {
+        int slot = slot(keys, key);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Visits every key with its count.
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                visitor.visit(keys[i], counts[i]);
+            }
+        }
+    }
+
+    interface Visitor {
+        void visit(int key, int count);
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = newKeys(oldKeys.length * 2);
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int[] newKeys(int size) {
+        int[] keys = new int[size];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+}
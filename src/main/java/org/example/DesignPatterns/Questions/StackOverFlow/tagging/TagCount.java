@@ -0,0 +1,26 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.tagging;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+
+public class TagCount {
+    private final Tags tag;
+    private final int count;
+
+    public TagCount(Tags tag, int count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public Tags getTag() {
+        return tag;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return tag.getName() + "(" + count + ")";
+    }
+}
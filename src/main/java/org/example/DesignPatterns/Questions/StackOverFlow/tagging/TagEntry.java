@@ -0,0 +1,45 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.tagging;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+
+/**
+ * Registry record of one interned tag: its canonical Tags instance, a dense ordinal for the
+ * co-occurrence matrix, how many questions carry it, and its row of that matrix.
+ */
+class TagEntry {
+    private final String name;
+    private final Tags tag;
+    private final int ordinal;
+    private int count;
+    private final IntCounterMap coOccurrences = new IntCounterMap();
+
+    TagEntry(String name, Tags tag, int ordinal) {
+        this.name = name;
+        this.tag = tag;
+        this.ordinal = ordinal;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Tags getTag() {
+        return tag;
+    }
+
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    void incrementCount() {
+        count++;
+    }
+
+    IntCounterMap getCoOccurrences() {
+        return coOccurrences;
+    }
+}
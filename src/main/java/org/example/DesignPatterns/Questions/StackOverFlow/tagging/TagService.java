@@ -0,0 +1,170 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.tagging;
+
+import org.example.DesignPatterns.Questions.StackOverFlow.entities.Tags;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tag registry for the system. Interning maps every spelling of a tag ("Java", " java") to one
+ * canonical Tags instance. The service also keeps per-tag question counts in a radix trie for
+ * prefix autocomplete, and a sparse tag co-occurrence matrix, one primitive counter row per tag,
+ * for related tags. Reads share a read lock; interning and tagging a question take the write lock,
+ * once per question.
+ */
+public class TagService {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TagEntry> entries = new HashMap<>();
+    private final List<TagEntry> entriesByOrdinal = new ArrayList<>();
+    private final TagTrie trie = new TagTrie();
+
+    // The canonical instance for the name, created on first use.
+    public Tags intern(String name) {
+        String normalized = Tags.normalize(name);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Tag name must not be blank");
+        }
+        lock.readLock().lock();
+        try {
+            TagEntry entry = entries.get(normalized);
+            if (entry != null) {
+                return entry.getTag();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return entryFor(normalized, null).getTag();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The canonical instance for the name, if the tag exists. Never creates one.
+    public Optional<Tags> find(String name) {
+        lock.readLock().lock();
+        try {
+            TagEntry entry = entries.get(Tags.normalize(name));
+            return entry == null ? Optional.empty() : Optional.of(entry.getTag());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Interns the tags of a new question and counts the question against each of them and every
+     * pair of them, in one critical section. Duplicates are dropped, keeping order, and a tag seen
+     * for the first time becomes the canonical instance if its name is already normalized.
+     * Returns the canonical tags.
+     */
+    public List<Tags> tagQuestion(List<Tags> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        lock.writeLock().lock();
+        try {
+            Map<String, TagEntry> unique = new LinkedHashMap<>();
+            for (Tags tag : tags) {
+                String normalized = Tags.normalize(tag.getName());
+                if (!normalized.isEmpty()) {
+                    unique.computeIfAbsent(normalized, n -> entryFor(n, tag));
+                }
+            }
+            List<Tags> canonical = new ArrayList<>(unique.size());
+            for (TagEntry entry : unique.values()) {
+                entry.incrementCount();
+                trie.raise(entry.getName(), entry.getCount());
+                canonical.add(entry.getTag());
+            }
+            for (TagEntry a : unique.values()) {
+                for (TagEntry b : unique.values()) {
+                    if (a != b) {
+                        a.getCoOccurrences().increment(b.getOrdinal());
+                    }
+                }
+            }
+            return List.copyOf(canonical);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tags starting with the prefix, most used first.
+    public List<TagCount> autocomplete(String prefix, int k) {
+        lock.readLock().lock();
+        try {
+            List<TagCount> result = new ArrayList<>();
+            for (TagEntry entry : trie.complete(Tags.normalize(prefix), k)) {
+                result.add(new TagCount(entry.getTag(), entry.getCount()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Tags most often used on the same questions as this one, with the number of shared questions.
+    public List<TagCount> getRelatedTags(String name, int k) {
+        lock.readLock().lock();
+        try {
+            TagEntry entry = entries.get(Tags.normalize(name));
+            if (entry == null || k <= 0) {
+                return List.of();
+            }
+            PriorityQueue<TagCount> best = new PriorityQueue<>(Comparator.comparingInt(TagCount::getCount));
+            entry.getCoOccurrences().forEach((ordinal, count) -> {
+                if (best.size() < k) {
+                    best.add(new TagCount(entriesByOrdinal.get(ordinal).getTag(), count));
+                } else if (count > best.peek().getCount()) {
+                    best.poll();
+                    best.add(new TagCount(entriesByOrdinal.get(ordinal).getTag(), count));
+                }
+            });
+            List<TagCount> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingInt(TagCount::getCount).reversed().thenComparing(t -> t.getTag().getName()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getQuestionCount(String name) {
+        lock.readLock().lock();
+        try {
+            TagEntry entry = entries.get(Tags.normalize(name));
+            return entry == null ? 0 : entry.getCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTagCount() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock.
+    private TagEntry entryFor(String normalized, Tags candidate) {
+        TagEntry entry = entries.get(normalized);
+        if (entry == null) {
+            Tags tag = candidate != null && candidate.getName().equals(normalized) ? candidate : new Tags(normalized);
+            entry = new TagEntry(normalized, tag, entriesByOrdinal.size());
+            entries.put(normalized, entry);
+            entriesByOrdinal.add(entry);
+            trie.insert(entry);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.DesignPatterns.Questions.StackOverFlow.tagging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Radix tree over normalized tag names. Chains of single-child nodes are merged into one edge
+ * label, and every node stores the highest question count below it. Autocomplete walks to the
+ * prefix and then expands the subtree best-first by that bound, so it touches roughly k paths
+ * instead of every tag under the prefix. Counts only ever grow, so raising the bounds along one
+ * path is the only maintenance an update needs. Not thread-safe; TagService guards it.
+ */
+class TagTrie {
+    private final Node root = new Node("");
+
+    // Adds the entry under its name, or returns the entry already there.
+    TagEntry insert(TagEntry entry) {
+        String name = entry.getName();
+        Node node = root;
+        int at = 0;
+        while (true) {
+            if (at == name.length()) {
+                if (node.entry == null) {
+                    node.entry = entry;
+                    raise(name, entry.getCount());
+                }
+                return node.entry;
+            }
+            Node child = node.child(name.charAt(at));
+            if (child == null) {
+                Node leaf = new Node(name.substring(at));
+                leaf.entry = entry;
+                leaf.maxCount = entry.getCount();
+                node.addChild(leaf);
+                raise(name, entry.getCount());
+                return entry;
+            }
+            int common = commonPrefix(child.label, name, at);
+            if (common < child.label.length()) {
+                // Split the edge: the shared part becomes a new node above the old child.
+                Node middle = new Node(child.label.substring(0, common));
+                middle.maxCount = child.maxCount;
+                node.replaceChild(child, middle);
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                child = middle;
+            }
+            node = child;
+            at += common;
+        }
+    }
+
+    // Called after entry.count grew.
+    void raise(String name, int count) {
+        Node node = root;
+        int at = 0;
+        node.maxCount = Math.max(node.maxCount, count);
+        while (at < name.length()) {
+            node = node.child(name.charAt(at));
+            if (node == null) {
+                return;
+            }
+            node.maxCount = Math.max(node.maxCount, count);
+            at += node.label.length();
+        }
+    }
+
+    List<TagEntry> complete(String prefix, int k) {
+        List<TagEntry> result = new ArrayList<>();
+        Node node = root;
+        int at = 0;
+        while (at < prefix.length()) {
+            node = node.child(prefix.charAt(at));
+            if (node == null) {
+                return result;
+            }
+            int common = commonPrefix(node.label, prefix, at);
+            if (at + common < prefix.length() && common < node.label.length()) {
+                return result;
+            }
+            at += node.label.length();
+        }
+
+        // Nodes are ranked by the best count below them, entries by their own count. On a tie the
+        // entry comes first, since nothing below the node can beat it.
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(
+                Comparator.comparingInt((Candidate c) -> -c.bound).thenComparingInt(c -> c.entry != null ? 0 : 1));
+        frontier.add(new Candidate(node.maxCount, node, null));
+        while (!frontier.isEmpty() && result.size() < k) {
+            Candidate candidate = frontier.poll();
+            if (candidate.entry != null) {
+                result.add(candidate.entry);
+                continue;
+            }
+            Node next = candidate.node;
+            if (next.entry != null) {
+                frontier.add(new Candidate(next.entry.getCount(), null, next.entry));
+            }
+            for (int i = 0; i < next.childCount; i++) {
+                frontier.add(new Candidate(next.children[i].maxCount, next.children[i], null));
+            }
+        }
+        return result;
+    }
+
+    private static class Candidate {
+        final int bound;
+        final Node node;
+        final TagEntry entry;
+
+        Candidate(int bound, Node node, TagEntry entry) {
+            this.bound = bound;
+            this.node = node;
+            this.entry = entry;
+        }
+    }
+
+    private static int commonPrefix(String label, String text, int from) {
+        int length = Math.min(label.length(), text.length() - from);
+        int i = 0;
+        while (i < length && label.charAt(i) == text.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        String label;
+        TagEntry entry;
+        int maxCount;
+        // Sorted by first character of the label.
+        Node[] children = new Node[0];
+        int childCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            int at = childCount;
+            while (at > 0 && children[at - 1].label.charAt(0) > child.label.charAt(0)) {
+                children[at] = children[at - 1];
+                at--;
+            }
+            children[at] = child;
+            childCount++;
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i] == old) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+    }
+}